@@ -11,6 +11,7 @@ import org.apache.coyote.Response;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -23,8 +24,8 @@ public class EspecialidadeController {
     private final EspecialidadeService especialidadeService;
 
     @GetMapping
-    public ResponseEntity<List<EspecialidadeDto>> getAll() {
-        return ResponseEntity.ok(especialidadeService.findAll());
+    public ResponseEntity<List<EspecialidadeDto>> getAll(WebRequest webRequest) {
+        return ResponseUtil.conditional(webRequest, especialidadeService.findAllVersionadas());
     }
 
     @GetMapping("{id}")
@@ -33,8 +34,8 @@ public class EspecialidadeController {
     }
 
     @GetMapping("/ativas")
-    public ResponseEntity<List<EspecialidadeDto>> getAtivas() {
-        return ResponseEntity.ok(especialidadeService.findAtivas());
+    public ResponseEntity<List<EspecialidadeDto>> getAtivas(WebRequest webRequest) {
+        return ResponseUtil.conditional(webRequest, especialidadeService.findAtivasVersionadas());
     }
 
     @PostMapping
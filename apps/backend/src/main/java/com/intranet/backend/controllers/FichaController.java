@@ -1,5 +1,6 @@
 package com.intranet.backend.controllers;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.intranet.backend.dto.*;
 import com.intranet.backend.service.FichaService;
 import com.intranet.backend.util.ResponseUtil;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 import com.intranet.backend.dto.StatusChangeRequest;
 import com.intranet.backend.dto.StatusHistoryDto;
 import com.intranet.backend.service.StatusHistoryService;
+import com.intranet.backend.service.impl.StatusChangeIdempotency;
 import com.intranet.backend.model.StatusHistory;
 
 import java.util.HashMap;
@@ -31,6 +33,7 @@ public class FichaController {
     private static final Logger logger = LoggerFactory.getLogger(FichaController.class);
     private final StatusHistoryService statusHistoryService;
     private final FichaService fichaService;
+    private final StatusChangeIdempotency statusChangeIdempotency;
 
     @GetMapping
     public ResponseEntity<Page<FichaSummaryDto>> getAllFichas(
@@ -159,12 +162,16 @@ public class FichaController {
     public ResponseEntity<Void> updateFichasStatusBulk(@Valid @RequestBody BulkStatusChangeRequest request) {
         logger.info("Requisição para atualização em massa de {} fichas para status {}", request.getIds().size(), request.getNovoStatus());
 
-        fichaService.updateFichasStatusBulk(
-                request.getIds(),
-                request.getNovoStatus(),
-                request.getMotivo(),
-                request.getObservacoes()
-        );
+        statusChangeIdempotency.executar(request.getIdempotencyKey(), "FICHA_STATUS_BULK", request,
+                new TypeReference<Void>() {}, () -> {
+                    fichaService.updateFichasStatusBulk(
+                            request.getIds(),
+                            request.getNovoStatus(),
+                            request.getMotivo(),
+                            request.getObservacoes()
+                    );
+                    return null;
+                });
 
         return ResponseEntity.noContent().build();
     }
@@ -259,14 +266,18 @@ public class FichaController {
             @Valid @RequestBody StatusChangeRequest request) {
         logger.info("Requisição para alterar status da ficha {} para {}", id, request.getNovoStatus());
 
-        FichaDto fichaAtualizada = fichaService.updateFichaStatus(id, request.getNovoStatus(),
-                request.getMotivo(), request.getObservacoes());
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("success", true);
-        result.put("message", "Status alterado com sucesso");
-        result.put("ficha", fichaAtualizada);
-        result.put("novoStatus", request.getNovoStatus());
+        Map<String, Object> result = statusChangeIdempotency.executar(request.getIdempotencyKey(),
+                "FICHA_STATUS:" + id, request, new TypeReference<Map<String, Object>>() {}, () -> {
+                    FichaDto fichaAtualizada = fichaService.updateFichaStatus(id, request.getNovoStatus(),
+                            request.getMotivo(), request.getObservacoes());
+
+                    Map<String, Object> resposta = new HashMap<>();
+                    resposta.put("success", true);
+                    resposta.put("message", "Status alterado com sucesso");
+                    resposta.put("ficha", fichaAtualizada);
+                    resposta.put("novoStatus", request.getNovoStatus());
+                    return resposta;
+                });
 
         logger.info("Status da ficha {} alterado com sucesso para {}", id, request.getNovoStatus());
         return ResponseEntity.ok(result);
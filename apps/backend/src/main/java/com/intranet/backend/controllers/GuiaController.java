@@ -1,5 +1,6 @@
 package com.intranet.backend.controllers;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.intranet.backend.dto.*;
 import com.intranet.backend.service.GuiaService;
 import com.intranet.backend.util.ResponseUtil;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 import com.intranet.backend.dto.StatusChangeRequest;
 import com.intranet.backend.dto.StatusHistoryDto;
 import com.intranet.backend.service.StatusHistoryService;
+import com.intranet.backend.service.impl.StatusChangeIdempotency;
 import com.intranet.backend.model.StatusHistory;
 
 import java.time.LocalDate;
@@ -33,6 +35,7 @@ public class GuiaController {
     private static final Logger logger = LoggerFactory.getLogger(GuiaController.class);
     private final StatusHistoryService statusHistoryService;
     private final GuiaService guiaService;
+    private final StatusChangeIdempotency statusChangeIdempotency;
 
     @GetMapping
     public ResponseEntity<Page<GuiaSummaryDto>> getAllGuias(
@@ -220,12 +223,16 @@ public class GuiaController {
     public ResponseEntity<Void> updateGuiasStatusBulk(@Valid @RequestBody BulkStatusChangeRequest request) {
         logger.info("Requisição para atualização em massa de {} guias para status {}", request.getIds().size(), request.getNovoStatus());
 
-        guiaService.updateGuiasStatusBulk(
-                request.getIds(),
-                request.getNovoStatus(),
-                request.getMotivo(),
-                request.getObservacoes()
-        );
+        statusChangeIdempotency.executar(request.getIdempotencyKey(), "GUIA_STATUS_BULK", request,
+                new TypeReference<Void>() {}, () -> {
+                    guiaService.updateGuiasStatusBulk(
+                            request.getIds(),
+                            request.getNovoStatus(),
+                            request.getMotivo(),
+                            request.getObservacoes()
+                    );
+                    return null;
+                });
 
         return ResponseEntity.noContent().build();
     }
@@ -266,14 +273,18 @@ public class GuiaController {
             @Valid @RequestBody StatusChangeRequest request) {
         logger.info("Requisição para alterar status da guia {} para {}", id, request.getNovoStatus());
 
-        GuiaDto guiaAtualizada = guiaService.updateGuiaStatus(id, request.getNovoStatus(),
-                request.getMotivo(), request.getObservacoes());
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("success", true);
-        result.put("message", "Status alterado com sucesso");
-        result.put("guia", guiaAtualizada);
-        result.put("novoStatus", request.getNovoStatus());
+        Map<String, Object> result = statusChangeIdempotency.executar(request.getIdempotencyKey(),
+                "GUIA_STATUS:" + id, request, new TypeReference<Map<String, Object>>() {}, () -> {
+                    GuiaDto guiaAtualizada = guiaService.updateGuiaStatus(id, request.getNovoStatus(),
+                            request.getMotivo(), request.getObservacoes());
+
+                    Map<String, Object> resposta = new HashMap<>();
+                    resposta.put("success", true);
+                    resposta.put("message", "Status alterado com sucesso");
+                    resposta.put("guia", guiaAtualizada);
+                    resposta.put("novoStatus", request.getNovoStatus());
+                    return resposta;
+                });
 
         logger.info("Status da guia {} alterado com sucesso para {}", id, request.getNovoStatus());
         return ResponseEntity.ok(result);
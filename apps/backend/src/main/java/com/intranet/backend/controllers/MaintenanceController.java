@@ -1,16 +1,21 @@
 package com.intranet.backend.controllers;
 
+import com.intranet.backend.model.StatusEventOutbox;
 import com.intranet.backend.service.CleanupService;
+import com.intranet.backend.service.impl.StatusEventOutboxDispatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -23,6 +28,9 @@ public class MaintenanceController {
     @Autowired
     private CleanupService cleanupService;
 
+    @Autowired
+    private StatusEventOutboxDispatcher statusEventOutboxDispatcher;
+
     /**
      * Endpoint para iniciar manualmente a limpeza de arquivos temporários
      * Restrito a administradores
@@ -40,4 +48,29 @@ public class MaintenanceController {
 
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Lista os eventos de mudança de status que esgotaram as tentativas de entrega (dead-letter)
+     */
+    @GetMapping("/status-events/dead-letter")
+    public ResponseEntity<List<StatusEventOutbox>> listStatusEventsDeadLetter() {
+        return ResponseEntity.ok(statusEventOutboxDispatcher.listarDeadLetter());
+    }
+
+    /**
+     * Devolve um evento do dead-letter à fila do outbox para nova entrega
+     */
+    @PostMapping("/status-events/dead-letter/{id}/reprocess")
+    public ResponseEntity<Map<String, Object>> reprocessStatusEvent(@PathVariable Long id) {
+        logger.info("Solicitação manual para reprocessar o evento de status {}", id);
+
+        statusEventOutboxDispatcher.reprocessar(id);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Evento de status devolvido à fila do outbox");
+        response.put("eventId", id);
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -16,7 +16,9 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -197,34 +199,54 @@ public class RelatorioController {
      */
     @GetMapping("/{id}/pdf")
     @PreAuthorize("hasAnyRole('EDITOR','ADMIN', 'GERENTE', 'SUPERVISOR','GUIAS')")
-    public ResponseEntity<byte[]> baixarRelatorioPDF(@PathVariable UUID id) {
+    public ResponseEntity<StreamingResponseBody> baixarRelatorioPDF(@PathVariable UUID id) {
         logger.info("Requisição para baixar PDF do relatório: {}", id);
 
-        byte[] pdfBytes = relatorioService.gerarRelatorioPDF(id);
+        StreamingResponseBody pdf = relatorioService.gerarRelatorioPDF(id);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDispositionFormData("attachment", "relatorio-" + id + ".pdf");
-        headers.setContentLength(pdfBytes.length);
 
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        return new ResponseEntity<>(pdf, headers, HttpStatus.OK);
     }
 
     /**
      * Baixa relatório em PDF via hash de compartilhamento
      */
     @GetMapping("/compartilhado/{hash}/pdf")
-    public ResponseEntity<byte[]> baixarRelatorioPDFByHash(@PathVariable String hash) {
+    public ResponseEntity<StreamingResponseBody> baixarRelatorioPDFByHash(@PathVariable String hash) {
         logger.info("Requisição para baixar PDF do relatório compartilhado: {}", hash);
 
-        byte[] pdfBytes = relatorioService.gerarRelatorioPDFByHash(hash);
+        StreamingResponseBody pdf = relatorioService.gerarRelatorioPDFByHash(hash);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDispositionFormData("attachment", "relatorio-compartilhado-" + hash + ".pdf");
-        headers.setContentLength(pdfBytes.length);
 
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        return new ResponseEntity<>(pdf, headers, HttpStatus.OK);
+    }
+
+    /**
+     * Exporta as linhas do relatório em CSV ou XLSX
+     */
+    @GetMapping("/{id}/export")
+    @PreAuthorize("hasAnyRole('EDITOR','ADMIN', 'GERENTE', 'SUPERVISOR','GUIAS')")
+    public ResponseEntity<StreamingResponseBody> exportarRelatorio(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "csv") String format) {
+        logger.info("Requisição para exportar relatório {} em {}", id, format);
+
+        StreamingResponseBody arquivo = relatorioService.exportarRelatorio(id, format);
+
+        boolean xlsx = "xlsx".equalsIgnoreCase(format.trim());
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(xlsx
+                ? MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
+                : new MediaType("text", "csv", StandardCharsets.UTF_8));
+        headers.setContentDispositionFormData("attachment", "relatorio-" + id + (xlsx ? ".xlsx" : ".csv"));
+
+        return new ResponseEntity<>(arquivo, headers, HttpStatus.OK);
     }
 
     /**
@@ -271,16 +293,9 @@ public class RelatorioController {
     public ResponseEntity<Map<String, Object>> previewRelatorio(@Valid @RequestBody RelatorioCreateRequest request) {
         logger.info("Requisição para preview do relatório: {}", request.getTitulo());
 
-        // Criar um relatório temporário para preview (sem salvar)
+        // Estimativa via consultas agregadas (COUNT/GROUP BY), sem salvar o relatório
         try {
-            // Aqui implementaríamos uma versão simplificada do processamento
-            // que retorna apenas estatísticas básicas sem salvar o relatório
-            Map<String, Object> preview = Map.of(
-                    "estimativaRegistros", 0, // Calcular baseado nos filtros
-                    "periodoValido", request.getPeriodoInicio().isBefore(request.getPeriodoFim()),
-                    "filtrosAplicados", request
-            );
-
+            Map<String, Object> preview = relatorioService.previewRelatorio(request);
             return ResponseUtil.success(preview);
         } catch (Exception e) {
             logger.error("Erro ao gerar preview: {}", e.getMessage(), e);
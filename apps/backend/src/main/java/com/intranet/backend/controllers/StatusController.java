@@ -16,7 +16,9 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -47,20 +49,19 @@ public class StatusController {
     }
 
     @GetMapping("/ativos")
-    public ResponseEntity<List<StatusDto>> getAllStatusesAtivos() {
+    public ResponseEntity<List<StatusDto>> getAllStatusesAtivos(WebRequest webRequest) {
         logger.info("Requisição para listar status ativos");
 
-        List<StatusDto> statuses = statusService.getAllStatusesAtivos();
-        logger.info("Total de status ativos encontrados: {}", statuses.size());
-        return ResponseEntity.ok(statuses);
+        ReferenceDataSnapshot<List<StatusDto>> statuses = statusService.getAllStatusesAtivosVersionados();
+        logger.info("Total de status ativos encontrados: {}", statuses.dados().size());
+        return ResponseUtil.conditional(webRequest, statuses);
     }
 
     @GetMapping("/enum-values")
-    public ResponseEntity<List<StatusDto>> getStatusEnumValues() {
+    public ResponseEntity<List<StatusDto>> getStatusEnumValues(WebRequest webRequest) {
         logger.info("Requisição para listar valores do enum de status");
 
-        List<StatusDto> enumValues = statusService.getStatusEnumValues();
-        return ResponseEntity.ok(enumValues);
+        return ResponseUtil.conditional(webRequest, statusService.getStatusEnumValuesVersionados());
     }
 
     @GetMapping("/{id}")
@@ -230,6 +231,46 @@ public class StatusController {
         return ResponseEntity.ok(historico);
     }
 
+    @GetMapping("/history/parados/{entityType}")
+    public ResponseEntity<Page<StatusHistorySummaryDto>> getEntidadesParadas(
+            @PathVariable String entityType,
+            @RequestParam String status,
+            @RequestParam(defaultValue = "30") int dias,
+            @PageableDefault(size = 20) Pageable pageable) {
+        logger.info("Requisição para {} paradas no status '{}' há mais de {} dias", entityType, status, dias);
+
+        try {
+            StatusHistory.EntityType type = StatusHistory.EntityType.valueOf(entityType.toUpperCase());
+            Page<StatusHistorySummaryDto> parados = statusHistoryService.getEntidadesParadasNoStatus(
+                    type, status, dias, pageable);
+            return ResponseEntity.ok(parados);
+        } catch (IllegalArgumentException e) {
+            logger.error("Tipo de entidade inválido: {}", entityType);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/history/duracao/{entityType}")
+    public ResponseEntity<List<StatusDurationStatsDto>> getDuracaoPorStatus(
+            @PathVariable String entityType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String statusSeguinte,
+            @RequestParam(required = false) UUID convenioId) {
+        logger.info("Requisição para tempo de permanência em status de {} de {} a {}", entityType, inicio, fim);
+
+        try {
+            StatusHistory.EntityType type = StatusHistory.EntityType.valueOf(entityType.toUpperCase());
+            List<StatusDurationStatsDto> duracoes = statusHistoryService.getDuracaoPorStatus(
+                    type, inicio, fim, status, statusSeguinte, convenioId);
+            return ResponseEntity.ok(duracoes);
+        } catch (IllegalArgumentException e) {
+            logger.error("Tipo de entidade inválido: {}", entityType);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/history/dashboard")
     public ResponseEntity<Map<String, Object>> getDashboardStats(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
@@ -3,6 +3,7 @@ package com.intranet.backend.controllers;
 import com.intranet.backend.dto.TabelaValoresCreateDto;
 import com.intranet.backend.dto.TabelaValoresDto;
 import com.intranet.backend.service.TabelaValoresService;
+import com.intranet.backend.util.ResponseUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -14,6 +15,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -42,10 +44,10 @@ public class TabelaValoresController {
     }
 
     @GetMapping("/convenio/{convenioId}")
-    public ResponseEntity<List<TabelaValoresDto>> getTabelasByConvenioId(@PathVariable UUID convenioId) {
+    public ResponseEntity<List<TabelaValoresDto>> getTabelasByConvenioId(@PathVariable UUID convenioId,
+                                                                         WebRequest webRequest) {
         logger.info("Requisição para listar tabelas de valores do convênio com ID: {}", convenioId);
-        List<TabelaValoresDto> tabelas = tabelaValoresService.getTabelasByConvenioId(convenioId);
-        return ResponseEntity.ok(tabelas);
+        return ResponseUtil.conditional(webRequest, tabelaValoresService.getTabelasByConvenioIdVersionadas(convenioId));
     }
 
     @GetMapping("/minhas")
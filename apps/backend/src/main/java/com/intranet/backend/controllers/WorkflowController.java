@@ -288,6 +288,20 @@ public class WorkflowController {
         return ResponseEntity.ok(updatedWorkflow);
     }
 
+    @PostMapping("/bulk/status")
+    @PreAuthorize("hasAnyRole('EDITOR','ADMIN')")
+    public ResponseEntity<WorkflowBulkResultDto> bulkUpdateWorkflowStatus(@RequestBody WorkflowBulkStatusDto request) {
+        if (request.getWorkflowIds() == null || request.getNewStatus() == null) {
+            throw new IllegalArgumentException("Informe os fluxos e o novo status.");
+        }
+
+        logger.info("Atualizando status de {} fluxos em massa para: {}", request.getWorkflowIds().size(), request.getNewStatus());
+
+        WorkflowBulkResultDto result = workflowService.bulkUpdateWorkflowStatus(
+                request.getWorkflowIds(), request.getNewStatus(), request.getComments());
+        return ResponseEntity.ok(result);
+    }
+
     @PostMapping("/{id}/assign")
     @PreAuthorize("hasAnyRole('EDITOR','ADMIN', 'GERENTE', 'SUPERVISOR')")
     public ResponseEntity<WorkflowAssignmentDto> assignStep(
@@ -579,6 +593,20 @@ public class WorkflowController {
         return ResponseEntity.ok(workflows);
     }
 
+    @GetMapping("/board")
+    @PreAuthorize("hasAnyRole('EDITOR','ADMIN', 'GERENTE', 'SUPERVISOR')")
+    public ResponseEntity<WorkflowBoardPageDto> getWorkflowBoardPage(
+            @RequestParam(required = false) UUID templateId,
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        logger.info("Buscando quadro de fluxos agrupado por status com cursor");
+
+        WorkflowBoardPageDto board = workflowService.getWorkflowBoardPage(templateId, searchTerm, cursor, size);
+        return ResponseEntity.ok(board);
+    }
+
     @GetMapping("/search/grouped-by-status")
     @PreAuthorize("hasAnyRole('EDITOR','ADMIN', 'GERENTE', 'SUPERVISOR')")
     public ResponseEntity<Page<WorkflowSummaryDto>> searchWorkflowsGroupedByStatus(
@@ -0,0 +1,9 @@
+package com.intranet.backend.dto;
+
+/**
+ * Versão imutável de um conjunto de dados de referência, com o ETag usado nas requisições condicionais.
+ */
+public record ReferenceDataSnapshot<T>(
+        T dados,
+        String etag
+) {}
@@ -20,4 +20,8 @@ public class StatusChangeRequest {
 
     @Size(max = 2000, message = "As observações devem ter no máximo 2000 caracteres")
     private String observacoes;
+
+    // Opcional: repetições com a mesma chave devolvem a resposta da primeira submissão
+    @Size(max = 100, message = "A chave de idempotência deve ter no máximo 100 caracteres")
+    private String idempotencyKey;
 }
\ No newline at end of file
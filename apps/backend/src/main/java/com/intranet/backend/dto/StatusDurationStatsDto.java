@@ -0,0 +1,26 @@
+package com.intranet.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Tempo de permanência em um status (em horas) para um convênio e mês
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusDurationStatsDto {
+    private String status;
+    private UUID convenioId;
+    private String convenioNome;
+    private LocalDate mes;
+    private long quantidade;
+    private double mediaHoras;
+    private double p50Horas;
+    private double p90Horas;
+    private double p95Horas;
+}
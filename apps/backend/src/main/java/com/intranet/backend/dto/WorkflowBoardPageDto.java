@@ -0,0 +1,17 @@
+package com.intranet.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkflowBoardPageDto {
+    private List<WorkflowSummaryDto> content;
+    private String nextCursor; // null quando não há mais fluxos
+    private boolean hasNext;
+    private int size;
+}
@@ -0,0 +1,18 @@
+package com.intranet.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkflowBulkResultDto {
+    private int requestedCount;
+    private int updatedCount;
+    private List<UUID> skippedIds; // fluxos que já estavam no status desejado
+    private List<UUID> notFoundIds;
+}
@@ -0,0 +1,17 @@
+package com.intranet.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkflowBulkStatusDto {
+    private List<UUID> workflowIds;
+    private String newStatus; // in_progress, paused, completed, canceled, archived
+    private String comments;
+}
@@ -0,0 +1,52 @@
+package com.intranet.backend.events;
+
+import com.intranet.backend.model.StatusHistory;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Evento de mudança de status de uma ou mais guias ou fichas, entregue pelo StatusEventOutboxDispatcher
+ * a partir do outbox. Carrega o status anterior de cada entidade alterada, para que os ouvintes tratem
+ * o conjunto de uma só vez.
+ */
+@Getter
+public class BulkStatusChangeEvent extends ApplicationEvent {
+
+    private final StatusHistory.EntityType entityType;
+    private final Map<UUID, String> statusAnteriores;
+    private final String statusNovo;
+    private final String motivo;
+    private final String observacoes;
+    private final UUID alteradoPorId;
+    private final LocalDateTime eventTimestamp;
+
+    public BulkStatusChangeEvent(Object source, StatusHistory.EntityType entityType, Map<UUID, String> statusAnteriores,
+                                 String statusNovo, String motivo, String observacoes, UUID alteradoPorId,
+                                 LocalDateTime eventTimestamp) {
+        super(source);
+        this.entityType = entityType;
+        this.statusAnteriores = Collections.unmodifiableMap(new LinkedHashMap<>(statusAnteriores));
+        this.statusNovo = statusNovo;
+        this.motivo = motivo;
+        this.observacoes = observacoes;
+        this.alteradoPorId = alteradoPorId;
+        this.eventTimestamp = eventTimestamp;
+    }
+
+    public Set<UUID> getEntityIds() {
+        return statusAnteriores.keySet();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BulkStatusChangeEvent{entityType=%s, quantidade=%d, statusNovo='%s', eventTimestamp=%s}",
+                entityType, statusAnteriores.size(), statusNovo, eventTimestamp);
+    }
+}
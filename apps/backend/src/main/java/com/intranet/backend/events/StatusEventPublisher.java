@@ -1,91 +1,107 @@
 package com.intranet.backend.events;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intranet.backend.model.StatusEventOutbox;
 import com.intranet.backend.model.StatusHistory;
+import com.intranet.backend.repository.StatusEventOutboxRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Componente responsável por publicar eventos de mudança de status
- * Centraliza a lógica de publicação de eventos
+ * Os eventos são gravados no outbox (status_event_outbox) na mesma transação da alteração de status e
+ * entregues aos ouvintes pelo StatusEventOutboxDispatcher, fora do caminho da requisição
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class StatusEventPublisher {
 
-    private final ApplicationEventPublisher eventPublisher;
+    private final StatusEventOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
 
     /**
      * Publica evento de mudança de status para guia
      */
+    @Transactional(propagation = Propagation.MANDATORY)
     public void publishGuiaStatusChange(UUID guiaId, String statusAnterior, String statusNovo,
                                         String motivo, String observacoes, UUID alteradoPorId) {
-        log.debug("Publicando evento de mudança de status para guia ID: {} - {} -> {}",
-                guiaId, statusAnterior, statusNovo);
-
-        StatusChangeEvent event = new StatusChangeEvent(
-                this,
-                StatusHistory.EntityType.GUIA,
-                guiaId,
-                statusAnterior,
-                statusNovo,
-                motivo,
-                observacoes,
-                alteradoPorId
-        );
-
-        eventPublisher.publishEvent(event);
-        log.debug("Evento publicado com sucesso: {}", event);
+        publishStatusChange(StatusHistory.EntityType.GUIA, guiaId, statusAnterior, statusNovo,
+                motivo, observacoes, alteradoPorId);
     }
 
     /**
      * Publica evento de mudança de status para ficha
      */
+    @Transactional(propagation = Propagation.MANDATORY)
     public void publishFichaStatusChange(UUID fichaId, String statusAnterior, String statusNovo,
                                          String motivo, String observacoes, UUID alteradoPorId) {
-        log.debug("Publicando evento de mudança de status para ficha ID: {} - {} -> {}",
-                fichaId, statusAnterior, statusNovo);
-
-        StatusChangeEvent event = new StatusChangeEvent(
-                this,
-                StatusHistory.EntityType.FICHA,
-                fichaId,
-                statusAnterior,
-                statusNovo,
-                motivo,
-                observacoes,
-                alteradoPorId
-        );
-
-        eventPublisher.publishEvent(event);
-        log.debug("Evento publicado com sucesso: {}", event);
+        publishStatusChange(StatusHistory.EntityType.FICHA, fichaId, statusAnterior, statusNovo,
+                motivo, observacoes, alteradoPorId);
     }
 
     /**
      * Publica evento genérico de mudança de status
      */
+    @Transactional(propagation = Propagation.MANDATORY)
     public void publishStatusChange(StatusHistory.EntityType entityType, UUID entityId,
                                     String statusAnterior, String statusNovo, String motivo,
                                     String observacoes, UUID alteradoPorId) {
         log.debug("Publicando evento de mudança de status para {} ID: {} - {} -> {}",
                 entityType, entityId, statusAnterior, statusNovo);
 
-        StatusChangeEvent event = new StatusChangeEvent(
-                this,
-                entityType,
-                entityId,
-                statusAnterior,
-                statusNovo,
-                motivo,
-                observacoes,
-                alteradoPorId
-        );
+        gravarNoOutbox(entityType, Collections.singletonMap(entityId, statusAnterior), statusNovo,
+                motivo, observacoes, alteradoPorId);
+    }
+
+    /**
+     * Publica um único evento para uma alteração de status em massa
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishBulkStatusChange(StatusHistory.EntityType entityType, Map<UUID, String> statusAnteriores,
+                                        String statusNovo, String motivo, String observacoes, UUID alteradoPorId) {
+        log.debug("Publicando evento de mudança de status em massa para {} registros de {} -> {}",
+                statusAnteriores.size(), entityType, statusNovo);
+
+        gravarNoOutbox(entityType, statusAnteriores, statusNovo, motivo, observacoes, alteradoPorId);
+    }
+
+    private void gravarNoOutbox(StatusHistory.EntityType entityType, Map<UUID, String> statusAnteriores,
+                                String statusNovo, String motivo, String observacoes, UUID alteradoPorId) {
+        // Grava antes a alteração pendente da guia/ficha: o UPDATE bloqueia a linha da entidade, então uma
+        // alteração concorrente da mesma entidade só obtém seu id de outbox depois do commit desta, e a ordem
+        // dos ids (usada pelo despachante) acompanha a ordem de commit por entidade
+        entityManager.flush();
+
+        StatusEventOutbox outbox = new StatusEventOutbox();
+        outbox.setEntityType(entityType);
+        outbox.setStatusAnteriores(toJson(statusAnteriores));
+        outbox.setStatusNovo(statusNovo);
+        outbox.setMotivo(motivo);
+        outbox.setObservacoes(observacoes);
+        outbox.setAlteradoPor(alteradoPorId);
+        outbox.setDataAlteracao(LocalDateTime.now());
+
+        StatusEventOutbox saved = outboxRepository.save(outbox);
+        log.debug("Evento gravado no outbox com sucesso. ID: {}", saved.getId());
+    }
 
-        eventPublisher.publishEvent(event);
-        log.debug("Evento publicado com sucesso: {}", event);
+    private String toJson(Map<UUID, String> statusAnteriores) {
+        try {
+            return objectMapper.writeValueAsString(statusAnteriores);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar evento de mudança de status", e);
+        }
     }
 }
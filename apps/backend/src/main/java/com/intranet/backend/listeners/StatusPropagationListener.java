@@ -1,58 +1,48 @@
 package com.intranet.backend.listeners;
 
-import com.intranet.backend.events.StatusChangeEvent;
-import com.intranet.backend.model.Ficha;
+import com.intranet.backend.events.BulkStatusChangeEvent;
 import com.intranet.backend.model.StatusHistory;
-import com.intranet.backend.repository.FichaRepository;
-import com.intranet.backend.service.FichaService;
+import com.intranet.backend.service.impl.StatusBulkUpdater;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-
+/**
+ * Propaga o status das guias para suas fichas.
+ * Os eventos chegam pelo StatusEventOutboxDispatcher, já fora do caminho da requisição e em ordem;
+ * o processamento é síncrono na transação do despachante para que uma falha faça o evento ser reprocessado.
+ */
 @Component
 @RequiredArgsConstructor
 public class StatusPropagationListener {
 
     private static final Logger logger = LoggerFactory.getLogger(StatusPropagationListener.class);
 
-    private final FichaRepository fichasRepository;
-    private final FichaService fichaService;
+    private final StatusBulkUpdater statusBulkUpdater;
 
     @EventListener
-    @Async
     @Transactional
-    public void handleGuiaStatusChange(StatusChangeEvent event) {
+    public void handleGuiaStatusChange(BulkStatusChangeEvent event) {
         if (event.getEntityType() == StatusHistory.EntityType.GUIA) {
-            logger.info("Propagando status '{}' da Guia {} para suas fichas...",
-                    event.getStatusNovo(), event.getEntityType());
-
-            List<Ficha> fichas = fichasRepository.findByGuiaId(event.getEntityId());
-
-            if (fichas.isEmpty()) {
-                logger.info("Nenhuma ficha encontrada para a guia {}", event.getEntityId());
-                return;
-            }
-
-            for (Ficha ficha : fichas) {
-                if (!ficha.getStatus().equals(event.getStatusNovo())) {
-                    try {
-                        fichaService.updateFichaStatus(
-                                ficha.getId(),
-                                event.getStatusNovo(),
-                                "Propagação automática: Status da guia alterado",
-                                "Status atualizado automaticamente via alteração na Guia Pai"
-                        );
-                        logger.debug("Ficha {} atualizada com sucesso.", ficha.getCodigoFicha());
-                    } catch (Exception e) {
-                        logger.error("Erro ao propagar status para ficha {}: {}", ficha.getId(), e.getMessage());
-                    }
-                }
+            logger.info("Propagando status '{}' de {} guia(s) para suas fichas...",
+                    event.getStatusNovo(), event.getEntityIds().size());
+
+            // Atualiza todas as fichas das guias em uma única instrução e grava o histórico em lote,
+            // registrando a alteração em nome do usuário que alterou as guias
+            int fichasAtualizadas = statusBulkUpdater.propagarStatusParaFichas(
+                    event.getEntityIds(),
+                    event.getStatusNovo(),
+                    "Propagação automática: Status da guia alterado",
+                    "Status atualizado automaticamente via alteração na Guia Pai",
+                    event.getAlteradoPorId(),
+                    event.getEventTimestamp()
+            );
+
+            if (fichasAtualizadas == 0) {
+                logger.debug("Nenhuma ficha a atualizar para as guias {}", event.getEntityIds());
             }
         }
     }
@@ -0,0 +1,49 @@
+package com.intranet.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Último registro de histórico de status de uma guia ou ficha.
+ * Mantido pelo EntityCurrentStatusWriter a cada gravação de histórico.
+ */
+@Entity
+@Table(name = "entity_current_status",
+        uniqueConstraints = @UniqueConstraint(name = "uk_entity_current_status",
+                columnNames = {"entity_type", "entity_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntityCurrentStatus {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private StatusHistory.EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+
+    @Column(name = "status", nullable = false, length = 100)
+    private String status;
+
+    @Column(name = "status_anterior", length = 100)
+    private String statusAnterior;
+
+    @Column(name = "history_id", nullable = false)
+    private UUID historyId;
+
+    @Column(name = "alterado_por", nullable = false)
+    private UUID alteradoPor;
+
+    @Column(name = "data_alteracao", nullable = false)
+    private LocalDateTime dataAlteracao;
+}
@@ -94,4 +94,14 @@ public class RelatorioLog {
         log.setIpAddress(ipAddress);
         return log;
     }
+
+    public static RelatorioLog exportado(Relatorio relatorio, User usuario, String formato, String ipAddress) {
+        RelatorioLog log = new RelatorioLog();
+        log.setRelatorio(relatorio);
+        log.setAcao("DOWNLOAD");
+        log.setUsuario(usuario);
+        log.setIpAddress(ipAddress);
+        log.setDetalhes("{\"formato\":\"" + formato + "\"}");
+        return log;
+    }
 }
\ No newline at end of file
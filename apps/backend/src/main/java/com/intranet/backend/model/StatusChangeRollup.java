@@ -0,0 +1,43 @@
+package com.intranet.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Quantidade de mudanças de status de um dia, por tipo de entidade, novo status e usuário.
+ * Mantida pelo StatusChangeRollupWriter; usada pelo dashboard de status no lugar do histórico completo.
+ */
+@Entity
+@Table(name = "status_change_daily",
+        uniqueConstraints = @UniqueConstraint(name = "uk_status_change_daily",
+                columnNames = {"entity_type", "status_novo", "alterado_por", "dia"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusChangeRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private StatusHistory.EntityType entityType;
+
+    @Column(name = "status_novo", nullable = false, length = 100)
+    private String statusNovo;
+
+    @Column(name = "alterado_por", nullable = false)
+    private UUID alteradoPor;
+
+    @Column(name = "dia", nullable = false)
+    private LocalDate dia;
+
+    @Column(name = "total", nullable = false)
+    private long total;
+}
@@ -0,0 +1,72 @@
+package com.intranet.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Evento de mudança de status pendente de entrega (outbox transacional).
+ * Gravado na mesma transação da alteração e processado pelo StatusEventOutboxDispatcher.
+ */
+@Entity
+@Table(name = "status_event_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class StatusEventOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private StatusHistory.EntityType entityType;
+
+    // JSON {entityId: statusAnterior}
+    @Column(name = "status_anteriores", nullable = false, columnDefinition = "TEXT")
+    private String statusAnteriores;
+
+    @Column(name = "status_novo", nullable = false, length = 100)
+    private String statusNovo;
+
+    @Column(name = "motivo", columnDefinition = "TEXT")
+    private String motivo;
+
+    @Column(name = "observacoes", columnDefinition = "TEXT")
+    private String observacoes;
+
+    @Column(name = "alterado_por", nullable = false)
+    private UUID alteradoPor;
+
+    @Column(name = "data_alteracao", nullable = false)
+    private LocalDateTime dataAlteracao;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    // Após uma falha, o evento só é despachado novamente a partir deste instante
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    // Preenchido quando o evento esgota as tentativas (dead-letter); não é removido pela limpeza
+    @Column(name = "dead_lettered_at")
+    private LocalDateTime deadLetteredAt;
+}
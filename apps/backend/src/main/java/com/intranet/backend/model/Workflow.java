@@ -78,6 +78,10 @@ public class Workflow {
     @JoinColumn(name = "status_template_id")
     private WorkflowStatusTemplate statusTemplate;
 
+    // Posição no quadro agrupado por status (ver atualizarBoardSortKey)
+    @Column(name = "board_sort_key", nullable = false)
+    private int boardSortKey = 1000;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -85,4 +89,26 @@ public class Workflow {
     @LastModifiedDate
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
+
+    /**
+     * Recalcula a chave de ordenação do quadro: o order_index do status personalizado, se houver,
+     * ou a faixa do status padrão (em andamento, pausado, concluído, cancelado, arquivado).
+     */
+    @PrePersist
+    @PreUpdate
+    public void atualizarBoardSortKey() {
+        if (customStatus != null) {
+            boardSortKey = customStatus.getOrderIndex();
+            return;
+        }
+
+        boardSortKey = switch (status) {
+            case "in_progress" -> 1000;
+            case "paused" -> 2000;
+            case "completed" -> 3000;
+            case "canceled" -> 4000;
+            case "archived" -> 5000;
+            default -> 6000;
+        };
+    }
 }
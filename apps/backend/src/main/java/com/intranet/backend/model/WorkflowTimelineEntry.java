@@ -0,0 +1,77 @@
+package com.intranet.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entrada da linha do tempo de um fluxo: cópia desnormalizada de uma WorkflowTransition com os nomes de
+ * etapas e usuários resolvidos no momento da transição. Somente inserção.
+ */
+@Entity
+@Table(name = "workflow_timeline")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkflowTimelineEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "transition_id", nullable = false, updatable = false)
+    private UUID transitionId;
+
+    @Column(name = "workflow_id", nullable = false, updatable = false)
+    private UUID workflowId;
+
+    @Column(name = "from_step", updatable = false)
+    private Integer fromStep;
+
+    @Column(name = "from_step_name", updatable = false)
+    private String fromStepName;
+
+    @Column(name = "to_step", updatable = false)
+    private Integer toStep;
+
+    @Column(name = "to_step_name", updatable = false)
+    private String toStepName;
+
+    @Column(name = "from_status", updatable = false)
+    private String fromStatus;
+
+    @Column(name = "to_status", updatable = false)
+    private String toStatus;
+
+    @Column(name = "from_user_id", updatable = false)
+    private UUID fromUserId;
+
+    @Column(name = "from_user_name", updatable = false)
+    private String fromUserName;
+
+    @Column(name = "to_user_id", updatable = false)
+    private UUID toUserId;
+
+    @Column(name = "to_user_name", updatable = false)
+    private String toUserName;
+
+    @Column(name = "comments", updatable = false)
+    private String comments;
+
+    @Column(name = "transition_type", nullable = false, updatable = false)
+    private String transitionType;
+
+    @Column(name = "created_by_id", updatable = false)
+    private UUID createdById;
+
+    @Column(name = "created_by_name", updatable = false)
+    private String createdByName;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
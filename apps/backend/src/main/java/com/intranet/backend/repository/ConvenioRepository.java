@@ -16,4 +16,8 @@ public interface ConvenioRepository extends JpaRepository<Convenio, UUID> {
 
     @Query("SELECT c FROM Convenio c ORDER BY c.name ASC")
     List<Convenio> findAllOrderedByName();
+
+    // Retorna [id, name]
+    @Query("SELECT c.id, c.name FROM Convenio c ORDER BY c.name ASC")
+    List<Object[]> findIdsAndNamesOrderedByName();
 }
@@ -0,0 +1,33 @@
+package com.intranet.backend.repository;
+
+import com.intranet.backend.model.EntityCurrentStatus;
+import com.intranet.backend.model.StatusHistory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface EntityCurrentStatusRepository extends JpaRepository<EntityCurrentStatus, Long> {
+
+    Optional<EntityCurrentStatus> findByEntityTypeAndEntityId(StatusHistory.EntityType entityType, UUID entityId);
+
+    /**
+     * Entidades cujo status atual foi definido até a data limite, das mais antigas para as mais recentes
+     */
+    @Query(value = "SELECT c FROM EntityCurrentStatus c " +
+            "WHERE c.entityType = :entityType AND c.status = :status AND c.dataAlteracao <= :limite " +
+            "ORDER BY c.dataAlteracao",
+            countQuery = "SELECT COUNT(c) FROM EntityCurrentStatus c " +
+                    "WHERE c.entityType = :entityType AND c.status = :status AND c.dataAlteracao <= :limite")
+    Page<EntityCurrentStatus> findParadosNoStatus(@Param("entityType") StatusHistory.EntityType entityType,
+                                                  @Param("status") String status,
+                                                  @Param("limite") LocalDateTime limite,
+                                                  Pageable pageable);
+}
@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,6 +24,8 @@ public interface FichaRepository extends JpaRepository<Ficha, UUID> {
 
     Optional<Ficha> findByGuiaIdAndEspecialidade(UUID guiaId, String especialidade);
 
+    boolean existsByIdInAndTipoFicha(Collection<UUID> ids, Ficha.TipoFicha tipoFicha);
+
     @Query("SELECT f FROM Ficha f WHERE f.guia.id = :guiaId ORDER BY f.especialidade ASC")
     List<Ficha> findByGuiaId(@Param("guiaId") UUID guiaId);
 
@@ -359,4 +362,62 @@ public interface FichaRepository extends JpaRepository<Ficha, UUID> {
         }
         return fichas;
     }
-}
\ No newline at end of file
+
+    /**
+     * Agregação (status, especialidade, convênio, unidade, dia de atualização) das fichas do relatório de estado atual.
+     * A unidade segue o paciente da ficha ou, na falta dele, o paciente da guia.
+     */
+    @Query("SELECT f.status, f.especialidade, c.name, CAST(COALESCE(p.unidade, gp.unidade) as string), " +
+            "CAST(f.updatedAt as LocalDate), COUNT(f) FROM Ficha f " +
+            "LEFT JOIN f.paciente p " +
+            "LEFT JOIN f.guia g " +
+            "LEFT JOIN g.paciente gp " +
+            "LEFT JOIN f.convenio c " +
+            "WHERE (:usuarioResponsavel IS NULL OR f.usuarioResponsavel.id = :usuarioResponsavel) " +
+            "AND (f.createdAt BETWEEN :periodoInicio AND :periodoFim " +
+            "OR f.updatedAt BETWEEN :periodoInicio AND :periodoFim) " +
+            "AND (:status IS NULL OR f.status IN :status) " +
+            "AND (:especialidades IS NULL OR f.especialidade IN :especialidades) " +
+            "AND (:convenioIds IS NULL OR f.convenio.id IN :convenioIds) " +
+            "AND (:unidades IS NULL OR CAST(COALESCE(p.unidade, gp.unidade) as string) IN :unidades) " +
+            "GROUP BY f.status, f.especialidade, c.name, COALESCE(p.unidade, gp.unidade), CAST(f.updatedAt as LocalDate)")
+    List<Object[]> aggregateFichasForRelatorio(
+            @Param("usuarioResponsavel") UUID usuarioResponsavel,
+            @Param("periodoInicio") LocalDateTime periodoInicio,
+            @Param("periodoFim") LocalDateTime periodoFim,
+            @Param("status") List<String> status,
+            @Param("especialidades") List<String> especialidades,
+            @Param("convenioIds") List<UUID> convenioIds,
+            @Param("unidades") List<String> unidades
+    );
+
+    @Query("SELECT f.status, f.especialidade, c.name, CAST(COALESCE(p.unidade, gp.unidade) as string), " +
+            "CAST(f.updatedAt as LocalDate), COUNT(f) FROM Ficha f " +
+            "LEFT JOIN f.paciente p " +
+            "LEFT JOIN f.guia g " +
+            "LEFT JOIN g.paciente gp " +
+            "LEFT JOIN f.convenio c " +
+            "WHERE (:usuarioResponsavel IS NULL OR f.usuarioResponsavel.id = :usuarioResponsavel) " +
+            "AND ((f.ano * 12 + f.mes) >= :startPeriod) " +
+            "AND ((f.ano * 12 + f.mes) <= :endPeriod) " +
+            "AND (:status IS NULL OR f.status IN :status) " +
+            "AND (:especialidades IS NULL OR f.especialidade IN :especialidades) " +
+            "AND (:convenioIds IS NULL OR f.convenio.id IN :convenioIds) " +
+            "AND (:unidades IS NULL OR CAST(COALESCE(p.unidade, gp.unidade) as string) IN :unidades) " +
+            "GROUP BY f.status, f.especialidade, c.name, COALESCE(p.unidade, gp.unidade), CAST(f.updatedAt as LocalDate)")
+    List<Object[]> aggregateFichasForRelatorioByPeriodo(
+            @Param("usuarioResponsavel") UUID usuarioResponsavel,
+            @Param("startPeriod") Integer startPeriod,
+            @Param("endPeriod") Integer endPeriod,
+            @Param("status") List<String> status,
+            @Param("especialidades") List<String> especialidades,
+            @Param("convenioIds") List<UUID> convenioIds,
+            @Param("unidades") List<String> unidades
+    );
+
+    // Retorna [id, codigoFicha, pacienteNome]
+    // O paciente vem da guia quando a ficha não tem paciente próprio, como em Ficha.getPacienteNome
+    @Query("SELECT f.id, f.codigoFicha, COALESCE(p.nome, gp.nome) FROM Ficha f LEFT JOIN f.paciente p " +
+            "LEFT JOIN f.guia g LEFT JOIN g.paciente gp WHERE f.id IN :ids")
+    List<Object[]> findResumoRelatorioByIds(@Param("ids") Collection<UUID> ids);
+}
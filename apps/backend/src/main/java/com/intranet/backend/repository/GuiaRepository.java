@@ -11,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -122,4 +123,100 @@ public interface GuiaRepository extends JpaRepository<Guia, UUID> {
             @Param("convenioIds") List<UUID> convenioIds,
             @Param("unidades") List<String> unidades
     );
-}
\ No newline at end of file
+
+    /**
+     * Agregação (status, convênio, unidade, dia de atualização) das guias do relatório de estado atual.
+     * Cada guia cai em exatamente um grupo, permitindo derivar totais e distribuições sem carregar as entidades.
+     */
+    @Query("SELECT g.status, c.name, CAST(p.unidade as string), CAST(g.updatedAt as LocalDate), COUNT(g) FROM Guia g " +
+            "LEFT JOIN g.paciente p " +
+            "LEFT JOIN g.convenio c " +
+            "WHERE (:usuarioAlvo IS NULL OR g.usuarioResponsavel.id = :usuarioAlvo) " +
+            "AND (cast(:inicio as timestamp) IS NULL OR g.updatedAt >= :inicio) " +
+            "AND (cast(:fim as timestamp) IS NULL OR g.updatedAt <= :fim) " +
+            "AND ((:status) IS NULL OR g.status IN (:status)) " +
+            "AND ((:especialidades) IS NULL OR EXISTS (SELECT 1 FROM GuiaItem fi WHERE fi.guia = g AND fi.especialidade IN (:especialidades))) " +
+            "AND ((:convenioIds) IS NULL OR g.convenio.id IN (:convenioIds)) " +
+            "AND ((:unidades) IS NULL OR CAST(p.unidade as string) IN (:unidades)) " +
+            "GROUP BY g.status, c.name, p.unidade, CAST(g.updatedAt as LocalDate)")
+    List<Object[]> aggregateGuiasForRelatorio(
+            @Param("usuarioAlvo") UUID usuarioAlvo,
+            @Param("inicio") LocalDateTime inicio,
+            @Param("fim") LocalDateTime fim,
+            @Param("status") List<String> status,
+            @Param("especialidades") List<String> especialidades,
+            @Param("convenioIds") List<UUID> convenioIds,
+            @Param("unidades") List<String> unidades
+    );
+
+    @Query("SELECT g.status, c.name, CAST(p.unidade as string), CAST(g.updatedAt as LocalDate), COUNT(g) FROM Guia g " +
+            "LEFT JOIN g.paciente p " +
+            "LEFT JOIN g.convenio c " +
+            "WHERE (:usuarioAlvo IS NULL OR g.usuarioResponsavel.id = :usuarioAlvo) " +
+            "AND ((g.ano * 12 + g.mes) >= :startPeriod) " +
+            "AND ((g.ano * 12 + g.mes) <= :endPeriod) " +
+            "AND ((:status) IS NULL OR g.status IN (:status)) " +
+            "AND ((:especialidades) IS NULL OR EXISTS (SELECT 1 FROM GuiaItem fi WHERE fi.guia = g AND fi.especialidade IN (:especialidades))) " +
+            "AND ((:convenioIds) IS NULL OR g.convenio.id IN (:convenioIds)) " +
+            "AND ((:unidades) IS NULL OR CAST(p.unidade as string) IN (:unidades)) " +
+            "GROUP BY g.status, c.name, p.unidade, CAST(g.updatedAt as LocalDate)")
+    List<Object[]> aggregateGuiasForRelatorioByPeriodo(
+            @Param("usuarioAlvo") UUID usuarioAlvo,
+            @Param("startPeriod") Integer startPeriod,
+            @Param("endPeriod") Integer endPeriod,
+            @Param("status") List<String> status,
+            @Param("especialidades") List<String> especialidades,
+            @Param("convenioIds") List<UUID> convenioIds,
+            @Param("unidades") List<String> unidades
+    );
+
+    /**
+     * Distribuição por especialidade dos itens das guias do relatório (uma guia conta uma vez por especialidade).
+     */
+    @Query("SELECT i.especialidade, COUNT(DISTINCT g.id) FROM Guia g " +
+            "JOIN g.itens i " +
+            "LEFT JOIN g.paciente p " +
+            "WHERE (:usuarioAlvo IS NULL OR g.usuarioResponsavel.id = :usuarioAlvo) " +
+            "AND (cast(:inicio as timestamp) IS NULL OR g.updatedAt >= :inicio) " +
+            "AND (cast(:fim as timestamp) IS NULL OR g.updatedAt <= :fim) " +
+            "AND ((:status) IS NULL OR g.status IN (:status)) " +
+            "AND ((:especialidades) IS NULL OR EXISTS (SELECT 1 FROM GuiaItem fi WHERE fi.guia = g AND fi.especialidade IN (:especialidades))) " +
+            "AND ((:convenioIds) IS NULL OR g.convenio.id IN (:convenioIds)) " +
+            "AND ((:unidades) IS NULL OR CAST(p.unidade as string) IN (:unidades)) " +
+            "GROUP BY i.especialidade")
+    List<Object[]> countGuiasPorEspecialidadeForRelatorio(
+            @Param("usuarioAlvo") UUID usuarioAlvo,
+            @Param("inicio") LocalDateTime inicio,
+            @Param("fim") LocalDateTime fim,
+            @Param("status") List<String> status,
+            @Param("especialidades") List<String> especialidades,
+            @Param("convenioIds") List<UUID> convenioIds,
+            @Param("unidades") List<String> unidades
+    );
+
+    @Query("SELECT i.especialidade, COUNT(DISTINCT g.id) FROM Guia g " +
+            "JOIN g.itens i " +
+            "LEFT JOIN g.paciente p " +
+            "WHERE (:usuarioAlvo IS NULL OR g.usuarioResponsavel.id = :usuarioAlvo) " +
+            "AND ((g.ano * 12 + g.mes) >= :startPeriod) " +
+            "AND ((g.ano * 12 + g.mes) <= :endPeriod) " +
+            "AND ((:status) IS NULL OR g.status IN (:status)) " +
+            "AND ((:especialidades) IS NULL OR EXISTS (SELECT 1 FROM GuiaItem fi WHERE fi.guia = g AND fi.especialidade IN (:especialidades))) " +
+            "AND ((:convenioIds) IS NULL OR g.convenio.id IN (:convenioIds)) " +
+            "AND ((:unidades) IS NULL OR CAST(p.unidade as string) IN (:unidades)) " +
+            "GROUP BY i.especialidade")
+    List<Object[]> countGuiasPorEspecialidadeForRelatorioByPeriodo(
+            @Param("usuarioAlvo") UUID usuarioAlvo,
+            @Param("startPeriod") Integer startPeriod,
+            @Param("endPeriod") Integer endPeriod,
+            @Param("status") List<String> status,
+            @Param("especialidades") List<String> especialidades,
+            @Param("convenioIds") List<UUID> convenioIds,
+            @Param("unidades") List<String> unidades
+    );
+
+    // Retorna [id, numeroGuia, pacienteNome, convenioNome]
+    @Query("SELECT g.id, g.numeroGuia, p.nome, c.name FROM Guia g " +
+            "LEFT JOIN g.paciente p LEFT JOIN g.convenio c WHERE g.id IN :ids")
+    List<Object[]> findResumoRelatorioByIds(@Param("ids") Collection<UUID> ids);
+}
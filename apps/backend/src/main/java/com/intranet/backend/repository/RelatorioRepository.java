@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -30,6 +31,20 @@ public interface RelatorioRepository extends JpaRepository<Relatorio, UUID> {
             "WHERE r.hashCompartilhamento = :hash")
     Optional<Relatorio> findByHashCompartilhamento(@Param("hash") String hash);
 
+    /**
+     * Dados para o download do PDF sem carregar dados_relatorio
+     */
+    // Retorna [id, usuarioGeradorId, statusRelatorio]
+    @Query("SELECT r.id, r.usuarioGerador.id, r.statusRelatorio FROM Relatorio r WHERE r.id = :id")
+    List<Object[]> findResumoDownloadById(@Param("id") UUID id);
+
+    // Retorna [id, usuarioGeradorId, statusRelatorio]
+    @Query("SELECT r.id, r.usuarioGerador.id, r.statusRelatorio FROM Relatorio r WHERE r.hashCompartilhamento = :hash")
+    List<Object[]> findResumoDownloadByHash(@Param("hash") String hash);
+
+    @Query("SELECT r.dadosRelatorio FROM Relatorio r WHERE r.id = :id")
+    Optional<String> findDadosRelatorioById(@Param("id") UUID id);
+
     /**
      * Conta relatórios por usuário
      */
@@ -0,0 +1,44 @@
+package com.intranet.backend.repository;
+
+import com.intranet.backend.model.StatusChangeRollup;
+import com.intranet.backend.model.StatusHistory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface StatusChangeRollupRepository extends JpaRepository<StatusChangeRollup, Long> {
+
+    // Retorna [statusNovo, total]
+    @Query("SELECT r.statusNovo, SUM(r.total) FROM StatusChangeRollup r " +
+            "WHERE r.entityType = :entityType " +
+            "GROUP BY r.statusNovo HAVING SUM(r.total) > 0 " +
+            "ORDER BY SUM(r.total) DESC")
+    List<Object[]> sumByStatusNovo(@Param("entityType") StatusHistory.EntityType entityType);
+
+    // Retorna [statusNovo, total]
+    @Query("SELECT r.statusNovo, SUM(r.total) FROM StatusChangeRollup r " +
+            "WHERE r.entityType = :entityType AND r.dia BETWEEN :inicio AND :fim " +
+            "GROUP BY r.statusNovo HAVING SUM(r.total) > 0")
+    List<Object[]> sumByStatusNovoNoPeriodo(@Param("entityType") StatusHistory.EntityType entityType,
+                                            @Param("inicio") LocalDate inicio,
+                                            @Param("fim") LocalDate fim);
+
+    @Query("SELECT COALESCE(SUM(r.total), 0) FROM StatusChangeRollup r WHERE r.dia BETWEEN :inicio AND :fim")
+    long sumNoPeriodo(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+    // Retorna [alteradoPor, fullName, total] em ordem decrescente de total
+    @Query("SELECT r.alteradoPor, u.fullName, SUM(r.total) FROM StatusChangeRollup r " +
+            "LEFT JOIN User u ON u.id = r.alteradoPor " +
+            "WHERE r.dia BETWEEN :inicio AND :fim " +
+            "GROUP BY r.alteradoPor, u.fullName HAVING SUM(r.total) > 0 " +
+            "ORDER BY SUM(r.total) DESC")
+    List<Object[]> sumByUsuarioNoPeriodo(@Param("inicio") LocalDate inicio,
+                                         @Param("fim") LocalDate fim,
+                                         Pageable pageable);
+}
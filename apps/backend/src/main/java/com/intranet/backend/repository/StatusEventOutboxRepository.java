@@ -0,0 +1,36 @@
+package com.intranet.backend.repository;
+
+import com.intranet.backend.model.StatusEventOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StatusEventOutboxRepository extends JpaRepository<StatusEventOutbox, Long> {
+
+    // Pendentes na ordem de gravação, parando no primeiro evento em espera para nova tentativa:
+    // os seguintes aguardam por ele, preservando a ordem das alterações
+    @Query("SELECT o.id FROM StatusEventOutbox o " +
+            "WHERE o.processedAt IS NULL AND o.deadLetteredAt IS NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM StatusEventOutbox e " +
+            "    WHERE e.processedAt IS NULL AND e.deadLetteredAt IS NULL " +
+            "    AND e.id <= o.id AND e.nextAttemptAt > :agora) " +
+            "ORDER BY o.id")
+    List<Long> findIdsPendentes(@Param("agora") LocalDateTime agora, Pageable pageable);
+
+    @Query("SELECT COUNT(o) FROM StatusEventOutbox o WHERE o.processedAt IS NULL AND o.deadLetteredAt IS NULL")
+    long countPendentes();
+
+    @Query("SELECT o FROM StatusEventOutbox o WHERE o.deadLetteredAt IS NOT NULL ORDER BY o.id")
+    List<StatusEventOutbox> findDeadLetter();
+
+    @Modifying
+    @Query("DELETE FROM StatusEventOutbox o WHERE o.processedAt < :limite")
+    int deleteProcessadosAntesDe(@Param("limite") LocalDateTime limite);
+}
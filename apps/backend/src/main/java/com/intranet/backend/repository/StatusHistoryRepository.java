@@ -1,16 +1,21 @@
 package com.intranet.backend.repository;
 
 import com.intranet.backend.model.StatusHistory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface StatusHistoryRepository extends JpaRepository<StatusHistory, UUID> {
@@ -86,6 +91,11 @@ public interface StatusHistoryRepository extends JpaRepository<StatusHistory, UU
             @Param("entityType") StatusHistory.EntityType entityType,
             @Param("entityId") UUID entityId);
 
+    /**
+     * Busca um registro pela chave completa (id e data da alteração), lendo apenas a partição do mês
+     */
+    Optional<StatusHistory> findByIdAndDataAlteracao(UUID id, LocalDateTime dataAlteracao);
+
     /**
      * Conta quantas mudanças de status uma entidade teve
      */
@@ -114,6 +124,30 @@ public interface StatusHistoryRepository extends JpaRepository<StatusHistory, UU
             @Param("endDate") LocalDateTime endDate,
             Pageable pageable);
 
+    /**
+     * Mesmos filtros de findWithFilters, lidos por cursor em vez de carregar todo o resultado.
+     * Deve ser consumido dentro de uma transação e fechado ao final (ver StatusHistoryStreamer)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT sh FROM StatusHistory sh LEFT JOIN FETCH sh.alteradoPor " +
+            "WHERE (:entityType IS NULL OR sh.entityType = :entityType) " +
+            "AND (:entityId IS NULL OR sh.entityId = :entityId) " +
+            "AND (:statusNovo IS NULL OR sh.statusNovo = :statusNovo) " +
+            "AND (:userId IS NULL OR sh.alteradoPor.id = :userId) " +
+            "AND (cast(:startDate as timestamp) IS NULL OR sh.dataAlteracao >= :startDate) " +
+            "AND (cast(:endDate as timestamp) IS NULL OR sh.dataAlteracao <= :endDate) " +
+            "ORDER BY sh.dataAlteracao DESC")
+    Stream<StatusHistory> streamWithFilters(
+            @Param("entityType") StatusHistory.EntityType entityType,
+            @Param("entityId") UUID entityId,
+            @Param("statusNovo") String statusNovo,
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
     /**
      * Busca estatísticas de mudanças por status
      */
@@ -122,4 +156,34 @@ public interface StatusHistoryRepository extends JpaRepository<StatusHistory, UU
             "GROUP BY sh.statusNovo " +
             "ORDER BY COUNT(sh) DESC")
     List<Object[]> getStatusChangeStatistics(@Param("entityType") StatusHistory.EntityType entityType);
-}
\ No newline at end of file
+
+    /**
+     * Contagem de mudanças por usuário, com os mesmos filtros de período/tipo/usuário de findWithFilters
+     */
+    @Query("SELECT u.fullName, COUNT(sh) FROM StatusHistory sh LEFT JOIN sh.alteradoPor u " +
+            "WHERE (:entityType IS NULL OR sh.entityType = :entityType) " +
+            "AND (:userId IS NULL OR u.id = :userId) " +
+            "AND (cast(:startDate as timestamp) IS NULL OR sh.dataAlteracao >= :startDate) " +
+            "AND (cast(:endDate as timestamp) IS NULL OR sh.dataAlteracao <= :endDate) " +
+            "GROUP BY u.fullName")
+    List<Object[]> countByAlteradoPorWithFilters(
+            @Param("entityType") StatusHistory.EntityType entityType,
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Contagem de mudanças por status novo, com os mesmos filtros de período/tipo/usuário de findWithFilters
+     */
+    @Query("SELECT sh.statusNovo, COUNT(sh) FROM StatusHistory sh " +
+            "WHERE (:entityType IS NULL OR sh.entityType = :entityType) " +
+            "AND (:userId IS NULL OR sh.alteradoPor.id = :userId) " +
+            "AND (cast(:startDate as timestamp) IS NULL OR sh.dataAlteracao >= :startDate) " +
+            "AND (cast(:endDate as timestamp) IS NULL OR sh.dataAlteracao <= :endDate) " +
+            "GROUP BY sh.statusNovo")
+    List<Object[]> countByStatusNovoWithFilters(
+            @Param("entityType") StatusHistory.EntityType entityType,
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+}
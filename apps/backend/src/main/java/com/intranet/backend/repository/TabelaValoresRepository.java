@@ -24,6 +24,9 @@ public interface TabelaValoresRepository extends JpaRepository<TabelaValores, UU
             countQuery = "SELECT COUNT(t) FROM TabelaValores t")
     Page<TabelaValores> findAllWithConvenioAndCreatedBy(Pageable pageable);
 
+    @Query("SELECT t FROM TabelaValores t JOIN FETCH t.convenio JOIN FETCH t.createdBy ORDER BY t.nome ASC")
+    List<TabelaValores> findAllWithConvenioAndCreatedByOrderByNomeAsc();
+
     @Query("SELECT COUNT(t) FROM TabelaValores t WHERE t.convenio.id = :convenioId")
     long countByConvenioId(@Param("convenioId") UUID convenioId);
 
@@ -22,6 +22,8 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     boolean existsByGithubId(String githubId);
 
+    List<User> findByActiveTrue();
+
     @Query("SELECT r.name FROM Role r JOIN UserRole ur ON r.id = ur.role.id WHERE ur.user.id = :userId")
     List<String> findRoleNamesByUserId(UUID userId);
 
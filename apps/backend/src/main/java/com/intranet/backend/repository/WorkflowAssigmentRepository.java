@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,6 +17,10 @@ public interface WorkflowAssigmentRepository extends JpaRepository<WorkflowAssig
 
     List<WorkflowAssignment> findByWorkflowIdOrderByStepNumber(UUID workflowId);
 
+    @Query("SELECT wa FROM WorkflowAssignment wa JOIN FETCH wa.assignedTo " +
+            "WHERE wa.workflow.id = :workflowId ORDER BY wa.stepNumber")
+    List<WorkflowAssignment> findByWorkflowIdWithAssigneeOrderByStepNumber(@Param("workflowId") UUID workflowId);
+
     List<WorkflowAssignment> findByAssignedToIdAndStatus(UUID assignedToId, String status);
 
     @Query("SELECT wa FROM WorkflowAssignment wa WHERE wa.workflow.id = :workflowId AND wa.stepNumber = :stepNumber")
@@ -25,4 +31,30 @@ public interface WorkflowAssigmentRepository extends JpaRepository<WorkflowAssig
 
     @Query("SELECT wa FROM WorkflowAssignment wa WHERE wa.workflow.id = :workflowId AND wa.workflow.currentStep = wa.stepNumber")
     Optional<WorkflowAssignment> findCurrentAssignment(@Param("workflowId") UUID workflowId);
+
+    @Query("SELECT wa FROM WorkflowAssignment wa JOIN FETCH wa.assignedTo " +
+            "WHERE wa.workflow.id IN :workflowIds AND wa.stepNumber = wa.workflow.currentStep")
+    List<WorkflowAssignment> findCurrentAssignmentsByWorkflowIds(@Param("workflowIds") Collection<UUID> workflowIds);
+
+    // Retorna [workflowId, etapas concluídas]
+    @Query("SELECT wa.workflow.id, COUNT(wa) FROM WorkflowAssignment wa " +
+            "WHERE wa.workflow.id IN :workflowIds AND wa.status = 'completed' GROUP BY wa.workflow.id")
+    List<Object[]> countCompletedGroupedByWorkflowId(@Param("workflowIds") Collection<UUID> workflowIds);
+
+    // Retorna [assignedToId, ativas, pendentes, atrasadas] para cada usuário com atribuições em aberto
+    @Query("SELECT wa.assignedTo.id, " +
+            "SUM(CASE WHEN wa.status = 'in_progress' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN wa.status = 'pending' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN wa.status = 'in_progress' AND w.deadline < :date THEN 1 ELSE 0 END) " +
+            "FROM WorkflowAssignment wa JOIN wa.workflow w " +
+            "WHERE wa.status IN ('in_progress', 'pending') " +
+            "GROUP BY wa.assignedTo.id")
+    List<Object[]> countOpenAssignmentsGroupedByAssignee(@Param("date") LocalDateTime date);
+
+    @Query("SELECT wa FROM WorkflowAssignment wa " +
+            "JOIN FETCH wa.workflow w " +
+            "JOIN FETCH w.template " +
+            "JOIN FETCH wa.assignedTo " +
+            "WHERE wa.status = :status")
+    List<WorkflowAssignment> findByStatusWithWorkflowAndAssignee(@Param("status") String status);
 }
@@ -9,7 +9,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -22,9 +24,13 @@ public interface WorkflowNotificationRepository extends JpaRepository<WorkflowNo
     @Query("SELECT COUNT(wn) FROM WorkflowNotification wn WHERE wn.user.id = :userId AND wn.read = false")
     int countUnreadNotifications(@Param("userId") UUID userId);
 
+    // Retorna a quantidade de linhas alteradas (0 se a notificação já estava lida ou não existe)
     @Modifying
-    @Query("UPDATE WorkflowNotification wn SET wn.read = true WHERE wn.id = :id")
-    void markAsRead(@Param("id") UUID id);
+    @Query("UPDATE WorkflowNotification wn SET wn.read = true WHERE wn.id = :id AND wn.read = false")
+    int markAsRead(@Param("id") UUID id);
+
+    @Query("SELECT wn.user.id FROM WorkflowNotification wn WHERE wn.id = :id")
+    Optional<UUID> findUserIdById(@Param("id") UUID id);
 
     @Modifying
     @Query("UPDATE WorkflowNotification wn SET wn.read = true WHERE wn.user.id = :userId")
@@ -37,4 +43,28 @@ public interface WorkflowNotificationRepository extends JpaRepository<WorkflowNo
     );
 
     Page<WorkflowNotification> findByUserIdAndReadOrderByCreatedAtDesc(UUID userId, boolean read, Pageable pageable);
+
+    // --- Notificações de prazo (verificação agendada) ---
+    // Retornam [workflowId, title, deadline, userId] dos fluxos em andamento com prazo até :threshold
+    // cujo destinatário ainda não recebeu notificação de prazo desde :since
+
+    @Query("SELECT w.id, w.title, w.deadline, w.createdBy.id FROM Workflow w " +
+            "WHERE w.status = 'in_progress' AND w.deadline <= :threshold " +
+            "AND NOT EXISTS (SELECT 1 FROM WorkflowNotification wn WHERE wn.workflow = w " +
+            "AND wn.user = w.createdBy AND wn.type = 'deadline' AND wn.createdAt >= :since)")
+    List<Object[]> findPendingDeadlineNotificationsForCreators(
+            @Param("threshold") LocalDateTime threshold,
+            @Param("since") LocalDateTime since
+    );
+
+    @Query("SELECT w.id, w.title, w.deadline, wa.assignedTo.id FROM Workflow w " +
+            "JOIN WorkflowAssignment wa ON wa.workflow = w AND wa.stepNumber = w.currentStep " +
+            "WHERE w.status = 'in_progress' AND w.deadline <= :threshold " +
+            "AND wa.assignedTo <> w.createdBy " +
+            "AND NOT EXISTS (SELECT 1 FROM WorkflowNotification wn WHERE wn.workflow = w " +
+            "AND wn.user = wa.assignedTo AND wn.type = 'deadline' AND wn.createdAt >= :since)")
+    List<Object[]> findPendingDeadlineNotificationsForAssignees(
+            @Param("threshold") LocalDateTime threshold,
+            @Param("since") LocalDateTime since
+    );
 }
\ No newline at end of file
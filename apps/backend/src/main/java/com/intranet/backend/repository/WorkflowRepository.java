@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -74,6 +75,8 @@ public interface WorkflowRepository extends JpaRepository<Workflow, UUID> {
             @Param("status") String status,
             Pageable pageable);
 
+    // As buscas por título usam LOWER(w.title) LIKE '%termo%', atendido pelo índice
+    // trigram idx_workflows_title_trgm (V33). Manter a expressão LOWER(title) para que o índice seja usado.
     @Query("SELECT w FROM Workflow w WHERE " +
             "LOWER(w.title) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     Page<Workflow> findByTitleContaining(@Param("searchTerm") String searchTerm, Pageable pageable);
@@ -127,50 +130,22 @@ public interface WorkflowRepository extends JpaRepository<Workflow, UUID> {
             @Param("templateId") UUID templateId,
             @Param("searchTerm") String searchTerm);
 
-    @Query("SELECT w FROM Workflow w LEFT JOIN w.customStatus cs ORDER BY " +
-            "CASE " +
-            "WHEN w.customStatus IS NOT NULL THEN cs.orderIndex " +
-            "WHEN w.status = 'in_progress' THEN 1000 " +
-            "WHEN w.status = 'paused' THEN 2000 " +
-            "WHEN w.status = 'completed' THEN 3000 " +
-            "WHEN w.status = 'canceled' THEN 4000 " +
-            "WHEN w.status = 'archived' THEN 5000 " +
-            "ELSE 6000 END, w.title ASC")
+    @Query("SELECT w FROM Workflow w ORDER BY " +
+            "w.boardSortKey ASC, w.title ASC, w.id ASC")
     Page<Workflow> findAllGroupedByStatusAndCustomStatusOrderByTitle(Pageable pageable);
 
-    @Query("SELECT w FROM Workflow w LEFT JOIN w.customStatus cs WHERE w.template.id = :templateId ORDER BY " +
-            "CASE " +
-            "WHEN w.customStatus IS NOT NULL THEN cs.orderIndex " +
-            "WHEN w.status = 'in_progress' THEN 1000 " +
-            "WHEN w.status = 'paused' THEN 2000 " +
-            "WHEN w.status = 'completed' THEN 3000 " +
-            "WHEN w.status = 'canceled' THEN 4000 " +
-            "WHEN w.status = 'archived' THEN 5000 " +
-            "ELSE 6000 END, w.title ASC")
+    @Query("SELECT w FROM Workflow w WHERE w.template.id = :templateId ORDER BY " +
+            "w.boardSortKey ASC, w.title ASC, w.id ASC")
     Page<Workflow> findByTemplateIdGroupedByStatusAndCustomStatusOrderByTitle(@Param("templateId") UUID templateId, Pageable pageable);
 
-    @Query("SELECT w FROM Workflow w LEFT JOIN w.customStatus cs WHERE " +
+    @Query("SELECT w FROM Workflow w WHERE " +
             "LOWER(w.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ORDER BY " +
-            "CASE " +
-            "WHEN w.customStatus IS NOT NULL THEN cs.orderIndex " +
-            "WHEN w.status = 'in_progress' THEN 1000 " +
-            "WHEN w.status = 'paused' THEN 2000 " +
-            "WHEN w.status = 'completed' THEN 3000 " +
-            "WHEN w.status = 'canceled' THEN 4000 " +
-            "WHEN w.status = 'archived' THEN 5000 " +
-            "ELSE 6000 END, w.title ASC")
+            "w.boardSortKey ASC, w.title ASC, w.id ASC")
     Page<Workflow> findByTitleContainingGroupedByStatusAndCustomStatusOrderByTitle(@Param("searchTerm") String searchTerm, Pageable pageable);
 
-    @Query("SELECT w FROM Workflow w LEFT JOIN w.customStatus cs WHERE " +
+    @Query("SELECT w FROM Workflow w WHERE " +
             "LOWER(w.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) AND w.template.id = :templateId ORDER BY " +
-            "CASE " +
-            "WHEN w.customStatus IS NOT NULL THEN cs.orderIndex " +
-            "WHEN w.status = 'in_progress' THEN 1000 " +
-            "WHEN w.status = 'paused' THEN 2000 " +
-            "WHEN w.status = 'completed' THEN 3000 " +
-            "WHEN w.status = 'canceled' THEN 4000 " +
-            "WHEN w.status = 'archived' THEN 5000 " +
-            "ELSE 6000 END, w.title ASC")
+            "w.boardSortKey ASC, w.title ASC, w.id ASC")
     Page<Workflow> findByTitleContainingAndTemplateIdGroupedByStatusAndCustomStatusOrderByTitle(
             @Param("searchTerm") String searchTerm,
             @Param("templateId") UUID templateId,
@@ -191,4 +166,66 @@ public interface WorkflowRepository extends JpaRepository<Workflow, UUID> {
 
     @Query("SELECT COUNT(w) FROM Workflow w WHERE w.statusTemplate.id = :statusTemplateId AND w.createdBy.id = :userId AND w.deadline < :date AND w.status = 'in_progress'")
     int countOverdueWorkflowsByStatusTemplateIdAndCreatedById(@Param("statusTemplateId") UUID statusTemplateId, @Param("userId") UUID userId, @Param("date") LocalDateTime date);
-}
\ No newline at end of file
+
+    // --- Quadro agrupado por status com paginação por cursor (keyset) ---
+    // Retornam os fluxos posteriores ao cursor (boardSortKey, title, id) na ordem do quadro. São duas consultas,
+    // sem filtro opcional de template, para que cada uma use o seu índice (V34) também em planos genéricos:
+    // idx_workflows_board_order no quadro geral e idx_workflows_template_board_order no quadro de um template
+    @Query("SELECT w FROM Workflow w WHERE " +
+            "(:searchTerm IS NULL OR LOWER(w.title) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
+            "AND (w.boardSortKey, w.title, w.id) > (:sortKey, :title, :id) " +
+            "ORDER BY w.boardSortKey ASC, w.title ASC, w.id ASC")
+    List<Workflow> findBoardPageAfter(@Param("searchTerm") String searchTerm,
+                                      @Param("sortKey") int sortKey,
+                                      @Param("title") String title,
+                                      @Param("id") UUID id,
+                                      Pageable pageable);
+
+    @Query("SELECT w FROM Workflow w WHERE w.template.id = :templateId " +
+            "AND (:searchTerm IS NULL OR LOWER(w.title) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
+            "AND (w.boardSortKey, w.title, w.id) > (:sortKey, :title, :id) " +
+            "ORDER BY w.boardSortKey ASC, w.title ASC, w.id ASC")
+    List<Workflow> findBoardPageAfterByTemplate(@Param("templateId") UUID templateId,
+                                                @Param("searchTerm") String searchTerm,
+                                                @Param("sortKey") int sortKey,
+                                                @Param("title") String title,
+                                                @Param("id") UUID id,
+                                                Pageable pageable);
+
+    @Query("SELECT w FROM Workflow w JOIN FETCH w.createdBy WHERE w.id IN :workflowIds")
+    List<Workflow> findAllByIdInWithCreatedBy(@Param("workflowIds") Collection<UUID> workflowIds);
+
+    // --- Estatísticas agregadas em uma única passada ---
+    // Retorna [inProgress, paused, completed, canceled, archived, overdue]; filtros nulos são ignorados
+    @Query("SELECT " +
+            "SUM(CASE WHEN w.status = 'in_progress' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN w.status = 'paused' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN w.status = 'completed' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN w.status = 'canceled' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN w.status = 'archived' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN w.status = 'in_progress' AND w.deadline < :date THEN 1 ELSE 0 END) " +
+            "FROM Workflow w " +
+            "WHERE (:templateId IS NULL OR w.template.id = :templateId) " +
+            "AND (:statusTemplateId IS NULL OR w.statusTemplate.id = :statusTemplateId) " +
+            "AND (:userId IS NULL OR w.createdBy.id = :userId)")
+    List<Object[]> aggregateStatusCounts(@Param("templateId") UUID templateId,
+                                         @Param("statusTemplateId") UUID statusTemplateId,
+                                         @Param("userId") UUID userId,
+                                         @Param("date") LocalDateTime date);
+
+    // --- Projeção para listagens (WorkflowSummaryDto) ---
+    // Retorna [id, title, templateId, priority, status, deadline, teamName, createdByName, currentStep,
+    //          completedSteps, currentAssigneeId, currentAssigneeName, createdAt, updatedAt,
+    //          statusTemplateId, customStatusId]
+    // Nome e etapas do template e dados do status personalizado vêm do WorkflowTemplateMetadataCache
+    @Query("SELECT w.id, w.title, w.template.id, w.priority, w.status, w.deadline, tm.nome, cb.fullName, w.currentStep, " +
+            "(SELECT COUNT(a) FROM WorkflowAssignment a WHERE a.workflow = w AND a.status = 'completed'), " +
+            "u.id, u.fullName, w.createdAt, w.updatedAt, w.statusTemplate.id, w.customStatus.id " +
+            "FROM Workflow w " +
+            "JOIN w.createdBy cb " +
+            "LEFT JOIN w.team tm " +
+            "LEFT JOIN WorkflowAssignment ca ON ca.workflow = w AND ca.stepNumber = w.currentStep " +
+            "LEFT JOIN ca.assignedTo u " +
+            "WHERE w.id IN :workflowIds")
+    List<Object[]> findSummaryProjectionByIds(@Param("workflowIds") Collection<UUID> workflowIds);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,6 +16,8 @@ public interface WorkflowStatusItemRepository extends JpaRepository<WorkflowStat
 
     List<WorkflowStatusItem> findByTemplateIdOrderByOrderIndex(UUID templateId);
 
+    List<WorkflowStatusItem> findByTemplateIdIn(Collection<UUID> templateIds);
+
     @Query("SELECT s FROM WorkflowStatusItem s WHERE s.template.id = :templateId AND s.isInitial = true")
     Optional<WorkflowStatusItem> findInitialStatusByTemplateId(@Param("templateId") UUID templateId);
 }
\ No newline at end of file
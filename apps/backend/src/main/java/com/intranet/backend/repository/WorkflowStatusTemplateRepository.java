@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,6 +25,10 @@ public interface WorkflowStatusTemplateRepository extends JpaRepository<Workflow
             "WHERE ur.user.id = :userId AND p.name = 'workflow_status:manage')")
     List<WorkflowStatusTemplate> findAvailableTemplates(@Param("userId") UUID userId);
 
+    // Retorna [id, name]
+    @Query("SELECT t.id, t.name FROM WorkflowStatusTemplate t WHERE t.id IN :templateIds")
+    List<Object[]> findNamesByIds(@Param("templateIds") Collection<UUID> templateIds);
+
     @Query("SELECT COUNT(w) FROM Workflow w WHERE w.statusTemplate.id = :templateId")
     int countWorkflowsByTemplateId(@Param("templateId") UUID templateId);
 }
\ No newline at end of file
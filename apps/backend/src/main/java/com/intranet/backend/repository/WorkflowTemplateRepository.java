@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -25,6 +26,10 @@ public interface WorkflowTemplateRepository extends JpaRepository<WorkflowTempla
     @Query("SELECT t FROM WorkflowTemplate t WHERE t.visibility = 'public'")
     List<WorkflowTemplate> findPublicTemplates();
 
+    // Retorna [id, name]
+    @Query("SELECT t.id, t.name FROM WorkflowTemplate t WHERE t.id IN :templateIds")
+    List<Object[]> findNamesByIds(@Param("templateIds") Collection<UUID> templateIds);
+
     @Query("SELECT COUNT(w) FROM Workflow w WHERE w.template.id = :templateId")
     int countWorkflowsByTemplateId(@Param("templateId") UUID templateId);
 }
\ No newline at end of file
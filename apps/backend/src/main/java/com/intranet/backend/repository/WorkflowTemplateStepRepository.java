@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,9 +15,15 @@ public interface WorkflowTemplateStepRepository extends JpaRepository<WorkflowTe
 
     List<WorkflowTemplateStep> findByTemplateIdOrderByStepOrder(UUID templateId);
 
+    List<WorkflowTemplateStep> findByTemplateIdIn(Collection<UUID> templateIds);
+
     @Query("SELECT COUNT(s) FROM WorkflowTemplateStep s WHERE s.template.id = :templateId")
     int countStepsByTemplateId(@Param("templateId") UUID templateId);
 
+    // Retorna [templateId, quantidade de etapas]
+    @Query("SELECT s.template.id, COUNT(s) FROM WorkflowTemplateStep s WHERE s.template.id IN :templateIds GROUP BY s.template.id")
+    List<Object[]> countStepsGroupedByTemplateId(@Param("templateIds") Collection<UUID> templateIds);
+
     @Query("SELECT s.name FROM WorkflowTemplateStep s WHERE s.template.id = :templateId AND s.stepOrder = :stepOrder")
     String findStepNameByTemplateIdAndStepOrder(@Param("templateId") UUID templateId, @Param("stepOrder") int stepOrder);
 
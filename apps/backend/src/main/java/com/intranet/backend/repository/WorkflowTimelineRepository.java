@@ -0,0 +1,23 @@
+package com.intranet.backend.repository;
+
+import com.intranet.backend.model.WorkflowTimelineEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface WorkflowTimelineRepository extends JpaRepository<WorkflowTimelineEntry, UUID> {
+
+    List<WorkflowTimelineEntry> findByWorkflowIdOrderByCreatedAtDesc(UUID workflowId);
+
+    // Status anterior ao arquivamento mais recente do fluxo
+    @Query("SELECT e.fromStatus FROM WorkflowTimelineEntry e " +
+            "WHERE e.workflowId = :workflowId AND e.transitionType = 'status_change' AND e.toStatus = 'archived' " +
+            "ORDER BY e.createdAt DESC LIMIT 1")
+    Optional<String> findStatusBeforeLastArchive(@Param("workflowId") UUID workflowId);
+}
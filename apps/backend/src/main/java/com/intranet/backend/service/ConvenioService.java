@@ -19,6 +19,8 @@ public interface ConvenioService {
 
     void deleteConvenio(UUID id);
 
+    boolean existsConvenio(UUID id);
+
     List<PostagemSummaryDto> getPostagensByConvenioId(UUID convenioId);
 
     long countPostagensByConvenioId(UUID convenioId);
@@ -2,6 +2,7 @@ package com.intranet.backend.service;
 
 import com.intranet.backend.dto.EspecialidadeCreateRequest;
 import com.intranet.backend.dto.EspecialidadeDto;
+import com.intranet.backend.dto.ReferenceDataSnapshot;
 
 import java.util.List;
 import java.util.UUID;
@@ -9,6 +10,8 @@ import java.util.UUID;
 public interface EspecialidadeService {
     List<EspecialidadeDto> findAll();
     List<EspecialidadeDto> findAtivas();
+    ReferenceDataSnapshot<List<EspecialidadeDto>> findAllVersionadas();
+    ReferenceDataSnapshot<List<EspecialidadeDto>> findAtivasVersionadas();
     EspecialidadeDto findById(UUID id);
     EspecialidadeDto create(EspecialidadeCreateRequest request);
     EspecialidadeDto update(UUID id, EspecialidadeCreateRequest request);
@@ -3,6 +3,7 @@ package com.intranet.backend.service;
 import com.intranet.backend.dto.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -15,6 +16,11 @@ public interface RelatorioService {
      */
     RelatorioDto gerarRelatorio(RelatorioCreateRequest request);
 
+    /**
+     * Estima o tamanho do relatório e as principais distribuições via consultas agregadas, sem gerá-lo
+     */
+    Map<String, Object> previewRelatorio(RelatorioCreateRequest request);
+
     /**
      * Busca relatório por ID
      */
@@ -76,14 +82,19 @@ public interface RelatorioService {
     void excluirRelatorio(UUID relatorioId);
 
     /**
-     * Gera PDF do relatório
+     * Gera PDF do relatório, escrito em streaming na resposta
+     */
+    StreamingResponseBody gerarRelatorioPDF(UUID relatorioId);
+
+    /**
+     * Gera PDF do relatório via hash de compartilhamento, escrito em streaming na resposta
      */
-    byte[] gerarRelatorioPDF(UUID relatorioId);
+    StreamingResponseBody gerarRelatorioPDFByHash(String hash);
 
     /**
-     * Gera PDF do relatório via hash de compartilhamento
+     * Exporta as linhas do relatório em CSV ou XLSX, escritas em streaming na resposta
      */
-    byte[] gerarRelatorioPDFByHash(String hash);
+    StreamingResponseBody exportarRelatorio(UUID relatorioId, String formato);
 
     /**
      * Obtém estatísticas de relatórios do usuário
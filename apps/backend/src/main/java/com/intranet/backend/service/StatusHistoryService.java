@@ -5,6 +5,7 @@ import com.intranet.backend.model.StatusHistory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +39,12 @@ public interface StatusHistoryService {
 
     StatusHistoryDto getUltimoStatus(StatusHistory.EntityType entityType, UUID entityId);
 
+    Page<StatusHistorySummaryDto> getEntidadesParadasNoStatus(StatusHistory.EntityType entityType, String status,
+                                                              int dias, Pageable pageable);
+
+    List<StatusDurationStatsDto> getDuracaoPorStatus(StatusHistory.EntityType entityType, LocalDate inicio, LocalDate fim,
+                                                     String status, String statusSeguinte, UUID convenioId);
+
     long contarMudancasStatus(StatusHistory.EntityType entityType, UUID entityId);
 
     Map<String, Long> getEstatisticasMudancas(StatusHistory.EntityType entityType);
@@ -1,5 +1,6 @@
 package com.intranet.backend.service;
 
+import com.intranet.backend.dto.ReferenceDataSnapshot;
 import com.intranet.backend.dto.StatusCreateRequest;
 import com.intranet.backend.dto.StatusDto;
 import com.intranet.backend.dto.StatusUpdateRequest;
@@ -20,6 +21,8 @@ public interface StatusService {
 
     List<StatusDto> getAllStatusesAtivos();
 
+    ReferenceDataSnapshot<List<StatusDto>> getAllStatusesAtivosVersionados();
+
     List<StatusDto> getAllStatusesOrdenados();
 
     void deleteStatus(UUID id);
@@ -30,6 +33,8 @@ public interface StatusService {
 
     List<StatusDto> getStatusEnumValues();
 
+    ReferenceDataSnapshot<List<StatusDto>> getStatusEnumValuesVersionados();
+
     void initializeDefaultStatuses();
 
     long countStatusesAtivos();
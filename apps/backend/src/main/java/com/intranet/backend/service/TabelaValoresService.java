@@ -1,5 +1,6 @@
 package com.intranet.backend.service;
 
+import com.intranet.backend.dto.ReferenceDataSnapshot;
 import com.intranet.backend.dto.TabelaValoresCreateDto;
 import com.intranet.backend.dto.TabelaValoresDto;
 import org.springframework.data.domain.Page;
@@ -12,6 +13,8 @@ public interface TabelaValoresService {
 
     List<TabelaValoresDto> getTabelasByConvenioId(UUID convenioId);
 
+    ReferenceDataSnapshot<List<TabelaValoresDto>> getTabelasByConvenioIdVersionadas(UUID convenioId);
+
     Page<TabelaValoresDto> getAllTabelas(Pageable pageable);
 
     TabelaValoresDto getTabelaById(UUID id);
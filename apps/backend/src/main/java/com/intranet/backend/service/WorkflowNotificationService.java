@@ -37,6 +37,14 @@ public interface WorkflowNotificationService {
             String newStatus
     );
 
+    /**
+     * Cria em lote notificações de mudança de status (usado pelas transições em massa).
+     */
+    List<WorkflowNotificationDto> createStatusChangeNotifications(List<StatusChange> statusChanges);
+
+    record StatusChange(UUID workflowId, String workflowTitle, UUID userId, String oldStatus, String newStatus) {
+    }
+
     Page<WorkflowNotificationDto> getUserNotifications(UUID userId, Pageable pageable);
 
     List<WorkflowNotificationDto> getUnreadNotifications(UUID userId);
@@ -34,6 +34,11 @@ public interface WorkflowService {
 
     WorkflowDto advanceToNextStep(UUID workflowId, UUID assignToId, String comments);
 
+    /**
+     * Aplica a mesma mudança de status a vários fluxos em uma única transação.
+     */
+    WorkflowBulkResultDto bulkUpdateWorkflowStatus(List<UUID> workflowIds, String newStatus, String comments);
+
     WorkflowDto updateWorkflowStatus(UUID workflowId, String newStatus, String comments);
 
     // Método para atualizar o status personalizado de um fluxo
@@ -98,4 +103,10 @@ public interface WorkflowService {
     Page<WorkflowSummaryDto> searchWorkflowsGroupedByStatus(String searchTerm, Pageable pageable);
 
     Page<WorkflowSummaryDto> searchWorkflowsByTemplateGroupedByStatus(String searchTerm, UUID templateId, Pageable pageable);
+
+    /**
+     * Página do quadro agrupado por status com paginação por cursor.
+     * O cursor é o nextCursor da página anterior (null para a primeira página).
+     */
+    WorkflowBoardPageDto getWorkflowBoardPage(UUID templateId, String searchTerm, String cursor, int size);
 }
\ No newline at end of file
@@ -18,7 +18,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -31,6 +34,7 @@ public class ConvenioServiceImpl implements ConvenioService {
     private final ConvenioRepository convenioRepository;
     private final PostagemRepository postagemRepository;
     private final ConvenioFichaPdfConfigRepository fichaPdfConfigRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
 
     @Override
     public List<ConvenioDto> getAllConvenios() {
@@ -81,6 +85,7 @@ public class ConvenioServiceImpl implements ConvenioService {
         convenio.setDescription(convenioCreateDto.getDescription());
 
         Convenio savedConvenio = convenioRepository.save(convenio);
+        referenceDataRegistry.invalidar(ReferenceDataRegistry.Conjunto.CONVENIOS);
         logger.info("Convênio criado com sucesso. ID: {}", savedConvenio.getId());
 
         return mapToDto(savedConvenio, 0);
@@ -104,6 +109,9 @@ public class ConvenioServiceImpl implements ConvenioService {
         convenio.setDescription(convenioCreateDto.getDescription());
 
         Convenio updatedConvenio = convenioRepository.save(convenio);
+        referenceDataRegistry.invalidar(ReferenceDataRegistry.Conjunto.CONVENIOS);
+        // As tabelas de valores em cache trazem o nome do convênio
+        referenceDataRegistry.invalidar(ReferenceDataRegistry.Conjunto.TABELAS_VALORES);
         logger.info("Convênio atualizado com sucesso. ID: {}", updatedConvenio.getId());
 
         long postagemCount = postagemRepository.countByConvenioId(id);
@@ -121,14 +129,22 @@ public class ConvenioServiceImpl implements ConvenioService {
 
         // As postagens e seus itens relacionados serão excluídos automaticamente devido à configuração CASCADE
         convenioRepository.deleteById(id);
+        referenceDataRegistry.invalidar(ReferenceDataRegistry.Conjunto.CONVENIOS);
+        referenceDataRegistry.invalidar(ReferenceDataRegistry.Conjunto.TABELAS_VALORES);
         logger.info("Convênio excluído com sucesso. ID: {}", id);
     }
 
+    @Override
+    public boolean existsConvenio(UUID id) {
+        // Convênios criados por outra instância ainda podem não estar no registro: na ausência, consulta o banco
+        return getNomesConvenios().containsKey(id) || convenioRepository.existsById(id);
+    }
+
     @Override
     public List<PostagemSummaryDto> getPostagensByConvenioId(UUID convenioId) {
         logger.info("Buscando postagens para o convênio com ID: {}", convenioId);
 
-        if (!convenioRepository.existsById(convenioId)) {
+        if (!existsConvenio(convenioId)) {
             throw new ResourceNotFoundException("Convênio não encontrado com ID: " + convenioId);
         }
 
@@ -154,13 +170,24 @@ public class ConvenioServiceImpl implements ConvenioService {
     public long countPostagensByConvenioId(UUID convenioId) {
         logger.info("Contando postagens para o convênio com ID: {}", convenioId);
 
-        if (!convenioRepository.existsById(convenioId)) {
+        if (!existsConvenio(convenioId)) {
             throw new ResourceNotFoundException("Convênio não encontrado com ID: " + convenioId);
         }
 
         return postagemRepository.countByConvenioId(convenioId);
     }
 
+    // Nomes dos convênios por ID, mantidos no registro de dados de referência
+    private Map<UUID, String> getNomesConvenios() {
+        return referenceDataRegistry.obter(ReferenceDataRegistry.Conjunto.CONVENIOS, () -> {
+            Map<UUID, String> nomes = new LinkedHashMap<>();
+            for (Object[] row : convenioRepository.findIdsAndNamesOrderedByName()) {
+                nomes.put((UUID) row[0], (String) row[1]);
+            }
+            return Collections.unmodifiableMap(nomes);
+        }).dados();
+    }
+
     // Método auxiliar para mapear entidade para DTO
     private ConvenioDto mapToDto(Convenio convenio, long postagemCount) {
         ConvenioDto dto = new ConvenioDto();
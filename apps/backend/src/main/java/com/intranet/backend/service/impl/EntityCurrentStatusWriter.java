@@ -0,0 +1,83 @@
+package com.intranet.backend.service.impl;
+
+import com.intranet.backend.model.StatusHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Manutenção do status atual de guias e fichas (entity_current_status).
+ * Deve ser chamado na mesma transação da gravação do histórico; um registro só substitui o atual se não for
+ * mais antigo que ele, de modo que gravações fora de ordem não voltam o status de uma entidade.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCurrentStatusWriter {
+
+    private static final String SQL_ATUALIZAR =
+            "INSERT INTO entity_current_status (entity_type, entity_id, status, status_anterior, history_id, " +
+            "alterado_por, data_alteracao) VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (entity_type, entity_id) DO UPDATE SET " +
+            "status = EXCLUDED.status, status_anterior = EXCLUDED.status_anterior, " +
+            "history_id = EXCLUDED.history_id, alterado_por = EXCLUDED.alterado_por, " +
+            "data_alteracao = EXCLUDED.data_alteracao " +
+            "WHERE entity_current_status.data_alteracao <= EXCLUDED.data_alteracao";
+
+    private static final String SQL_REMOVER =
+            "DELETE FROM entity_current_status WHERE entity_type = ? AND entity_id = ?";
+
+    private static final String SQL_RECALCULAR =
+            "INSERT INTO entity_current_status (entity_type, entity_id, status, status_anterior, history_id, " +
+            "alterado_por, data_alteracao) " +
+            "SELECT entity_type, entity_id, status_novo, status_anterior, id, alterado_por, data_alteracao " +
+            "FROM status_history WHERE entity_type = ? AND entity_id = ? " +
+            "ORDER BY data_alteracao DESC, created_at DESC LIMIT 1";
+
+    private static final int TAMANHO_LOTE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Registro de histórico recém-gravado.
+     */
+    public record Mudanca(UUID historyId, UUID entityId, String statusAnterior) {
+    }
+
+    /**
+     * Aplica ao status atual das entidades os registros de histórico gravados com o mesmo novo status,
+     * usuário e data de alteração.
+     */
+    public void atualizar(StatusHistory.EntityType entityType, List<Mudanca> mudancas, String statusNovo,
+                          UUID alteradoPorId, LocalDateTime dataAlteracao) {
+        Timestamp data = Timestamp.valueOf(dataAlteracao);
+
+        jdbcTemplate.batchUpdate(SQL_ATUALIZAR, mudancas, TAMANHO_LOTE, (ps, mudanca) -> {
+            ps.setString(1, entityType.name());
+            ps.setObject(2, mudanca.entityId());
+            ps.setString(3, statusNovo);
+            ps.setString(4, mudanca.statusAnterior());
+            ps.setObject(5, mudanca.historyId());
+            ps.setObject(6, alteradoPorId);
+            ps.setTimestamp(7, data);
+        });
+    }
+
+    public void atualizar(StatusHistory history) {
+        atualizar(history.getEntityType(),
+                List.of(new Mudanca(history.getId(), history.getEntityId(), history.getStatusAnterior())),
+                history.getStatusNovo(), history.getAlteradoPor().getId(), history.getDataAlteracao());
+    }
+
+    /**
+     * Recalcula o status atual da entidade a partir do histórico (usado após a exclusão de um registro).
+     */
+    public void recalcular(StatusHistory.EntityType entityType, UUID entityId) {
+        jdbcTemplate.update(SQL_REMOVER, entityType.name(), entityId);
+        jdbcTemplate.update(SQL_RECALCULAR, entityType.name(), entityId);
+    }
+}
@@ -2,6 +2,7 @@ package com.intranet.backend.service.impl;
 
 import com.intranet.backend.dto.EspecialidadeCreateRequest;
 import com.intranet.backend.dto.EspecialidadeDto;
+import com.intranet.backend.dto.ReferenceDataSnapshot;
 import com.intranet.backend.exception.ResourceNotFoundException;
 import com.intranet.backend.model.Especialidade;
 import com.intranet.backend.repository.EspecialidadeRepository;
@@ -12,27 +13,37 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class EspecialidadeServiceImpl implements EspecialidadeService {
     private final EspecialidadeRepository especialidadeRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
+
+    // Versão em cache das especialidades: todas e apenas as ativas, ordenadas por nome
+    private record Especialidades(List<EspecialidadeDto> todas, List<EspecialidadeDto> ativas) {
+    }
 
     @Override
-    @Transactional(readOnly = true)
     public List<EspecialidadeDto> findAll() {
-        return especialidadeRepository.findAllByOrderByNomeAsc().stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return findAllVersionadas().dados();
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<EspecialidadeDto> findAtivas() {
-        return especialidadeRepository.findAllByAtivoTrueOrderByNomeAsc().stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return findAtivasVersionadas().dados();
+    }
+
+    @Override
+    public ReferenceDataSnapshot<List<EspecialidadeDto>> findAllVersionadas() {
+        ReferenceDataSnapshot<Especialidades> especialidades = getEspecialidades();
+        return new ReferenceDataSnapshot<>(especialidades.dados().todas(), especialidades.etag());
+    }
+
+    @Override
+    public ReferenceDataSnapshot<List<EspecialidadeDto>> findAtivasVersionadas() {
+        ReferenceDataSnapshot<Especialidades> especialidades = getEspecialidades();
+        return new ReferenceDataSnapshot<>(especialidades.dados().ativas(), especialidades.etag());
     }
 
     @Override
@@ -55,7 +66,9 @@ public class EspecialidadeServiceImpl implements EspecialidadeService {
         especialidade.setDescricao(request.getDescricao());
         especialidade.setAtivo(true);
 
-        return toDto(especialidadeRepository.save(especialidade));
+        Especialidade saved = especialidadeRepository.save(especialidade);
+        referenceDataRegistry.invalidar(ReferenceDataRegistry.Conjunto.ESPECIALIDADES);
+        return toDto(saved);
     }
 
     @Override
@@ -77,7 +90,9 @@ public class EspecialidadeServiceImpl implements EspecialidadeService {
             especialidade.setAtivo(request.getAtivo());
         }
 
-        return toDto(especialidadeRepository.save(especialidade));
+        Especialidade saved = especialidadeRepository.save(especialidade);
+        referenceDataRegistry.invalidar(ReferenceDataRegistry.Conjunto.ESPECIALIDADES);
+        return toDto(saved);
     }
 
     @Override
@@ -88,6 +103,7 @@ public class EspecialidadeServiceImpl implements EspecialidadeService {
 
         especialidade.setAtivo(!especialidade.getAtivo());
         especialidadeRepository.save(especialidade);
+        referenceDataRegistry.invalidar(ReferenceDataRegistry.Conjunto.ESPECIALIDADES);
     }
 
     @Override
@@ -98,6 +114,19 @@ public class EspecialidadeServiceImpl implements EspecialidadeService {
         }
         // Aqui você pode adicionar validações extras, como verificar se existem médicos vinculados
         especialidadeRepository.deleteById(id);
+        referenceDataRegistry.invalidar(ReferenceDataRegistry.Conjunto.ESPECIALIDADES);
+    }
+
+    private ReferenceDataSnapshot<Especialidades> getEspecialidades() {
+        return referenceDataRegistry.obter(ReferenceDataRegistry.Conjunto.ESPECIALIDADES, () -> {
+            List<EspecialidadeDto> todas = especialidadeRepository.findAllByOrderByNomeAsc().stream()
+                    .map(this::toDto)
+                    .toList();
+            List<EspecialidadeDto> ativas = todas.stream()
+                    .filter(especialidade -> Boolean.TRUE.equals(especialidade.getAtivo()))
+                    .toList();
+            return new Especialidades(todas, ativas);
+        });
     }
 
     // Método auxiliar para converter Entity para DTO
@@ -47,6 +47,7 @@ public class FichaServiceImpl implements FichaService {
 
     // Event Publisher para desacoplar mudanças de status
     private final StatusEventPublisher statusEventPublisher;
+    private final StatusBulkUpdater statusBulkUpdater;
 
     @Override
     public Page<FichaSummaryDto> getAllFichas(Pageable pageable) {
@@ -105,18 +106,14 @@ public class FichaServiceImpl implements FichaService {
         logger.info("Ficha criada com sucesso. ID: {}", savedFicha.getId());
 
         // Publicar evento
-        try {
-            statusEventPublisher.publishFichaStatusChange(
-                    savedFicha.getId(),
-                    null,
-                    request.getStatus(),
-                    "Criação da ficha",
-                    "Status inicial definido na criação",
-                    currentUser.getId()
-            );
-        } catch (Exception e) {
-            logger.error("Erro ao publicar evento de status inicial: {}", e.getMessage(), e);
-        }
+        statusEventPublisher.publishFichaStatusChange(
+                savedFicha.getId(),
+                null,
+                request.getStatus(),
+                "Criação da ficha",
+                "Status inicial definido na criação",
+                currentUser.getId()
+        );
 
         return mapToFichaDto(savedFicha);
     }
@@ -151,18 +148,14 @@ public class FichaServiceImpl implements FichaService {
         Ficha saved = fichaRepository.save(ficha);
 
         // Publicar evento de mudança de status (criação)
-        try {
-            statusEventPublisher.publishFichaStatusChange(
-                    saved.getId(),
-                    null, // status anterior
-                    request.getStatus(),
-                    "Criação da ficha de assinatura",
-                    "Status inicial definido na criação",
-                    currentUser.getId()
-            );
-        } catch (Exception e) {
-            logger.error("Erro ao publicar evento de status inicial: {}", e.getMessage(), e);
-        }
+        statusEventPublisher.publishFichaStatusChange(
+                saved.getId(),
+                null, // status anterior
+                request.getStatus(),
+                "Criação da ficha de assinatura",
+                "Status inicial definido na criação",
+                currentUser.getId()
+        );
 
         return mapToFichaDto(saved);
     }
@@ -259,18 +252,14 @@ public class FichaServiceImpl implements FichaService {
         Ficha updatedFicha = fichaRepository.save(ficha);
 
         if (statusChanged) {
-            try {
-                statusEventPublisher.publishFichaStatusChange(
-                        id,
-                        statusAnterior,
-                        ficha.getStatus(),
-                        "Atualização via formulário de edição",
-                        "Status alterado durante edição da ficha",
-                        currentUser.getId()
-                );
-            } catch (Exception e) {
-                logger.error("Erro ao publicar evento de mudança de status: {}", e.getMessage(), e);
-            }
+            statusEventPublisher.publishFichaStatusChange(
+                    id,
+                    statusAnterior,
+                    ficha.getStatus(),
+                    "Atualização via formulário de edição",
+                    "Status alterado durante edição da ficha",
+                    currentUser.getId()
+            );
         }
 
         logger.info("Ficha atualizada com sucesso. ID: {}", updatedFicha.getId());
@@ -296,18 +285,14 @@ public class FichaServiceImpl implements FichaService {
         Ficha updatedFicha = fichaRepository.save(ficha);
 
         // Publicar evento de mudança de status
-        try {
-            statusEventPublisher.publishFichaStatusChange(
-                    id,
-                    statusAnterior,
-                    novoStatus,
-                    motivo,
-                    observacoes,
-                    currentUser.getId()
-            );
-        } catch (Exception e) {
-            logger.error("Erro ao publicar evento de mudança de status: {}", e.getMessage(), e);
-        }
+        statusEventPublisher.publishFichaStatusChange(
+                id,
+                statusAnterior,
+                novoStatus,
+                motivo,
+                observacoes,
+                currentUser.getId()
+        );
 
         logger.info("Ficha atualizada com sucesso. ID: {}", updatedFicha.getId());
         return mapToFichaDto(updatedFicha);
@@ -353,39 +338,25 @@ public class FichaServiceImpl implements FichaService {
             throw new IllegalArgumentException("Status inválido: " + novoStatus);
         }
 
-        // Busca todas as fichas de uma vez para melhor performance
-        List<Ficha> fichas = fichaRepository.findAllById(ids);
-
-        for (Ficha ficha : fichas) {
+        if (fichaRepository.existsByIdInAndTipoFicha(ids, Ficha.TipoFicha.COM_GUIA)) {
+            throw new IllegalArgumentException("Não é possível alterar o status de uma ficha vinculada a guia");
+        }
 
-            if (ficha.getTipoFicha() == Ficha.TipoFicha.COM_GUIA) {
-                throw new IllegalArgumentException("Não é possível alterar o status de uma ficha vinculada a guia");
-            }
+        // 1. Atualiza em blocos apenas as fichas cujo status muda, evitando duplicidade no histórico
+        Map<UUID, String> statusAnteriores = statusBulkUpdater.atualizarFichas(ids, novoStatus);
 
-            String statusAnterior = ficha.getStatus();
-
-            // Verifica se o status realmente mudou para evitar duplicidade no histórico
-            if (!statusAnterior.equals(novoStatus)) {
-                // 1. Atualiza a entidade Ficha
-                ficha.setStatus(novoStatus);
-                fichaRepository.save(ficha);
-
-                // 2. Publica o evento para registrar histórico e disparar efeitos colaterais
-                try {
-                    statusEventPublisher.publishFichaStatusChange(
-                            ficha.getId(),
-                            statusAnterior,
-                            novoStatus,
-                            motivo,
-                            observacoes,
-                            currentUser.getId()
-                    );
-                } catch (Exception e) {
-                    logger.error("Erro ao publicar evento de status para ficha {}: {}", ficha.getId(), e.getMessage());
-                }
-            }
+        // 2. Publica um único evento para registrar o histórico e disparar efeitos colaterais
+        if (!statusAnteriores.isEmpty()) {
+            statusEventPublisher.publishBulkStatusChange(
+                    StatusHistory.EntityType.FICHA,
+                    statusAnteriores,
+                    novoStatus,
+                    motivo,
+                    observacoes,
+                    currentUser.getId()
+            );
         }
-        logger.info("Atualização em massa de fichas concluída. Total: {}", ids.size());
+        logger.info("Atualização em massa de fichas concluída. Alteradas: {} de {}", statusAnteriores.size(), ids.size());
     }
 
     @Override
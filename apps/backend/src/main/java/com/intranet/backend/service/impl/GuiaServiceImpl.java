@@ -20,6 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -37,6 +38,7 @@ public class GuiaServiceImpl implements GuiaService {
     private final FichaRepository fichaRepository;
     private final StatusHistoryService statusHistoryService;
     private final StatusEventPublisher statusEventPublisher;
+    private final StatusBulkUpdater statusBulkUpdater;
 
     @Override
     public Page<GuiaSummaryDto> getAllGuias(Pageable pageable) {
@@ -101,18 +103,14 @@ public class GuiaServiceImpl implements GuiaService {
         Guia savedGuia = guiaRepository.save(guia);
         logger.info("Guia criada com sucesso. ID: {}", savedGuia.getId());
 
-        try {
-            statusEventPublisher.publishGuiaStatusChange(
-                    savedGuia.getId(),
-                    null,
-                    request.getStatus(),
-                    "Criação da guia",
-                    "Status inicial definido na criação",
-                    currentUser.getId()
-            );
-        } catch (Exception e) {
-            logger.error("Erro ao publicar evento de status inicial: {}", e.getMessage(), e);
-        }
+        statusEventPublisher.publishGuiaStatusChange(
+                savedGuia.getId(),
+                null,
+                request.getStatus(),
+                "Criação da guia",
+                "Status inicial definido na criação",
+                currentUser.getId()
+        );
 
         return mapToGuiaDto(savedGuia);
     }
@@ -174,18 +172,14 @@ public class GuiaServiceImpl implements GuiaService {
         guia.setStatus(novoStatus);
         Guia updatedGuia = guiaRepository.save(guia);
 
-        try {
-            statusEventPublisher.publishGuiaStatusChange(
-                    id,
-                    statusAnterior,
-                    novoStatus,
-                    motivo,
-                    observacoes,
-                    currentUser.getId()
-            );
-        } catch (Exception e) {
-            logger.error("Erro ao publicar evento de mudança de status: {}", e.getMessage(), e);
-        }
+        statusEventPublisher.publishGuiaStatusChange(
+                id,
+                statusAnterior,
+                novoStatus,
+                motivo,
+                observacoes,
+                currentUser.getId()
+        );
 
         return mapToGuiaDto(updatedGuia);
     }
@@ -273,34 +267,21 @@ public class GuiaServiceImpl implements GuiaService {
             throw new IllegalArgumentException("Status inválido: " + novoStatus);
         }
 
-        List<Guia> guias = guiaRepository.findAllById(ids);
-
-        if (guias.size() != ids.size()) {
-            logger.warn("Algumas guias não foram encontradas. Solicitado: {}, Encontrado: {}", ids.size(), guias.size());
-        }
+        // Atualiza em blocos apenas as guias cujo status muda, obtendo o status anterior de cada uma
+        Map<UUID, String> statusAnteriores = statusBulkUpdater.atualizarGuias(ids, novoStatus);
 
-        for (Guia guia : guias) {
-            String statusAnterior = guia.getStatus();
-
-            if (!statusAnterior.equals(novoStatus)) {
-                guia.setStatus(novoStatus);
-                guiaRepository.save(guia);
-
-                try {
-                    statusEventPublisher.publishGuiaStatusChange(
-                            guia.getId(),
-                            statusAnterior,
-                            novoStatus,
-                            motivo,
-                            observacoes,
-                            currentUser.getId()
-                    );
-                } catch (Exception e) {
-                    logger.error("Erro ao publicar evento de status para guia {}: {}", guia.getId(), e.getMessage());
-                }
-            }
+        if (!statusAnteriores.isEmpty()) {
+            // Um único evento para histórico e propagação às fichas
+            statusEventPublisher.publishBulkStatusChange(
+                    StatusHistory.EntityType.GUIA,
+                    statusAnteriores,
+                    novoStatus,
+                    motivo,
+                    observacoes,
+                    currentUser.getId()
+            );
         }
-        logger.info("Atualização em massa concluída com sucesso.");
+        logger.info("Atualização em massa concluída com sucesso. Guias alteradas: {} de {}", statusAnteriores.size(), ids.size());
     }
 
     @Override
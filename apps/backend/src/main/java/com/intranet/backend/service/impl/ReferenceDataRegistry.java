@@ -0,0 +1,137 @@
+package com.intranet.backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intranet.backend.dto.ReferenceDataSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Registro em memória dos dados de referência (status, especialidades, convênios e tabelas de valores).
+ * Cada conjunto é mantido como uma versão imutável, carregada sob demanda e substituída atomicamente; as escritas
+ * dos serviços correspondentes descartam a versão atual, e a próxima leitura carrega uma nova.
+ * O ETag de cada versão é derivado do conteúdo, de modo que todas as instâncias da aplicação geram o mesmo valor
+ * para os mesmos dados. Como o descarte é local, as versões também expiram após app.reference-data.ttl-seconds,
+ * limitando o tempo em que uma instância serve dados alterados por outra.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataRegistry.class);
+
+    public enum Conjunto {
+        STATUS,
+        STATUS_ENUM,
+        ESPECIALIDADES,
+        CONVENIOS,
+        TABELAS_VALORES
+    }
+
+    private record Versao(Object dados, String etag, long numero, long carregadaEm) {
+    }
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Conjunto, AtomicReference<Versao>> versoes = porConjunto(AtomicReference::new);
+    private final Map<Conjunto, AtomicLong> invalidacoes = porConjunto(AtomicLong::new);
+
+    @Value("${app.reference-data.ttl-seconds:300}")
+    private long ttlSegundos;
+
+    /**
+     * Retorna a versão atual do conjunto, carregando-a com o fornecedor informado se não houver versão válida.
+     * Os dados retornados são compartilhados entre requisições e não devem ser alterados.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ReferenceDataSnapshot<T> obter(Conjunto conjunto, Supplier<T> carregar) {
+        Versao versao = versaoValida(conjunto);
+        if (versao == null) {
+            synchronized (versoes.get(conjunto)) {
+                versao = versaoValida(conjunto);
+                if (versao == null) {
+                    versao = carregar(conjunto, carregar);
+                }
+            }
+        }
+        return new ReferenceDataSnapshot<>((T) versao.dados(), versao.etag());
+    }
+
+    /**
+     * Descarta a versão atual do conjunto. Dentro de uma transação, o descarte é repetido ao final dela
+     * (commit ou rollback), para que uma leitura concorrente ou da própria transação não mantenha dados
+     * anteriores à alteração ou não confirmados.
+     */
+    public void invalidar(Conjunto conjunto) {
+        descartar(conjunto);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    descartar(conjunto);
+                }
+            });
+        }
+    }
+
+    private Versao versaoValida(Conjunto conjunto) {
+        Versao versao = versoes.get(conjunto).get();
+        if (versao == null || versao.numero() != invalidacoes.get(conjunto).get()) {
+            return null;
+        }
+        if (System.currentTimeMillis() - versao.carregadaEm() > ttlSegundos * 1000) {
+            return null;
+        }
+        return versao;
+    }
+
+    private Versao carregar(Conjunto conjunto, Supplier<?> carregar) {
+        long numero = invalidacoes.get(conjunto).get();
+        Object dados = carregar.get();
+
+        Versao versao = new Versao(dados, calcularEtag(conjunto, dados, numero), numero, System.currentTimeMillis());
+        // Uma invalidação durante a carga torna a versão obsoleta: ela atende esta leitura, mas não é publicada
+        if (invalidacoes.get(conjunto).get() == numero) {
+            versoes.get(conjunto).set(versao);
+        }
+
+        logger.debug("Dados de referência {} carregados (ETag {})", conjunto, versao.etag());
+        return versao;
+    }
+
+    private void descartar(Conjunto conjunto) {
+        invalidacoes.get(conjunto).incrementAndGet();
+        versoes.get(conjunto).set(null);
+    }
+
+    private static <V> Map<Conjunto, V> porConjunto(Supplier<V> criar) {
+        Map<Conjunto, V> mapa = new EnumMap<>(Conjunto.class);
+        for (Conjunto conjunto : Conjunto.values()) {
+            mapa.put(conjunto, criar.get());
+        }
+        return mapa;
+    }
+
+    private String calcularEtag(Conjunto conjunto, Object dados, long numero) {
+        String prefixo = conjunto.name().toLowerCase();
+        try {
+            return "W/\"" + prefixo + "-" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(dados)) + "\"";
+        } catch (JsonProcessingException e) {
+            logger.warn("Não foi possível calcular o ETag dos dados de referência {}: {}", conjunto, e.getMessage());
+            return "W/\"" + prefixo + "-" + numero + "-" + System.currentTimeMillis() + "\"";
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.intranet.backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.intranet.backend.dto.RelatorioDataDto;
+import com.intranet.backend.dto.RelatorioItemDto;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Leitura em streaming do JSON armazenado em relatorios.dados_relatorio.
+ * O cabeçalho é lido sem materializar os itens e os itens são entregues um a um,
+ * de forma que exportações grandes não precisem manter a lista inteira em memória.
+ */
+@Component
+public class RelatorioDadosReader {
+
+    private static final String CAMPO_ITENS = "itens";
+
+    private final ObjectMapper objectMapper;
+
+    public RelatorioDadosReader() {
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+    }
+
+    /**
+     * Lê todos os campos do relatório, exceto a lista de itens.
+     * O jsonb não preserva a ordem das chaves, por isso os itens são apenas pulados aqui.
+     */
+    public RelatorioDataDto lerCabecalho(String dadosJson) throws IOException {
+        ObjectNode cabecalho = objectMapper.createObjectNode();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(dadosJson)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("Dados do relatório em formato inválido");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.currentName();
+                parser.nextToken();
+
+                if (CAMPO_ITENS.equals(campo)) {
+                    parser.skipChildren();
+                } else {
+                    cabecalho.set(campo, objectMapper.readTree(parser));
+                }
+            }
+        }
+
+        return objectMapper.treeToValue(cabecalho, RelatorioDataDto.class);
+    }
+
+    /**
+     * Percorre os itens do relatório na ordem armazenada, desserializando um item por vez.
+     *
+     * @return quantidade de itens entregues ao consumidor
+     */
+    public long percorrerItens(String dadosJson, Consumer<RelatorioItemDto> consumidor) throws IOException {
+        long total = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(dadosJson)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("Dados do relatório em formato inválido");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.currentName();
+                JsonToken valor = parser.nextToken();
+
+                if (!CAMPO_ITENS.equals(campo) || valor != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    consumidor.accept(objectMapper.readValue(parser, RelatorioItemDto.class));
+                    total++;
+                }
+                break;
+            }
+        }
+
+        return total;
+    }
+}
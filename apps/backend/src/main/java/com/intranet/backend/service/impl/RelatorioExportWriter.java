@@ -0,0 +1,212 @@
+package com.intranet.backend.service.impl;
+
+import com.intranet.backend.dto.RelatorioDataDto;
+import com.intranet.backend.dto.RelatorioItemDto;
+import com.intranet.backend.model.RelatorioTipo;
+import lombok.RequiredArgsConstructor;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Exporta as linhas de um relatório para CSV ou XLSX diretamente em um OutputStream.
+ * Os itens vêm um a um do {@link RelatorioDadosReader}; o CSV é escrito incrementalmente e o XLSX usa
+ * o SXSSF do Apache POI, que mantém apenas uma janela de linhas em memória.
+ */
+@Component
+@RequiredArgsConstructor
+public class RelatorioExportWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatorioExportWriter.class);
+
+    private static final int JANELA_LINHAS_XLSX = 100;
+    private static final char SEPARADOR_CSV = ';';
+    private static final DateTimeFormatter FORMATO_DATA_HORA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private record Coluna(String titulo, Function<RelatorioItemDto, Object> valor) {
+    }
+
+    private static final List<Coluna> COLUNAS_ESTADO_ATUAL = List.of(
+            new Coluna("Tipo", RelatorioItemDto::getTipoEntidade),
+            new Coluna("Paciente", RelatorioItemDto::getPacienteNome),
+            new Coluna("Convênio", RelatorioItemDto::getConvenioNome),
+            new Coluna("Nº Guia / Código Ficha", RelatorioExportWriter::getNumeroOuCodigo),
+            new Coluna("Status", RelatorioItemDto::getStatus),
+            new Coluna("Especialidade", RelatorioItemDto::getEspecialidade),
+            new Coluna("Unidade", RelatorioItemDto::getUnidade),
+            new Coluna("Mês", RelatorioItemDto::getMes),
+            new Coluna("Ano", RelatorioItemDto::getAno),
+            new Coluna("Qtd. Autorizada", RelatorioItemDto::getQuantidadeAutorizada),
+            new Coluna("Responsável", RelatorioItemDto::getUsuarioResponsavelNome),
+            new Coluna("Atualização", RelatorioItemDto::getDataAtualizacao)
+    );
+
+    private static final List<Coluna> COLUNAS_AUDITORIA = List.of(
+            new Coluna("Alterado Por", RelatorioItemDto::getUsuarioResponsavelNome),
+            new Coluna("Tipo", RelatorioItemDto::getTipoEntidade),
+            new Coluna("Paciente", RelatorioItemDto::getPacienteNome),
+            new Coluna("Nº Guia / Código Ficha", RelatorioExportWriter::getNumeroOuCodigo),
+            new Coluna("Status Anterior", RelatorioItemDto::getStatusAnterior),
+            new Coluna("Status Novo", RelatorioItemDto::getStatusNovo),
+            new Coluna("Data Mudança", RelatorioItemDto::getDataAtualizacao),
+            new Coluna("Motivo / Obs", RelatorioItemDto::getMotivoMudanca)
+    );
+
+    private final RelatorioDadosReader dadosReader;
+
+    /**
+     * Escreve o CSV (UTF-8 com BOM, separado por ponto e vírgula). O stream de saída não é fechado.
+     */
+    public void writeCsv(String dadosJson, OutputStream outputStream) throws IOException {
+        List<Coluna> colunas = resolverColunas(dadosJson);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write('\uFEFF');
+        writeCsvLinha(writer, colunas.stream().map(Coluna::titulo).toList());
+
+        long linhas = dadosReader.percorrerItens(dadosJson, item -> {
+            try {
+                writeCsvLinha(writer, colunas.stream().map(coluna -> coluna.valor().apply(item)).toList());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        writer.flush();
+        logger.info("CSV exportado com {} linhas", linhas);
+    }
+
+    /**
+     * Escreve a planilha XLSX em streaming. O stream de saída não é fechado.
+     */
+    public void writeXlsx(String dadosJson, OutputStream outputStream) throws IOException {
+        List<Coluna> colunas = resolverColunas(dadosJson);
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(JANELA_LINHAS_XLSX);
+        workbook.setCompressTempFiles(true);
+
+        try {
+            SXSSFSheet sheet = workbook.createSheet("Relatório");
+
+            Font fonteCabecalho = workbook.createFont();
+            fonteCabecalho.setBold(true);
+            CellStyle estiloCabecalho = workbook.createCellStyle();
+            estiloCabecalho.setFont(fonteCabecalho);
+
+            CellStyle estiloData = workbook.createCellStyle();
+            estiloData.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd/mm/yyyy hh:mm"));
+
+            Row cabecalho = sheet.createRow(0);
+            for (int i = 0; i < colunas.size(); i++) {
+                cabecalho.createCell(i).setCellValue(colunas.get(i).titulo());
+                cabecalho.getCell(i).setCellStyle(estiloCabecalho);
+            }
+            sheet.createFreezePane(0, 1);
+
+            int[] proximaLinha = {1};
+            long linhas = dadosReader.percorrerItens(dadosJson, item -> {
+                Row row = sheet.createRow(proximaLinha[0]++);
+                for (int i = 0; i < colunas.size(); i++) {
+                    Object valor = colunas.get(i).valor().apply(item);
+                    if (valor == null) {
+                        continue;
+                    }
+                    if (valor instanceof Number numero) {
+                        row.createCell(i).setCellValue(numero.doubleValue());
+                    } else if (valor instanceof LocalDateTime data) {
+                        row.createCell(i).setCellValue(data);
+                        row.getCell(i).setCellStyle(estiloData);
+                    } else {
+                        row.createCell(i).setCellValue(valor.toString());
+                    }
+                }
+            });
+
+            workbook.write(new SaidaSemFechamento(outputStream));
+            outputStream.flush();
+            logger.info("XLSX exportado com {} linhas", linhas);
+        } finally {
+            // Também remove os arquivos temporários do SXSSF
+            workbook.close();
+        }
+    }
+
+    private List<Coluna> resolverColunas(String dadosJson) throws IOException {
+        RelatorioDataDto cabecalho = dadosReader.lerCabecalho(dadosJson);
+
+        boolean isAuditoria = RelatorioTipo.HISTORICO_MUDANCAS.name().equals(cabecalho.getTipoRelatorio())
+                || (cabecalho.getTitulo() != null && cabecalho.getTitulo().toLowerCase().contains("auditoria"));
+
+        return isAuditoria ? COLUNAS_AUDITORIA : COLUNAS_ESTADO_ATUAL;
+    }
+
+    private void writeCsvLinha(Writer writer, List<?> valores) throws IOException {
+        for (int i = 0; i < valores.size(); i++) {
+            if (i > 0) {
+                writer.write(SEPARADOR_CSV);
+            }
+            writer.write(escaparCsv(valores.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    private String escaparCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+
+        String texto = valor instanceof LocalDateTime data ? data.format(FORMATO_DATA_HORA) : valor.toString();
+        if (texto.indexOf(SEPARADOR_CSV) >= 0 || texto.indexOf('"') >= 0
+                || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+            return '"' + texto.replace("\"", "\"\"") + '"';
+        }
+        return texto;
+    }
+
+    private static String getNumeroOuCodigo(RelatorioItemDto item) {
+        if ("GUIA".equals(item.getTipoEntidade())) {
+            return item.getNumeroGuia();
+        } else if ("FICHA".equals(item.getTipoEntidade())) {
+            return item.getCodigoFicha();
+        }
+        return null;
+    }
+
+    /**
+     * Impede que o SXSSFWorkbook feche o stream de saída, que pertence ao chamador.
+     */
+    private static final class SaidaSemFechamento extends FilterOutputStream {
+
+        SaidaSemFechamento(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
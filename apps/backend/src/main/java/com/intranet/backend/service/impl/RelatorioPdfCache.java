@@ -0,0 +1,111 @@
+package com.intranet.backend.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache em disco dos PDFs de relatórios concluídos.
+ * Um relatório CONCLUIDO é imutável, então o PDF é renderizado uma única vez (no primeiro download)
+ * e reaproveitado nos downloads seguintes. O arquivo é identificado pelo id do relatório e pela
+ * versão do renderizador, de forma que mudanças de layout invalidam o cache automaticamente.
+ */
+@Component
+@RequiredArgsConstructor
+public class RelatorioPdfCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatorioPdfCache.class);
+
+    private final RelatorioPdfRenderer relatorioPdfRenderer;
+
+    private final ConcurrentHashMap<UUID, Object> locks = new ConcurrentHashMap<>();
+
+    @Value("${app.relatorio-pdf.cache-path:/app/storage/relatorios-pdf}")
+    private String cachePath;
+
+    /**
+     * Indica se o PDF do relatório já está no cache, para que o chamador carregue os dados só quando necessário.
+     */
+    public boolean contem(UUID relatorioId) {
+        return Files.exists(getArquivo(relatorioId));
+    }
+
+    /**
+     * Copia o PDF do relatório para o stream, renderizando e armazenando no cache se ainda não existir.
+     * Os dados do relatório só são obtidos do fornecedor quando o PDF precisa ser renderizado.
+     */
+    public void escrever(UUID relatorioId, Supplier<String> dadosJson, OutputStream outputStream) throws IOException {
+        Path arquivo = obterOuGerar(relatorioId, dadosJson);
+        Files.copy(arquivo, outputStream);
+    }
+
+    /**
+     * Remove os PDFs armazenados do relatório (todas as versões do renderizador).
+     */
+    public void invalidar(UUID relatorioId) {
+        Path diretorio = Paths.get(cachePath);
+        if (!Files.isDirectory(diretorio)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, "relatorio-" + relatorioId + "-v*.pdf")) {
+            for (Path arquivo : arquivos) {
+                Files.deleteIfExists(arquivo);
+                logger.info("PDF em cache removido: {}", arquivo.getFileName());
+            }
+        } catch (IOException e) {
+            logger.warn("Erro ao invalidar cache de PDF do relatório {}: {}", relatorioId, e.getMessage());
+        }
+    }
+
+    private Path obterOuGerar(UUID relatorioId, Supplier<String> dadosJson) throws IOException {
+        Path arquivo = getArquivo(relatorioId);
+        if (Files.exists(arquivo)) {
+            logger.debug("PDF do relatório {} servido do cache", relatorioId);
+            return arquivo;
+        }
+
+        // Evita que downloads simultâneos do mesmo relatório renderizem o PDF mais de uma vez
+        synchronized (locks.computeIfAbsent(relatorioId, id -> new Object())) {
+            try {
+                if (Files.exists(arquivo)) {
+                    return arquivo;
+                }
+
+                Files.createDirectories(arquivo.getParent());
+                Path temporario = Files.createTempFile(arquivo.getParent(), "relatorio-" + relatorioId, ".tmp");
+
+                try {
+                    try (OutputStream outputStream = Files.newOutputStream(temporario)) {
+                        relatorioPdfRenderer.render(dadosJson.get(), outputStream);
+                    }
+                    Files.move(temporario, arquivo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } finally {
+                    Files.deleteIfExists(temporario);
+                }
+
+                logger.info("PDF do relatório {} armazenado em cache: {}", relatorioId, arquivo);
+                return arquivo;
+            } finally {
+                locks.remove(relatorioId);
+            }
+        }
+    }
+
+    private Path getArquivo(UUID relatorioId) {
+        return Paths.get(cachePath, "relatorio-" + relatorioId + "-v" + RelatorioPdfRenderer.VERSAO + ".pdf");
+    }
+}
@@ -0,0 +1,250 @@
+package com.intranet.backend.service.impl;
+
+import com.intranet.backend.dto.RelatorioDataDto;
+import com.intranet.backend.dto.RelatorioItemDto;
+import com.intranet.backend.model.RelatorioTipo;
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Renderiza o PDF de um relatório diretamente em um OutputStream.
+ * Usa o modo "large table" do iText: as linhas já desenhadas são descarregadas a cada
+ * {@link #LINHAS_POR_FLUSH} itens, mantendo a memória constante independentemente do tamanho do relatório.
+ */
+@Component
+@RequiredArgsConstructor
+public class RelatorioPdfRenderer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatorioPdfRenderer.class);
+
+    /**
+     * Versão do layout do PDF. Deve ser incrementada a cada mudança visual para invalidar o cache em disco.
+     */
+    public static final int VERSAO = 1;
+
+    private static final int LINHAS_POR_FLUSH = 200;
+
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yy");
+    private static final DateTimeFormatter FORMATO_DATA_HORA = DateTimeFormatter.ofPattern("dd/MM/yy HH:mm");
+    private static final DateTimeFormatter FORMATO_DIA_HORA = DateTimeFormatter.ofPattern("dd/MM HH:mm");
+
+    private final RelatorioDadosReader dadosReader;
+
+    /**
+     * Escreve o PDF do relatório a partir do JSON armazenado. O stream de saída não é fechado.
+     */
+    public void render(String dadosJson, OutputStream outputStream) throws IOException {
+        RelatorioDataDto dados = dadosReader.lerCabecalho(dadosJson);
+        logger.info("Gerando PDF para relatório: {} - Tipo: {}", dados.getTitulo(), dados.getTipoRelatorio());
+
+        PdfWriter writer = new PdfWriter(outputStream);
+        writer.setCloseStream(false);
+        PdfDocument pdf = new PdfDocument(writer);
+
+        // A4 Paisagem
+        Document document = new Document(pdf, PageSize.A4.rotate());
+        document.setMargins(15, 15, 15, 15);
+
+        try {
+            // 1. Título e Cabeçalho
+            document.add(new Paragraph(dados.getTitulo())
+                    .setFontSize(14)
+                    .setBold()
+                    .setMarginBottom(10));
+
+            String infoGeral = String.format(
+                    "Gerador: %s | Período: %s a %s | Total: %d registros | Gerado em: %s",
+                    dados.getUsuarioGerador(),
+                    dados.getPeriodoInicio().format(FORMATO_DATA),
+                    dados.getPeriodoFim().format(FORMATO_DATA),
+                    dados.getTotalRegistros(),
+                    dados.getDataGeracao().format(FORMATO_DATA_HORA)
+            );
+
+            document.add(new Paragraph(infoGeral).setFontSize(8).setMarginBottom(10));
+
+            // 2. Tabela de Dados (Decisão baseada no Tipo)
+            if (dados.getTotalRegistros() == null || dados.getTotalRegistros() == 0) {
+                document.add(new Paragraph("Nenhum dado encontrado para os filtros selecionados.").setItalic());
+                return;
+            }
+
+            boolean isAuditoria = RelatorioTipo.HISTORICO_MUDANCAS.name().equals(dados.getTipoRelatorio())
+                    || (dados.getTitulo() != null && dados.getTitulo().toLowerCase().contains("auditoria"));
+
+            Table table = isAuditoria ? criarTabelaAuditoria() : criarTabelaEstadoAtual();
+            document.add(table);
+
+            long[] linhas = {0};
+            dadosReader.percorrerItens(dadosJson, item -> {
+                if (isAuditoria) {
+                    adicionarLinhaAuditoria(table, item);
+                } else {
+                    adicionarLinhaEstadoAtual(table, item);
+                }
+
+                if (++linhas[0] % LINHAS_POR_FLUSH == 0) {
+                    table.flush();
+                }
+            });
+            table.complete();
+
+            document.add(new Paragraph("Total de linhas exibidas: " + linhas[0])
+                    .setFontSize(7)
+                    .setItalic()
+                    .setMarginTop(5));
+
+            logger.info("PDF gerado com {} linhas", linhas[0]);
+        } finally {
+            document.close();
+        }
+    }
+
+    private Table criarTabelaAuditoria() {
+        Table table = new Table(UnitValue.createPercentArray(new float[]{
+                2.0f,  // Alterado Por (Quem mudou)
+                1.5f,  // Paciente
+                1.0f,  // Item (ID)
+                1.2f,  // De
+                1.2f,  // Para
+                1.5f,  // Data
+                1.6f   // Motivo
+        }), true);
+        table.setWidth(UnitValue.createPercentValue(100));
+
+        table.addHeaderCell(createCompactHeaderCell("Alterado Por"));
+        table.addHeaderCell(createCompactHeaderCell("Paciente"));
+        table.addHeaderCell(createCompactHeaderCell("Item / ID"));
+        table.addHeaderCell(createCompactHeaderCell("Status Anterior"));
+        table.addHeaderCell(createCompactHeaderCell("Status Novo"));
+        table.addHeaderCell(createCompactHeaderCell("Data Mudança"));
+        table.addHeaderCell(createCompactHeaderCell("Motivo / Obs"));
+        return table;
+    }
+
+    private Table criarTabelaEstadoAtual() {
+        Table table = new Table(UnitValue.createPercentArray(new float[]{
+                2.2f, 1.5f, 1.0f, 1.2f, 2.0f, 0.8f, 0.7f, 0.8f, 1.0f, 0.8f
+        }), true);
+        table.setWidth(UnitValue.createPercentValue(100));
+
+        table.addHeaderCell(createCompactHeaderCell("Paciente"));
+        table.addHeaderCell(createCompactHeaderCell("Convênio"));
+        table.addHeaderCell(createCompactHeaderCell("Nº/Código"));
+        table.addHeaderCell(createCompactHeaderCell("Status"));
+        table.addHeaderCell(createCompactHeaderCell("Especialidade"));
+        table.addHeaderCell(createCompactHeaderCell("Unidade"));
+        table.addHeaderCell(createCompactHeaderCell("Mês"));
+        table.addHeaderCell(createCompactHeaderCell("Qtd."));
+        table.addHeaderCell(createCompactHeaderCell("Atualização"));
+        table.addHeaderCell(createCompactHeaderCell("Tipo"));
+        return table;
+    }
+
+    private void adicionarLinhaAuditoria(Table table, RelatorioItemDto item) {
+        table.addCell(createCompactDataCell(truncateText(item.getUsuarioResponsavelNome(), 25)));
+        table.addCell(createCompactDataCell(truncateText(item.getPacienteNome(), 20)));
+
+        String idItem = "GUIA".equals(item.getTipoEntidade()) ? item.getNumeroGuia() : item.getCodigoFicha();
+        table.addCell(createCompactDataCell(idItem));
+
+        table.addCell(createCompactDataCell(item.getStatusAnterior()));
+        table.addCell(createCompactDataCell(item.getStatusNovo()));
+
+        String dataMudanca = item.getDataAtualizacao() != null ?
+                item.getDataAtualizacao().format(FORMATO_DATA_HORA) : "-";
+        table.addCell(createCompactDataCell(dataMudanca));
+
+        table.addCell(createCompactDataCell(truncateText(item.getMotivoMudanca(), 30)));
+    }
+
+    private void adicionarLinhaEstadoAtual(Table table, RelatorioItemDto item) {
+        table.addCell(createCompactDataCell(truncateText(item.getPacienteNome(), 25)));
+        table.addCell(createCompactDataCell(truncateText(item.getConvenioNome(), 18)));
+        table.addCell(createCompactDataCell(getNumeroOuCodigoPDF(item)));
+        table.addCell(createCompactDataCell(item.getStatus())); // Status atual
+        table.addCell(createCompactDataCell(item.getEspecialidade()));
+        table.addCell(createCompactDataCell(getUnidadeFormatadaPDF(item)));
+        table.addCell(createCompactDataCell(getMesFormatadoPDF(item)));
+        table.addCell(createCompactDataCell(getQuantidadeFormatadaPDF(item)));
+
+        String dataAtualizacao = item.getDataAtualizacao() != null ?
+                item.getDataAtualizacao().format(FORMATO_DIA_HORA) : "-";
+        table.addCell(createCompactDataCell(dataAtualizacao));
+
+        table.addCell(createCompactDataCell(item.getTipoEntidade()));
+    }
+
+    // Métodos auxiliares para formatação no PDF
+    private String getNumeroOuCodigoPDF(RelatorioItemDto item) {
+        if ("GUIA".equals(item.getTipoEntidade()) && item.getNumeroGuia() != null) {
+            return item.getNumeroGuia();
+        } else if ("FICHA".equals(item.getTipoEntidade()) && item.getCodigoFicha() != null) {
+            return item.getCodigoFicha();
+        }
+        return "-";
+    }
+
+    private String getMesFormatadoPDF(RelatorioItemDto item) {
+        if (item.getMes() != null && item.getAno() != null) {
+            return String.format("%02d/%d", item.getMes(), item.getAno());
+        }
+        return "-";
+    }
+
+    private String getQuantidadeFormatadaPDF(RelatorioItemDto item) {
+        if (item.getQuantidadeAutorizada() != null) {
+            return item.getQuantidadeAutorizada().toString();
+        }
+        return "-";
+    }
+
+    private String getUnidadeFormatadaPDF(RelatorioItemDto item) {
+        if (item.getUnidade() != null && !item.getUnidade().trim().isEmpty()) {
+            return item.getUnidade();
+        }
+        return "N/A";
+    }
+
+    private Cell createCompactHeaderCell(String content) {
+        return new Cell()
+                .add(new Paragraph(content))
+                .setBold()
+                .setFontSize(8)  // Fonte menor para cabeçalho
+                .setBackgroundColor(ColorConstants.LIGHT_GRAY)
+                .setTextAlignment(TextAlignment.CENTER)
+                .setPadding(3);  // Padding reduzido
+    }
+
+    private Cell createCompactDataCell(String content) {
+        String cellContent = content != null ? content : "-";
+        return new Cell()
+                .add(new Paragraph(cellContent))
+                .setFontSize(7)  // Fonte menor para dados
+                .setPadding(2)   // Padding reduzido
+                .setTextAlignment(TextAlignment.LEFT);
+    }
+
+    private String truncateText(String text, int maxLength) {
+        if (text == null || text.length() <= maxLength) {
+            return text;
+        }
+        return text.substring(0, maxLength - 3) + "...";
+    }
+}
@@ -8,10 +8,6 @@ import com.intranet.backend.exception.ResourceNotFoundException;
 import com.intranet.backend.model.*;
 import com.intranet.backend.repository.*;
 import com.intranet.backend.service.RelatorioService;
-import com.itextpdf.io.source.ByteArrayOutputStream;
-import com.itextpdf.kernel.geom.PageSize;
-import com.itextpdf.layout.element.Cell;
-import com.itextpdf.layout.properties.UnitValue;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -24,15 +20,12 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.element.Paragraph;
-import com.itextpdf.layout.element.Table;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -42,14 +35,20 @@ public class RelatorioServiceImpl implements RelatorioService {
 
     private static final Logger logger = LoggerFactory.getLogger(RelatorioServiceImpl.class);
 
+    private static final int TOP_DISTRIBUICAO_PREVIEW = 5;
+
     private final RelatorioRepository relatorioRepository;
     private final RelatorioCompartilhamentoRepository compartilhamentoRepository;
     private final RelatorioLogRepository logRepository;
     private final UserRepository userRepository;
     private final StatusHistoryRepository statusHistoryRepository;
+    private final StatusHistoryStreamer statusHistoryStreamer;
     private final GuiaRepository guiaRepository;
     private final FichaRepository fichaRepository;
     private final PacienteRepository pacienteRepository;
+    private final RelatorioPdfRenderer relatorioPdfRenderer;
+    private final RelatorioPdfCache relatorioPdfCache;
+    private final RelatorioExportWriter relatorioExportWriter;
 
     @Autowired
     private HttpServletRequest httpServletRequest;
@@ -62,25 +61,7 @@ public class RelatorioServiceImpl implements RelatorioService {
         User currentUser = getCurrentUser();
 
         // 1. Tratamento de permissões e definição do usuário alvo
-        UUID usuarioAlvo;
-
-        if (RelatorioTipo.RELATORIO_GERAL.equals(request.getTipoRelatorio())) {
-            // Apenas Admins/Supervisores podem gerar relatório geral (sem restrição de usuário)
-            if (!isUserAdminOrSupervisor(currentUser)) {
-                throw new IllegalArgumentException("Apenas administradores e supervisores podem gerar o Relatório Geral.");
-            }
-
-            usuarioAlvo = null;
-
-        } else {
-            // Lógica original para os outros tipos de relatório
-            usuarioAlvo = request.getUsuarioResponsavelId() != null ?
-                    request.getUsuarioResponsavelId() : currentUser.getId();
-
-            if (!usuarioAlvo.equals(currentUser.getId()) && !isUserAdminOrSupervisor(currentUser)) {
-                throw new IllegalArgumentException("Usuário não tem permissão para gerar relatórios de outros usuários");
-            }
-        }
+        UUID usuarioAlvo = resolverUsuarioAlvo(request, currentUser);
 
         // 2. Fallback para compatibilidade (se o front não enviar o tipo)
         if (request.getTipoRelatorio() == null) {
@@ -151,6 +132,57 @@ public class RelatorioServiceImpl implements RelatorioService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> previewRelatorio(RelatorioCreateRequest request) {
+        logger.info("Calculando preview do relatório: {} - Tipo: {}", request.getTitulo(), request.getTipoRelatorio());
+
+        long inicio = System.currentTimeMillis();
+        User currentUser = getCurrentUser();
+        UUID usuarioAlvo = resolverUsuarioAlvo(request, currentUser);
+
+        Map<String, Object> preview = new HashMap<>();
+        preview.put("periodoValido", request.getPeriodoInicio().isBefore(request.getPeriodoFim()));
+        preview.put("filtrosAplicados", request);
+
+        if (RelatorioTipo.HISTORICO_MUDANCAS.equals(request.getTipoRelatorio())) {
+            StatusHistory.EntityType entityType = null;
+            if ("GUIA".equalsIgnoreCase(request.getTipoEntidade())) {
+                entityType = StatusHistory.EntityType.GUIA;
+            } else if ("FICHA".equalsIgnoreCase(request.getTipoEntidade())) {
+                entityType = StatusHistory.EntityType.FICHA;
+            }
+
+            Map<String, Long> porUsuario = new HashMap<>();
+            for (Object[] row : statusHistoryRepository.countByAlteradoPorWithFilters(
+                    entityType, usuarioAlvo, request.getPeriodoInicio(), request.getPeriodoFim())) {
+                acumular(porUsuario, row[0] != null ? row[0] : "Sistema/Automático", ((Number) row[1]).longValue());
+            }
+
+            Map<String, Long> porStatus = new HashMap<>();
+            for (Object[] row : statusHistoryRepository.countByStatusNovoWithFilters(
+                    entityType, usuarioAlvo, request.getPeriodoInicio(), request.getPeriodoFim())) {
+                acumular(porStatus, row[0], ((Number) row[1]).longValue());
+            }
+
+            preview.put("estimativaRegistros", porUsuario.values().stream().mapToLong(Long::longValue).sum());
+            preview.put("topUsuarios", topDistribuicao(porUsuario));
+            preview.put("topStatus", topDistribuicao(porStatus));
+        } else {
+            RelatorioDataDto resumo = new RelatorioDataDto();
+            aplicarEstatisticasEstadoAtual(resumo, request, usuarioAlvo);
+
+            preview.put("estimativaRegistros", resumo.getTotalRegistros());
+            preview.put("topStatus", topDistribuicao(resumo.getDistribuicaoPorStatus()));
+            preview.put("topEspecialidades", topDistribuicao(resumo.getDistribuicaoPorEspecialidade()));
+            preview.put("topConvenios", topDistribuicao(resumo.getDistribuicaoPorConvenio()));
+            preview.put("distribuicaoPorUnidade", resumo.getDistribuicaoPorUnidade());
+        }
+
+        preview.put("tempoCalculoMs", System.currentTimeMillis() - inicio);
+        return preview;
+    }
+
     @Override
     public RelatorioDto getRelatorioById(UUID id) {
         logger.info("Buscando relatório por ID: {}", id);
@@ -325,215 +357,118 @@ public class RelatorioServiceImpl implements RelatorioService {
         }
 
         relatorioRepository.delete(relatorio);
+        relatorioPdfCache.invalidar(relatorioId);
         logger.info("Relatório excluído com sucesso: {}", relatorioId);
     }
 
     @Override
-    public byte[] gerarRelatorioPDF(UUID relatorioId) {
+    public StreamingResponseBody gerarRelatorioPDF(UUID relatorioId) {
         logger.info("Gerando PDF do relatório: {}", relatorioId);
 
-        RelatorioDataDto dados = getDadosRelatorio(relatorioId);
+        // dados_relatorio (jsonb) não é carregado aqui: com o PDF em cache ele não é necessário
+        Object[] resumo = relatorioRepository.findResumoDownloadById(relatorioId).stream().findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Relatório não encontrado"));
+
         User currentUser = getCurrentUser();
+        if (!resumo[1].equals(currentUser.getId()) && !isUserAdminOrSupervisor(currentUser)) {
+            throw new IllegalArgumentException("Usuário não tem permissão para acessar os dados deste relatório");
+        }
+
+        StreamingResponseBody pdf = escreverPDF(relatorioId, (Relatorio.StatusRelatorio) resumo[2]);
 
         // Registrar log de download
-        Relatorio relatorio = relatorioRepository.findById(relatorioId)
-                .orElseThrow(() -> new ResourceNotFoundException("Relatório não encontrado"));
-        registrarLog(RelatorioLog.download(relatorio, currentUser, getClientIpAddress()));
+        registrarLog(RelatorioLog.download(relatorioRepository.getReferenceById(relatorioId), currentUser,
+                getClientIpAddress()));
 
-        return generatePDF(dados);
+        return pdf;
     }
 
     @Override
-    public byte[] gerarRelatorioPDFByHash(String hash) {
-        logger.info("Gerando PDF do relatório por hash: {}", hash);
+    public StreamingResponseBody exportarRelatorio(UUID relatorioId, String formato) {
+        logger.info("Exportando relatório {} em formato {}", relatorioId, formato);
 
-        if (hash == null || hash.trim().isEmpty()) {
-            throw new IllegalArgumentException("Hash de compartilhamento é obrigatório");
+        String formatoNormalizado = formato != null ? formato.trim().toUpperCase() : "";
+        if (!"CSV".equals(formatoNormalizado) && !"XLSX".equals(formatoNormalizado)) {
+            throw new IllegalArgumentException("Formato de exportação não suportado: " + formato);
         }
 
-        try {
-            Relatorio relatorio = relatorioRepository.findByHashCompartilhamento(hash)
-                    .orElseThrow(() -> new ResourceNotFoundException("Relatório não encontrado"));
-
-            if (relatorio.getStatusRelatorio() != Relatorio.StatusRelatorio.CONCLUIDO) {
-                throw new IllegalStateException("Relatório ainda não foi processado");
-            }
+        Relatorio relatorio = relatorioRepository.findById(relatorioId)
+                .orElseThrow(() -> new ResourceNotFoundException("Relatório não encontrado"));
 
-            // Obter dados do relatório
-            RelatorioDataDto dados = convertFromJsonString(relatorio.getDadosRelatorio());
+        User currentUser = getCurrentUser();
+        if (!relatorio.getUsuarioGerador().getId().equals(currentUser.getId()) &&
+                !isUserAdminOrSupervisor(currentUser)) {
+            throw new IllegalArgumentException("Usuário não tem permissão para acessar os dados deste relatório");
+        }
 
-            // Registrar log de download
-            try {
-                User currentUser = getCurrentUser();
-                registrarLog(RelatorioLog.download(relatorio, currentUser, getClientIpAddress()));
-            } catch (Exception e) {
-                logger.warn("Erro ao registrar log: {}", e.getMessage());
-            }
+        String dadosJson = relatorio.getDadosRelatorio();
+        if (dadosJson == null || dadosJson.trim().isEmpty()) {
+            throw new IllegalStateException("Dados do relatório não encontrados");
+        }
 
-            // Gerar e retornar PDF
-            return generatePDF(dados);
+        registrarLog(RelatorioLog.exportado(relatorio, currentUser, formatoNormalizado, getClientIpAddress()));
 
-        } catch (Exception e) {
-            logger.error("Erro ao gerar PDF por hash {}: {}", hash, e.getMessage(), e);
-            throw new RuntimeException("Erro ao gerar PDF: " + e.getMessage(), e);
+        if ("CSV".equals(formatoNormalizado)) {
+            return outputStream -> relatorioExportWriter.writeCsv(dadosJson, outputStream);
         }
+        return outputStream -> relatorioExportWriter.writeXlsx(dadosJson, outputStream);
     }
 
-    private byte[] generatePDF(RelatorioDataDto dados) {
-        logger.info("Gerando PDF para relatório: {} - Tipo: {}", dados.getTitulo(), dados.getTipoRelatorio());
-
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdf = new PdfDocument(writer);
-
-            // A4 Paisagem
-            Document document = new Document(pdf, PageSize.A4.rotate());
-            document.setMargins(15, 15, 15, 15);
-
-            // 1. Título e Cabeçalho
-            document.add(new Paragraph(dados.getTitulo())
-                    .setFontSize(14)
-                    .setBold()
-                    .setMarginBottom(10));
-
-            String infoGeral = String.format(
-                    "Gerador: %s | Período: %s a %s | Total: %d registros | Gerado em: %s",
-                    dados.getUsuarioGerador(),
-                    dados.getPeriodoInicio().format(DateTimeFormatter.ofPattern("dd/MM/yy")),
-                    dados.getPeriodoFim().format(DateTimeFormatter.ofPattern("dd/MM/yy")),
-                    dados.getTotalRegistros(),
-                    dados.getDataGeracao().format(DateTimeFormatter.ofPattern("dd/MM/yy HH:mm"))
-            );
-
-            document.add(new Paragraph(infoGeral).setFontSize(8).setMarginBottom(10));
-
-            // 2. Tabela de Dados (Decisão baseada no Tipo)
-            if (dados.getItens() != null && !dados.getItens().isEmpty()) {
-
-                // Verificação Robusta usando o campo que gravamos no passo anterior
-                boolean isAuditoria = RelatorioTipo.HISTORICO_MUDANCAS.name().equals(dados.getTipoRelatorio())
-                        || (dados.getTitulo() != null && dados.getTitulo().toLowerCase().contains("auditoria"));
-
-                Table table;
-
-                if (isAuditoria) {
-                    // --- CONFIGURAÇÃO TABELA AUDITORIA ---
-                    table = new Table(UnitValue.createPercentArray(new float[]{
-                            2.0f,  // Alterado Por (Quem mudou)
-                            1.5f,  // Paciente
-                            1.0f,  // Item (ID)
-                            1.2f,  // De
-                            1.2f,  // Para
-                            1.5f,  // Data
-                            1.6f   // Motivo
-                    }));
-                    table.setWidth(UnitValue.createPercentValue(100));
-
-                    table.addHeaderCell(createCompactHeaderCell("Alterado Por"));
-                    table.addHeaderCell(createCompactHeaderCell("Paciente"));
-                    table.addHeaderCell(createCompactHeaderCell("Item / ID"));
-                    table.addHeaderCell(createCompactHeaderCell("Status Anterior"));
-                    table.addHeaderCell(createCompactHeaderCell("Status Novo"));
-                    table.addHeaderCell(createCompactHeaderCell("Data Mudança"));
-                    table.addHeaderCell(createCompactHeaderCell("Motivo / Obs"));
-
-                    dados.getItens().stream().limit(500).forEach(item -> {
-                        table.addCell(createCompactDataCell(truncateText(item.getUsuarioResponsavelNome(), 25)));
-                        table.addCell(createCompactDataCell(truncateText(item.getPacienteNome(), 20)));
-
-                        String idItem = "GUIA".equals(item.getTipoEntidade()) ? item.getNumeroGuia() : item.getCodigoFicha();
-                        table.addCell(createCompactDataCell(idItem));
-
-                        table.addCell(createCompactDataCell(item.getStatusAnterior()));
-                        table.addCell(createCompactDataCell(item.getStatusNovo()));
-
-                        String dataMudanca = item.getDataAtualizacao() != null ?
-                                item.getDataAtualizacao().format(DateTimeFormatter.ofPattern("dd/MM/yy HH:mm")) : "-";
-                        table.addCell(createCompactDataCell(dataMudanca));
-
-                        table.addCell(createCompactDataCell(truncateText(item.getMotivoMudanca(), 30)));
-                    });
+    @Override
+    public StreamingResponseBody gerarRelatorioPDFByHash(String hash) {
+        logger.info("Gerando PDF do relatório por hash: {}", hash);
 
-                } else {
-                    // --- CONFIGURAÇÃO TABELA PADRÃO (ESTADO ATUAL) ---
-                    table = new Table(UnitValue.createPercentArray(new float[]{
-                            2.2f, 1.5f, 1.0f, 1.2f, 2.0f, 0.8f, 0.7f, 0.8f, 1.0f, 0.8f
-                    }));
-                    table.setWidth(UnitValue.createPercentValue(100));
-
-                    table.addHeaderCell(createCompactHeaderCell("Paciente"));
-                    table.addHeaderCell(createCompactHeaderCell("Convênio"));
-                    table.addHeaderCell(createCompactHeaderCell("Nº/Código"));
-                    table.addHeaderCell(createCompactHeaderCell("Status"));
-                    table.addHeaderCell(createCompactHeaderCell("Especialidade"));
-                    table.addHeaderCell(createCompactHeaderCell("Unidade"));
-                    table.addHeaderCell(createCompactHeaderCell("Mês"));
-                    table.addHeaderCell(createCompactHeaderCell("Qtd."));
-                    table.addHeaderCell(createCompactHeaderCell("Atualização"));
-                    table.addHeaderCell(createCompactHeaderCell("Tipo"));
-
-                    dados.getItens().stream().limit(500).forEach(item -> {
-                        table.addCell(createCompactDataCell(truncateText(item.getPacienteNome(), 25)));
-                        table.addCell(createCompactDataCell(truncateText(item.getConvenioNome(), 18)));
-                        table.addCell(createCompactDataCell(getNumeroOuCodigoPDF(item)));
-                        table.addCell(createCompactDataCell(item.getStatus())); // Status atual
-                        table.addCell(createCompactDataCell(item.getEspecialidade()));
-                        table.addCell(createCompactDataCell(getUnidadeFormatadaPDF(item)));
-                        table.addCell(createCompactDataCell(getMesFormatadoPDF(item)));
-                        table.addCell(createCompactDataCell(getQuantidadeFormatadaPDF(item)));
-
-                        String dataAtualizacao = item.getDataAtualizacao() != null ?
-                                item.getDataAtualizacao().format(DateTimeFormatter.ofPattern("dd/MM HH:mm")) : "-";
-                        table.addCell(createCompactDataCell(dataAtualizacao));
-
-                        table.addCell(createCompactDataCell(item.getTipoEntidade()));
-                    });
-                }
+        if (hash == null || hash.trim().isEmpty()) {
+            throw new IllegalArgumentException("Hash de compartilhamento é obrigatório");
+        }
 
-                document.add(table);
+        Object[] resumo = relatorioRepository.findResumoDownloadByHash(hash).stream().findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Relatório não encontrado"));
+        UUID relatorioId = (UUID) resumo[0];
 
-                if (dados.getItens().size() > 500) {
-                    document.add(new Paragraph("+ " + (dados.getItens().size() - 500) + " itens não exibidos (limite de página)")
-                            .setFontSize(7).setItalic());
-                }
-            } else {
-                document.add(new Paragraph("Nenhum dado encontrado para os filtros selecionados.").setItalic());
-            }
+        if (resumo[2] != Relatorio.StatusRelatorio.CONCLUIDO) {
+            throw new IllegalStateException("Relatório ainda não foi processado");
+        }
 
-            document.close();
-            return baos.toByteArray();
+        StreamingResponseBody pdf = escreverPDF(relatorioId, Relatorio.StatusRelatorio.CONCLUIDO);
 
+        // Registrar log de download
+        try {
+            User currentUser = getCurrentUser();
+            registrarLog(RelatorioLog.download(relatorioRepository.getReferenceById(relatorioId), currentUser,
+                    getClientIpAddress()));
         } catch (Exception e) {
-            logger.error("Erro ao gerar PDF: {}", e.getMessage(), e);
-            throw new RuntimeException("Erro ao gerar PDF", e);
+            logger.warn("Erro ao registrar log: {}", e.getMessage());
         }
-    }
 
+        return pdf;
+    }
 
-    private List<GraficoTimelineDto> generateTimelineDataEstadoAtual(List<RelatorioItemDto> itens,
-                                                                     LocalDateTime periodoInicio,
-                                                                     LocalDateTime periodoFim) {
-        if (itens == null || itens.isEmpty()) {
-            return new ArrayList<>();
+    /**
+     * Relatórios concluídos são imutáveis: o PDF é servido do cache em disco (gerado no primeiro download),
+     * e os dados do relatório só são lidos do banco quando o PDF ainda não está em cache.
+     * Os demais são renderizados diretamente na resposta.
+     */
+    private StreamingResponseBody escreverPDF(UUID relatorioId, Relatorio.StatusRelatorio status) {
+        if (status == Relatorio.StatusRelatorio.CONCLUIDO && relatorioPdfCache.contem(relatorioId)) {
+            // Se o arquivo for removido antes da cópia, os dados são lidos durante a resposta
+            return outputStream -> relatorioPdfCache.escrever(relatorioId, () -> carregarDadosJson(relatorioId),
+                    outputStream);
         }
 
-        // Agrupa por data de atualização
-        Map<LocalDate, Long> timelineMap = itens.stream()
-                .filter(item -> item.getDataAtualizacao() != null)
-                .collect(Collectors.groupingBy(
-                        item -> item.getDataAtualizacao().toLocalDate(),
-                        Collectors.counting()
-                ));
+        String dadosJson = carregarDadosJson(relatorioId);
+        if (status == Relatorio.StatusRelatorio.CONCLUIDO) {
+            return outputStream -> relatorioPdfCache.escrever(relatorioId, () -> dadosJson, outputStream);
+        }
+        return outputStream -> relatorioPdfRenderer.render(dadosJson, outputStream);
+    }
 
-        return timelineMap.entrySet().stream()
-                .map(entry -> {
-                    GraficoTimelineDto dto = new GraficoTimelineDto();
-                    dto.setData(entry.getKey());
-                    dto.setQuantidade(entry.getValue());
-                    return dto;
-                })
-                .sorted(Comparator.comparing(GraficoTimelineDto::getData))
-                .collect(Collectors.toList());
+    private String carregarDadosJson(UUID relatorioId) {
+        String dadosJson = relatorioRepository.findDadosRelatorioById(relatorioId).orElse(null);
+        if (dadosJson == null || dadosJson.trim().isEmpty()) {
+            throw new IllegalStateException("Dados do relatório não encontrados");
+        }
+        return dadosJson;
     }
 
     @Override
@@ -620,6 +555,16 @@ public class RelatorioServiceImpl implements RelatorioService {
         relatorio.setStatusRelatorio(Relatorio.StatusRelatorio.PROCESSANDO);
         relatorio = relatorioRepository.save(relatorio);
 
+        // Os dados serão recalculados: o PDF armazenado deixa de ser válido. A invalidação é repetida após o
+        // commit para descartar um PDF que um download concorrente tenha gerado a partir dos dados antigos.
+        relatorioPdfCache.invalidar(relatorioId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                relatorioPdfCache.invalidar(relatorioId);
+            }
+        });
+
         try {
             RelatorioDataDto dadosRelatorio = processarDadosRelatorioEstadoAtual(request, relatorio.getUsuarioGerador().getId());
             relatorio.setTotalRegistros(dadosRelatorio.getTotalRegistros());
@@ -684,47 +629,23 @@ public class RelatorioServiceImpl implements RelatorioService {
         // buscar os IDs das guias dele primeiro e passar para o repository (findWithEntityIds),
         // mas assumindo a busca geral por período/tipo:
 
-        Page<StatusHistory> historicoPage = statusHistoryRepository.findWithFilters(
+        // 3. O histórico é lido por cursor em blocos (mais recente primeiro) e mapeado para o DTO do relatório;
+        // cada bloco é enriquecido com os dados das guias/fichas em uma consulta e desanexado em seguida.
+        // Limite de memória: só as entidades ficam restritas a um bloco. Os itens são acumulados, pois o
+        // RelatorioDataDto é gravado inteiro em dados_json, então a memória cresce com o número de mudanças no
+        // período (um RelatorioItemDto por registro de histórico)
+        List<RelatorioItemDto> itens = new ArrayList<>();
+        statusHistoryStreamer.percorrer(
                 entityType,
                 null, // entityId (null = todas as entidades desse tipo)
                 null, // statusNovo (null = todas as mudanças)
                 usuarioAlvo,
                 request.getPeriodoInicio(),
                 request.getPeriodoFim(),
-                Pageable.unpaged()
+                StatusHistoryStreamer.TAMANHO_BLOCO_PADRAO,
+                bloco -> itens.addAll(mapearBlocoAuditoria(bloco))
         );
 
-        List<StatusHistory> historico = historicoPage.getContent();
-
-        // 3. Mapeia para o DTO do relatório
-        List<RelatorioItemDto> itens = historico.stream()
-                .map(h -> {
-                    RelatorioItemDto item = new RelatorioItemDto();
-
-                    // Dados básicos da mudança
-                    item.setEntidadeId(h.getEntityId());
-                    item.setTipoEntidade(h.getEntityType().name());
-                    item.setStatusAnterior(h.getStatusAnterior());
-                    item.setStatusNovo(h.getStatusNovo());
-                    item.setDataAtualizacao(h.getDataAlteracao());
-                    item.setMotivoMudanca(h.getMotivo());
-
-                    // Quem realizou a alteração (Auditoria)
-                    if (h.getAlteradoPor() != null) {
-                        item.setUsuarioResponsavelNome(h.getAlteradoPor().getFullName());
-                    } else {
-                        item.setUsuarioResponsavelNome("Sistema/Automático");
-                    }
-
-                    // Enriquecer com dados da Guia/Ficha (Paciente, Código, etc)
-                    enrichItemWithEntityData(item, h.getEntityType(), h.getEntityId());
-
-                    return item;
-                })
-                // Ordenar por data (mais recente primeiro)
-                .sorted((a, b) -> b.getDataAtualizacao().compareTo(a.getDataAtualizacao()))
-                .collect(Collectors.toList());
-
         dados.setItens(itens);
         dados.setTotalRegistros(itens.size());
 
@@ -795,18 +716,12 @@ public class RelatorioServiceImpl implements RelatorioService {
             return dateB.compareTo(dateA);
         });
 
+        // Estatísticas e timeline calculadas no banco (GROUP BY), sem percorrer os itens novamente
+        aplicarEstatisticasEstadoAtual(dados, request, usuarioAlvo);
+
         dados.setItens(itens);
         dados.setTotalRegistros(itens.size());
 
-        // Calcular estatísticas baseadas no estado atual
-        dados.setDistribuicaoPorStatus(calculateStatusDistribution(itens));
-        dados.setDistribuicaoPorEspecialidade(calculateEspecialidadeDistribution(itens));
-        dados.setDistribuicaoPorConvenio(calculateConvenioDistribution(itens));
-        dados.setDistribuicaoPorUnidade(calculateUnidadeDistribution(itens));
-
-        // Timeline baseada em datas de criação/atualização
-        dados.setTimelineData(generateTimelineDataEstadoAtual(itens, request.getPeriodoInicio(), request.getPeriodoFim()));
-
         logger.info("Processamento concluído. Total de itens: {}", itens.size());
         return dados;
     }
@@ -885,40 +800,117 @@ public class RelatorioServiceImpl implements RelatorioService {
                 .collect(Collectors.toList());
     }
 
-    private Map<String, Long> calculateStatusDistribution(List<RelatorioItemDto> itens) {
-        return itens.stream()
-                .filter(item -> item.getStatusNovo() != null)
-                .collect(Collectors.groupingBy(
-                        RelatorioItemDto::getStatusNovo,
-                        Collectors.counting()
-                ));
+    /**
+     * Preenche total, distribuições e timeline do relatório de estado atual a partir de consultas agregadas,
+     * aplicando exatamente os mesmos filtros das consultas de itens.
+     */
+    private void aplicarEstatisticasEstadoAtual(RelatorioDataDto dados, RelatorioCreateRequest request, UUID usuarioAlvo) {
+        Map<String, Long> porStatus = new HashMap<>();
+        Map<String, Long> porEspecialidade = new HashMap<>();
+        Map<String, Long> porConvenio = new HashMap<>();
+        Map<String, Long> porUnidade = new HashMap<>();
+        Map<LocalDate, Long> porDia = new TreeMap<>();
+        long total = 0;
+
+        boolean porCompetencia = RelatorioTipo.RELATORIO_GERAL.equals(request.getTipoRelatorio());
+        Integer startPeriod = null;
+        Integer endPeriod = null;
+        if (porCompetencia) {
+            startPeriod = request.getPeriodoInicio().getYear() * 12 + request.getPeriodoInicio().getMonthValue();
+            endPeriod = request.getPeriodoFim().getYear() * 12 + request.getPeriodoFim().getMonthValue();
+        }
+
+        if (incluiTipoEntidade(request, "GUIA")) {
+            List<Object[]> grupos = porCompetencia
+                    ? guiaRepository.aggregateGuiasForRelatorioByPeriodo(usuarioAlvo, startPeriod, endPeriod,
+                    request.getStatus(), request.getEspecialidades(), request.getConvenioIds(), request.getUnidades())
+                    : guiaRepository.aggregateGuiasForRelatorio(usuarioAlvo, request.getPeriodoInicio(), request.getPeriodoFim(),
+                    request.getStatus(), request.getEspecialidades(), request.getConvenioIds(), request.getUnidades());
+
+            // [status, convenio, unidade, dia, quantidade]
+            for (Object[] row : grupos) {
+                long quantidade = ((Number) row[4]).longValue();
+                total += quantidade;
+                acumular(porStatus, row[0], quantidade);
+                acumular(porConvenio, row[1], quantidade);
+                acumular(porUnidade, row[2] != null ? row[2] : "N/A", quantidade);
+                acumularDia(porDia, row[3], quantidade);
+            }
+
+            List<Object[]> especialidades = porCompetencia
+                    ? guiaRepository.countGuiasPorEspecialidadeForRelatorioByPeriodo(usuarioAlvo, startPeriod, endPeriod,
+                    request.getStatus(), request.getEspecialidades(), request.getConvenioIds(), request.getUnidades())
+                    : guiaRepository.countGuiasPorEspecialidadeForRelatorio(usuarioAlvo, request.getPeriodoInicio(), request.getPeriodoFim(),
+                    request.getStatus(), request.getEspecialidades(), request.getConvenioIds(), request.getUnidades());
+
+            for (Object[] row : especialidades) {
+                acumular(porEspecialidade, row[0], ((Number) row[1]).longValue());
+            }
+        }
+
+        if (incluiTipoEntidade(request, "FICHA")) {
+            List<Object[]> grupos = porCompetencia
+                    ? fichaRepository.aggregateFichasForRelatorioByPeriodo(usuarioAlvo, startPeriod, endPeriod,
+                    request.getStatus(), request.getEspecialidades(), request.getConvenioIds(), request.getUnidades())
+                    : fichaRepository.aggregateFichasForRelatorio(usuarioAlvo, request.getPeriodoInicio(), request.getPeriodoFim(),
+                    request.getStatus(), request.getEspecialidades(), request.getConvenioIds(), request.getUnidades());
+
+            // [status, especialidade, convenio, unidade, dia, quantidade]
+            for (Object[] row : grupos) {
+                long quantidade = ((Number) row[5]).longValue();
+                total += quantidade;
+                acumular(porStatus, row[0], quantidade);
+                acumular(porEspecialidade, row[1], quantidade);
+                acumular(porConvenio, row[2], quantidade);
+                acumular(porUnidade, row[3] != null ? row[3] : "N/A", quantidade);
+                acumularDia(porDia, row[4], quantidade);
+            }
+        }
+
+        dados.setTotalRegistros((int) total);
+        dados.setDistribuicaoPorStatus(porStatus);
+        dados.setDistribuicaoPorEspecialidade(porEspecialidade);
+        dados.setDistribuicaoPorConvenio(porConvenio);
+        dados.setDistribuicaoPorUnidade(porUnidade);
+
+        dados.setTimelineData(porDia.entrySet().stream()
+                .map(entry -> {
+                    GraficoTimelineDto dto = new GraficoTimelineDto();
+                    dto.setData(entry.getKey());
+                    dto.setQuantidade(entry.getValue());
+                    return dto;
+                })
+                .collect(Collectors.toList()));
     }
 
-    private Map<String, Long> calculateEspecialidadeDistribution(List<RelatorioItemDto> itens) {
-        return itens.stream()
-                .filter(item -> item.getEspecialidade() != null)
-                .collect(Collectors.groupingBy(
-                        RelatorioItemDto::getEspecialidade,
-                        Collectors.counting()
-                ));
+    /**
+     * Retorna as maiores entradas da distribuição, em ordem decrescente
+     */
+    private Map<String, Long> topDistribuicao(Map<String, Long> distribuicao) {
+        return distribuicao.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(TOP_DISTRIBUICAO_PREVIEW)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
     }
 
-    private Map<String, Long> calculateConvenioDistribution(List<RelatorioItemDto> itens) {
-        return itens.stream()
-                .filter(item -> item.getConvenioNome() != null)
-                .collect(Collectors.groupingBy(
-                        RelatorioItemDto::getConvenioNome,
-                        Collectors.counting()
-                ));
+    private boolean incluiTipoEntidade(RelatorioCreateRequest request, String tipo) {
+        return request.getTipoEntidade() == null ||
+                "TODOS".equals(request.getTipoEntidade()) ||
+                tipo.equals(request.getTipoEntidade());
     }
 
-    private Map<String, Long> calculateUnidadeDistribution(List<RelatorioItemDto> itens) {
-        return itens.stream()
-                .filter(item -> item.getUnidade() != null)
-                .collect(Collectors.groupingBy(
-                        RelatorioItemDto::getUnidade,
-                        Collectors.counting()
-                ));
+    private void acumular(Map<String, Long> distribuicao, Object chave, long quantidade) {
+        if (chave != null) {
+            distribuicao.merge(chave.toString(), quantidade, Long::sum);
+        }
+    }
+
+    private void acumularDia(Map<LocalDate, Long> timeline, Object dia, long quantidade) {
+        if (dia instanceof LocalDate data) {
+            timeline.merge(data, quantidade, Long::sum);
+        } else if (dia instanceof java.sql.Date data) {
+            timeline.merge(data.toLocalDate(), quantidade, Long::sum);
+        }
     }
 
     private String buildFiltrosJson(RelatorioCreateRequest request) {
@@ -943,6 +935,28 @@ public class RelatorioServiceImpl implements RelatorioService {
         }
     }
 
+    /**
+     * Define o usuário alvo do relatório validando as permissões do usuário atual.
+     * Retorna null para o Relatório Geral (sem restrição de usuário).
+     */
+    private UUID resolverUsuarioAlvo(RelatorioCreateRequest request, User currentUser) {
+        if (RelatorioTipo.RELATORIO_GERAL.equals(request.getTipoRelatorio())) {
+            // Apenas Admins/Supervisores podem gerar relatório geral (sem restrição de usuário)
+            if (!isUserAdminOrSupervisor(currentUser)) {
+                throw new IllegalArgumentException("Apenas administradores e supervisores podem gerar o Relatório Geral.");
+            }
+            return null;
+        }
+
+        UUID usuarioAlvo = request.getUsuarioResponsavelId() != null ?
+                request.getUsuarioResponsavelId() : currentUser.getId();
+
+        if (!usuarioAlvo.equals(currentUser.getId()) && !isUserAdminOrSupervisor(currentUser)) {
+            throw new IllegalArgumentException("Usuário não tem permissão para gerar relatórios de outros usuários");
+        }
+        return usuarioAlvo;
+    }
+
     private User getCurrentUser() {
         Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
@@ -995,63 +1009,6 @@ public class RelatorioServiceImpl implements RelatorioService {
         }
     }
 
-    // Métodos auxiliares para formatação no PDF
-    private String getNumeroOuCodigoPDF(RelatorioItemDto item) {
-        if ("GUIA".equals(item.getTipoEntidade()) && item.getNumeroGuia() != null) {
-            return item.getNumeroGuia();
-        } else if ("FICHA".equals(item.getTipoEntidade()) && item.getCodigoFicha() != null) {
-            return item.getCodigoFicha();
-        }
-        return "-";
-    }
-
-    private String getMesFormatadoPDF(RelatorioItemDto item) {
-        if (item.getMes() != null && item.getAno() != null) {
-            return String.format("%02d/%d", item.getMes(), item.getAno());
-        }
-        return "-";
-    }
-
-    private String getQuantidadeFormatadaPDF(RelatorioItemDto item) {
-        if (item.getQuantidadeAutorizada() != null) {
-            return item.getQuantidadeAutorizada().toString();
-        }
-        return "-";
-    }
-
-    private String getUnidadeFormatadaPDF(RelatorioItemDto item) {
-        if (item.getUnidade() != null && !item.getUnidade().trim().isEmpty()) {
-            return item.getUnidade();
-        }
-        return "N/A";
-    }
-
-    private Cell createCompactHeaderCell(String content) {
-        return new Cell()
-                .add(new Paragraph(content))
-                .setBold()
-                .setFontSize(8)  // Fonte menor para cabeçalho
-                .setBackgroundColor(com.itextpdf.kernel.colors.ColorConstants.LIGHT_GRAY)
-                .setTextAlignment(com.itextpdf.layout.properties.TextAlignment.CENTER)
-                .setPadding(3);  // Padding reduzido
-    }
-
-    private Cell createCompactDataCell(String content) {
-        String cellContent = content != null ? content : "-";
-        return new Cell()
-                .add(new Paragraph(cellContent))
-                .setFontSize(7)  // Fonte menor para dados
-                .setPadding(2)   // Padding reduzido
-                .setTextAlignment(com.itextpdf.layout.properties.TextAlignment.LEFT);
-    }
-
-    private String truncateText(String text, int maxLength) {
-        if (text == null || text.length() <= maxLength) {
-            return text;
-        }
-        return text.substring(0, maxLength - 3) + "...";
-    }
-
     private RelatorioItemDto mapGuiaToRelatorioItem(Guia guia) {
         RelatorioItemDto item = new RelatorioItemDto();
 
@@ -1380,18 +1337,65 @@ public class RelatorioServiceImpl implements RelatorioService {
         return request;
     }
 
-    private void enrichItemWithEntityData(RelatorioItemDto item, StatusHistory.EntityType type, UUID id) {
-        if (type == StatusHistory.EntityType.GUIA) {
-            guiaRepository.findById(id).ifPresent(g -> {
-                item.setNumeroGuia(g.getNumeroGuia());
-                if (g.getPaciente() != null) item.setPacienteNome(g.getPaciente().getNome());
-                if (g.getConvenio() != null) item.setConvenioNome(g.getConvenio().getName());
-            });
-        } else if (type == StatusHistory.EntityType.FICHA) {
-            fichaRepository.findById(id).ifPresent(f -> {
-                item.setCodigoFicha(f.getCodigoFicha());
-                if (f.getPaciente() != null) item.setPacienteNome(f.getPaciente().getNome());
-            });
+    private List<RelatorioItemDto> mapearBlocoAuditoria(List<StatusHistory> bloco) {
+        Set<UUID> guiaIds = new HashSet<>();
+        Set<UUID> fichaIds = new HashSet<>();
+        for (StatusHistory h : bloco) {
+            if (h.getEntityType() == StatusHistory.EntityType.GUIA) {
+                guiaIds.add(h.getEntityId());
+            } else if (h.getEntityType() == StatusHistory.EntityType.FICHA) {
+                fichaIds.add(h.getEntityId());
+            }
+        }
+
+        // Retorna [id, numeroGuia, pacienteNome, convenioNome]
+        Map<UUID, Object[]> guias = new HashMap<>();
+        if (!guiaIds.isEmpty()) {
+            guiaRepository.findResumoRelatorioByIds(guiaIds).forEach(row -> guias.put((UUID) row[0], row));
+        }
+        // Retorna [id, codigoFicha, pacienteNome]
+        Map<UUID, Object[]> fichas = new HashMap<>();
+        if (!fichaIds.isEmpty()) {
+            fichaRepository.findResumoRelatorioByIds(fichaIds).forEach(row -> fichas.put((UUID) row[0], row));
+        }
+
+        List<RelatorioItemDto> itens = new ArrayList<>(bloco.size());
+        for (StatusHistory h : bloco) {
+            RelatorioItemDto item = new RelatorioItemDto();
+
+            // Dados básicos da mudança
+            item.setEntidadeId(h.getEntityId());
+            item.setTipoEntidade(h.getEntityType().name());
+            item.setStatusAnterior(h.getStatusAnterior());
+            item.setStatusNovo(h.getStatusNovo());
+            item.setDataAtualizacao(h.getDataAlteracao());
+            item.setMotivoMudanca(h.getMotivo());
+
+            // Quem realizou a alteração (Auditoria)
+            if (h.getAlteradoPor() != null) {
+                item.setUsuarioResponsavelNome(h.getAlteradoPor().getFullName());
+            } else {
+                item.setUsuarioResponsavelNome("Sistema/Automático");
+            }
+
+            // Enriquecer com dados da Guia/Ficha (Paciente, Código, etc)
+            if (h.getEntityType() == StatusHistory.EntityType.GUIA) {
+                Object[] guia = guias.get(h.getEntityId());
+                if (guia != null) {
+                    item.setNumeroGuia((String) guia[1]);
+                    item.setPacienteNome((String) guia[2]);
+                    item.setConvenioNome((String) guia[3]);
+                }
+            } else if (h.getEntityType() == StatusHistory.EntityType.FICHA) {
+                Object[] ficha = fichas.get(h.getEntityId());
+                if (ficha != null) {
+                    item.setCodigoFicha((String) ficha[1]);
+                    item.setPacienteNome((String) ficha[2]);
+                }
+            }
+
+            itens.add(item);
         }
+        return itens;
     }
 }
\ No newline at end of file
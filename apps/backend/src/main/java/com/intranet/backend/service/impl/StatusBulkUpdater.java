@@ -0,0 +1,191 @@
+package com.intranet.backend.service.impl;
+
+import com.intranet.backend.model.StatusHistory;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Alterações de status de guias e fichas em conjunto, direto via JDBC.
+ * Cada operação atualiza as entidades com UPDATE ... RETURNING em blocos e grava o histórico de status
+ * correspondente com inserts em lote, mantendo a mesma semântica de auditoria do fluxo entidade a entidade
+ * (status anterior, novo status, motivo, observações, usuário e data da alteração).
+ */
+@Component
+@RequiredArgsConstructor
+public class StatusBulkUpdater {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusBulkUpdater.class);
+
+    // Bloqueia as linhas alteradas para ler o status anterior de forma consistente com a atualização
+    private static final String SQL_ATUALIZAR_POR_ID =
+            "WITH alvo AS (" +
+            "    SELECT id, status FROM %1$s" +
+            "    WHERE id = ANY(?) AND status <> ?" +
+            "    FOR UPDATE" +
+            ") " +
+            "UPDATE %1$s e SET status = ?, updated_at = ? " +
+            "FROM alvo WHERE e.id = alvo.id " +
+            "RETURNING e.id, alvo.status";
+
+    // Fichas alteradas depois do evento da guia (updated_at posterior) mantêm a alteração mais recente
+    private static final String SQL_PROPAGAR_FICHAS =
+            "WITH alvo AS (" +
+            "    SELECT id, status FROM fichas" +
+            "    WHERE guia_id = ANY(?) AND status <> ? AND updated_at <= ?" +
+            "    FOR UPDATE" +
+            ") " +
+            "UPDATE fichas f SET status = ?, updated_at = ? " +
+            "FROM alvo WHERE f.id = alvo.id " +
+            "RETURNING f.id, alvo.status";
+
+    private static final String SQL_INSERIR_HISTORICO =
+            "INSERT INTO status_history (id, entity_type, entity_id, status_anterior, status_novo, motivo, " +
+            "observacoes, alterado_por, data_alteracao, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int TAMANHO_BLOCO_ATUALIZACAO = 1000;
+    private static final int TAMANHO_LOTE_HISTORICO = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StatusChangeRollupWriter rollupWriter;
+    private final EntityCurrentStatusWriter currentStatusWriter;
+
+    /**
+     * Aplica o novo status às guias informadas que ainda não o possuem.
+     *
+     * @return status anterior de cada guia alterada, na ordem de atualização
+     */
+    public Map<UUID, String> atualizarGuias(Collection<UUID> ids, String novoStatus) {
+        return atualizarPorId("guias", ids, novoStatus);
+    }
+
+    /**
+     * Aplica o novo status às fichas informadas que ainda não o possuem.
+     *
+     * @return status anterior de cada ficha alterada, na ordem de atualização
+     */
+    public Map<UUID, String> atualizarFichas(Collection<UUID> ids, String novoStatus) {
+        return atualizarPorId("fichas", ids, novoStatus);
+    }
+
+    /**
+     * Aplica o novo status às fichas das guias informadas que ainda não o possuem e registra o histórico de
+     * cada ficha alterada. A propagação é entregue depois da alteração da guia; fichas modificadas após
+     * dataAlteracao não são sobrescritas, para que o status da ficha, o histórico e o status atual continuem
+     * refletindo a alteração mais recente.
+     *
+     * @return quantidade de fichas atualizadas
+     */
+    public int propagarStatusParaFichas(Collection<UUID> guiaIds, String novoStatus, String motivo,
+                                        String observacoes, UUID alteradoPorId, LocalDateTime dataAlteracao) {
+        if (guiaIds.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, String> statusAnteriores = new LinkedHashMap<>();
+        for (List<UUID> bloco : dividirEmBlocos(guiaIds)) {
+            statusAnteriores.putAll(executarAtualizacao(SQL_PROPAGAR_FICHAS, bloco, novoStatus, dataAlteracao));
+        }
+
+        if (statusAnteriores.isEmpty()) {
+            return 0;
+        }
+
+        registrarHistorico(StatusHistory.EntityType.FICHA, statusAnteriores, novoStatus, motivo, observacoes,
+                alteradoPorId, dataAlteracao);
+
+        logger.info("Status '{}' propagado para {} fichas de {} guias", novoStatus, statusAnteriores.size(), guiaIds.size());
+        return statusAnteriores.size();
+    }
+
+    /**
+     * Grava o histórico de status das entidades informadas (id → status anterior) com inserts em lote,
+     * atualiza o status atual das entidades e soma as alterações à contagem diária.
+     */
+    public void registrarHistorico(StatusHistory.EntityType entityType, Map<UUID, String> statusAnteriores,
+                                   String novoStatus, String motivo, String observacoes,
+                                   UUID alteradoPorId, LocalDateTime dataAlteracao) {
+        Timestamp data = Timestamp.valueOf(dataAlteracao);
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+
+        List<EntityCurrentStatusWriter.Mudanca> mudancas = new ArrayList<>(statusAnteriores.size());
+        statusAnteriores.forEach((entityId, statusAnterior) ->
+                mudancas.add(new EntityCurrentStatusWriter.Mudanca(UUID.randomUUID(), entityId, statusAnterior)));
+
+        jdbcTemplate.batchUpdate(SQL_INSERIR_HISTORICO, mudancas, TAMANHO_LOTE_HISTORICO, (ps, mudanca) -> {
+            ps.setObject(1, mudanca.historyId());
+            ps.setString(2, entityType.name());
+            ps.setObject(3, mudanca.entityId());
+            ps.setString(4, mudanca.statusAnterior());
+            ps.setString(5, novoStatus);
+            ps.setString(6, motivo);
+            ps.setString(7, observacoes);
+            ps.setObject(8, alteradoPorId);
+            ps.setTimestamp(9, data);
+            ps.setTimestamp(10, agora);
+            ps.setTimestamp(11, agora);
+        });
+        currentStatusWriter.atualizar(entityType, mudancas, novoStatus, alteradoPorId, dataAlteracao);
+        rollupWriter.incrementar(entityType, novoStatus, alteradoPorId, dataAlteracao.toLocalDate(),
+                statusAnteriores.size());
+
+        logger.debug("{} registros de histórico de status gravados para {}", statusAnteriores.size(), entityType);
+    }
+
+    private Map<UUID, String> atualizarPorId(String tabela, Collection<UUID> ids, String novoStatus) {
+        Map<UUID, String> statusAnteriores = new LinkedHashMap<>();
+        String sql = String.format(SQL_ATUALIZAR_POR_ID, tabela);
+
+        for (List<UUID> bloco : dividirEmBlocos(ids)) {
+            statusAnteriores.putAll(executarAtualizacao(sql, bloco, novoStatus, null));
+        }
+
+        logger.debug("Status '{}' aplicado a {} de {} registros de {}", novoStatus, statusAnteriores.size(), ids.size(), tabela);
+        return statusAnteriores;
+    }
+
+    // alteradasAte: quando informado, é o limite de updated_at das linhas alteradas (parâmetro após o status)
+    private Map<UUID, String> executarAtualizacao(String sql, List<UUID> ids, String novoStatus,
+                                                  LocalDateTime alteradasAte) {
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+
+        return jdbcTemplate.execute(sql, (PreparedStatement ps) -> {
+            int indice = 1;
+            Array idsArray = ps.getConnection().createArrayOf("uuid", ids.toArray());
+            ps.setArray(indice++, idsArray);
+            ps.setString(indice++, novoStatus);
+            if (alteradasAte != null) {
+                ps.setTimestamp(indice++, Timestamp.valueOf(alteradasAte));
+            }
+            ps.setString(indice++, novoStatus);
+            ps.setTimestamp(indice, agora);
+
+            Map<UUID, String> resultado = new LinkedHashMap<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    resultado.put(rs.getObject(1, UUID.class), rs.getString(2));
+                }
+            }
+            return resultado;
+        });
+    }
+
+    private List<List<UUID>> dividirEmBlocos(Collection<UUID> ids) {
+        List<UUID> lista = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<List<UUID>> blocos = new ArrayList<>();
+        for (int i = 0; i < lista.size(); i += TAMANHO_BLOCO_ATUALIZACAO) {
+            blocos.add(lista.subList(i, Math.min(i + TAMANHO_BLOCO_ATUALIZACAO, lista.size())));
+        }
+        return blocos;
+    }
+}
@@ -0,0 +1,232 @@
+package com.intranet.backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Idempotência das alterações de status de guias e fichas (status_change_idempotency, ver
+ * V41__add_status_change_idempotency.sql). A primeira requisição com uma chave registra a chave e a resposta na
+ * mesma transação da alteração; repetições da chave pelo mesmo usuário dentro do prazo recebem a resposta
+ * registrada, sem executar a alteração nem a propagação outra vez. O prazo é curto (2 horas por padrão): cobre
+ * duplo clique e reenvios automáticos do cliente, não repetições manuais no dia seguinte. Uma repetição
+ * concorrente aguarda, no índice único, o término da primeira. Reutilizar a chave com outra requisição é
+ * rejeitado.
+ * Um filtro em memória (estilo Bloom) das chaves vistas recentemente nesta instância evita a consulta prévia
+ * ao banco na primeira submissão; ele admite falsos positivos e o banco continua sendo a referência.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatusChangeIdempotency {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusChangeIdempotency.class);
+
+    private static final String SQL_REGISTRAR =
+            "INSERT INTO status_change_idempotency (usuario, chave, operacao, hash_requisicao, expira_em) " +
+            "VALUES (?, ?, ?, ?, ?) ON CONFLICT (usuario, chave) DO NOTHING";
+
+    private static final String SQL_BUSCAR =
+            "SELECT hash_requisicao, resposta FROM status_change_idempotency " +
+            "WHERE usuario = ? AND chave = ? AND expira_em > ?";
+
+    private static final String SQL_GRAVAR_RESPOSTA =
+            "UPDATE status_change_idempotency SET resposta = ? WHERE usuario = ? AND chave = ?";
+
+    private static final String SQL_REMOVER_EXPIRADA =
+            "DELETE FROM status_change_idempotency WHERE usuario = ? AND chave = ? AND expira_em <= ?";
+
+    private static final String SQL_LIMPAR =
+            "DELETE FROM status_change_idempotency WHERE expira_em <= ?";
+
+    // Filtro de 2^20 bits (128 KB) por geração, com 3 posições por chave
+    private static final int BITS_FILTRO = 1 << 20;
+    private static final int POSICOES_POR_CHAVE = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    // Também define a duração de cada geração do filtro em memória
+    @Value("${app.status-change.idempotency.ttl-minutes:120}")
+    private long ttlMinutos;
+
+    // Duas gerações do filtro: uma chave adicionada permanece em uma delas por pelo menos ttlMinutos
+    private long[] filtroAtual = new long[BITS_FILTRO / 64];
+    private long[] filtroAnterior = new long[BITS_FILTRO / 64];
+    private long inicioGeracao = System.currentTimeMillis();
+
+    private record Registro(String hashRequisicao, String resposta) {
+    }
+
+    /**
+     * Executa a alteração de status uma única vez por chave. Sem chave, apenas executa a alteração.
+     *
+     * @param chave        chave de idempotência enviada pelo cliente (opcional)
+     * @param operacao     identificação da operação e da entidade alvo, por exemplo "FICHA_STATUS:{id}"
+     * @param requisicao   corpo da requisição, comparado com o da primeira submissão da chave
+     * @param tipoResposta tipo da resposta registrada, para devolvê-la nas repetições
+     * @param acao         alteração de status; executada na transação em que a chave é registrada
+     */
+    @Transactional
+    public <T> T executar(String chave, String operacao, Object requisicao, TypeReference<T> tipoResposta,
+                          Supplier<T> acao) {
+        if (chave == null || chave.isBlank()) {
+            return acao.get();
+        }
+
+        String usuario = getUsuarioAtual();
+        String hashRequisicao = calcularHash(operacao, requisicao);
+        byte[] idFiltro = digest(usuario + '\n' + chave);
+
+        if (filtroContem(idFiltro)) {
+            Registro registro = buscar(usuario, chave);
+            if (registro != null) {
+                return repetir(registro, chave, hashRequisicao, tipoResposta);
+            }
+        }
+
+        if (!registrar(usuario, chave, operacao, hashRequisicao)) {
+            Registro registro = buscar(usuario, chave);
+            if (registro != null) {
+                adicionarAoFiltro(idFiltro);
+                return repetir(registro, chave, hashRequisicao, tipoResposta);
+            }
+
+            // Registro expirado ainda não removido pela limpeza
+            jdbcTemplate.update(SQL_REMOVER_EXPIRADA, usuario, chave, Timestamp.valueOf(LocalDateTime.now()));
+            if (!registrar(usuario, chave, operacao, hashRequisicao)) {
+                throw new IllegalStateException("Não foi possível registrar a chave de idempotência: " + chave);
+            }
+        }
+
+        T resposta = acao.get();
+        jdbcTemplate.update(SQL_GRAVAR_RESPOSTA, serializar(resposta), usuario, chave);
+        adicionarAoFiltro(idFiltro);
+        return resposta;
+    }
+
+    @Scheduled(cron = "${app.status-change.idempotency.cleanup-cron:0 0 * * * ?}")
+    @Transactional
+    public void limparExpiradas() {
+        try {
+            int removidas = jdbcTemplate.update(SQL_LIMPAR, Timestamp.valueOf(LocalDateTime.now()));
+            logger.info("{} chaves de idempotência de alteração de status expiradas removidas", removidas);
+        } catch (Exception e) {
+            logger.error("Erro ao limpar chaves de idempotência expiradas: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean registrar(String usuario, String chave, String operacao, String hashRequisicao) {
+        Timestamp expiraEm = Timestamp.valueOf(LocalDateTime.now().plusMinutes(ttlMinutos));
+        return jdbcTemplate.update(SQL_REGISTRAR, usuario, chave, operacao, hashRequisicao, expiraEm) > 0;
+    }
+
+    private Registro buscar(String usuario, String chave) {
+        List<Registro> registros = jdbcTemplate.query(SQL_BUSCAR,
+                (rs, rowNum) -> new Registro(rs.getString(1), rs.getString(2)),
+                usuario, chave, Timestamp.valueOf(LocalDateTime.now()));
+        return registros.isEmpty() ? null : registros.get(0);
+    }
+
+    private <T> T repetir(Registro registro, String chave, String hashRequisicao, TypeReference<T> tipoResposta) {
+        if (!registro.hashRequisicao().equals(hashRequisicao)) {
+            throw new IllegalArgumentException(
+                    "Chave de idempotência já utilizada em outra alteração de status: " + chave);
+        }
+
+        logger.info("Alteração de status repetida (chave {}), retornando a resposta original", chave);
+        if (registro.resposta() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(registro.resposta(), tipoResposta);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Resposta registrada para a chave de idempotência é inválida: " + chave, e);
+        }
+    }
+
+    private String serializar(Object resposta) {
+        if (resposta == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(resposta);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao registrar a resposta da alteração de status", e);
+        }
+    }
+
+    private String calcularHash(String operacao, Object requisicao) {
+        try {
+            return HexFormat.of().formatHex(digest(operacao + '\n' + objectMapper.writeValueAsString(requisicao)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao calcular o hash da requisição de alteração de status", e);
+        }
+    }
+
+    private byte[] digest(String valor) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(valor.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
+    }
+
+    private synchronized boolean filtroContem(byte[] idFiltro) {
+        rotacionarFiltro();
+        ByteBuffer buffer = ByteBuffer.wrap(idFiltro);
+        boolean atual = true;
+        boolean anterior = true;
+        for (int i = 0; i < POSICOES_POR_CHAVE; i++) {
+            int posicao = Math.floorMod(buffer.getInt(i * 4), BITS_FILTRO);
+            atual &= (filtroAtual[posicao >>> 6] & (1L << posicao)) != 0;
+            anterior &= (filtroAnterior[posicao >>> 6] & (1L << posicao)) != 0;
+        }
+        return atual || anterior;
+    }
+
+    private synchronized void adicionarAoFiltro(byte[] idFiltro) {
+        rotacionarFiltro();
+        ByteBuffer buffer = ByteBuffer.wrap(idFiltro);
+        for (int i = 0; i < POSICOES_POR_CHAVE; i++) {
+            int posicao = Math.floorMod(buffer.getInt(i * 4), BITS_FILTRO);
+            filtroAtual[posicao >>> 6] |= 1L << posicao;
+        }
+    }
+
+    private void rotacionarFiltro() {
+        long agora = System.currentTimeMillis();
+        if (agora - inicioGeracao >= ttlMinutos * 60_000) {
+            filtroAnterior = filtroAtual;
+            filtroAtual = new long[BITS_FILTRO / 64];
+            inicioGeracao = agora;
+        }
+    }
+
+    private String getUsuarioAtual() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication.getName() == null) {
+            throw new IllegalStateException("Usuário autenticado não encontrado");
+        }
+        return authentication.getName();
+    }
+}
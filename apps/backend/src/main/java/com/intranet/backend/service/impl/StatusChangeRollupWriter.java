@@ -0,0 +1,112 @@
+package com.intranet.backend.service.impl;
+
+import com.intranet.backend.model.StatusHistory;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Manutenção da contagem diária de mudanças de status (status_change_daily).
+ * Cada gravação de histórico incrementa a linha do dia na mesma transação; uma recompactação agendada recalcula
+ * os últimos dias fechados a partir de status_history, corrigindo eventuais divergências.
+ * Um advisory lock do PostgreSQL garante que apenas uma instância execute a recompactação por vez.
+ * Como o histórico pode chegar atrasado com a data da alteração original (entrega pelo outbox, novas tentativas),
+ * os incrementos e a recompactação se excluem por um segundo advisory lock: compartilhado em cada incremento e
+ * exclusivo durante a recompactação, que assim não perde incrementos confirmados entre a remoção e a recontagem.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatusChangeRollupWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusChangeRollupWriter.class);
+
+    // Chave do advisory lock (valor arbitrário, único na aplicação)
+    private static final long CHAVE_LOCK = 0x5354415455534452L;
+
+    // Chave do advisory lock que separa incrementos (compartilhado) da recompactação (exclusivo)
+    private static final long CHAVE_LOCK_ESCRITA = 0x5354415455534457L;
+
+    private static final String SQL_INCREMENTAR =
+            "INSERT INTO status_change_daily (entity_type, status_novo, alterado_por, dia, total) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (entity_type, status_novo, alterado_por, dia) " +
+            "DO UPDATE SET total = status_change_daily.total + EXCLUDED.total";
+
+    private static final String SQL_REMOVER_PERIODO =
+            "DELETE FROM status_change_daily WHERE dia BETWEEN ? AND ?";
+
+    private static final String SQL_RECALCULAR_PERIODO =
+            "INSERT INTO status_change_daily (entity_type, status_novo, alterado_por, dia, total) " +
+            "SELECT entity_type, status_novo, alterado_por, CAST(data_alteracao AS DATE), COUNT(*) " +
+            "FROM status_history " +
+            "WHERE data_alteracao >= ? AND data_alteracao < ? " +
+            "GROUP BY entity_type, status_novo, alterado_por, CAST(data_alteracao AS DATE) " +
+            "ON CONFLICT (entity_type, status_novo, alterado_por, dia) DO UPDATE SET total = EXCLUDED.total";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.status-history.rollup.recompact-days:2}")
+    private int diasRecompactacao;
+
+    /**
+     * Soma a quantidade informada (negativa na exclusão de histórico) à contagem do dia.
+     * Deve ser chamado na transação que grava o histórico; uma recompactação em andamento é aguardada.
+     */
+    public void incrementar(StatusHistory.EntityType entityType, String statusNovo, UUID alteradoPorId,
+                            LocalDate dia, long quantidade) {
+        if (quantidade == 0) {
+            return;
+        }
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock_shared(?)", rs -> null, CHAVE_LOCK_ESCRITA);
+        jdbcTemplate.update(SQL_INCREMENTAR, entityType.name(), statusNovo, alteradoPorId, Date.valueOf(dia), quantidade);
+    }
+
+    @Scheduled(cron = "${app.status-history.rollup.recompact-cron:0 15 3 * * ?}")
+    public void recompactarAgendado() {
+        // A transação é aberta pelo TransactionTemplate (a chamada interna não passa pelo proxy de @Transactional)
+        // e termina dentro do try: uma falha no PostgreSQL aborta a transação, que sofre rollback antes do log
+        try {
+            LocalDate ontem = LocalDate.now().minusDays(1);
+            transactionTemplate.execute(status -> recompactar(ontem.minusDays(diasRecompactacao - 1L), ontem));
+        } catch (Exception e) {
+            logger.error("Erro na recompactação das contagens diárias de status: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Recalcula as contagens dos dias informados (inclusive) a partir de status_history.
+     * Aguarda as transações com incrementos em andamento e bloqueia novos incrementos até o commit; um histórico
+     * gravado por uma transação que ainda não incrementou fica fora da recontagem e é somado pelo seu incremento.
+     *
+     * @return quantidade de linhas de contagem gravadas (-1 se outra instância estiver recompactando)
+     */
+    @Transactional
+    public int recompactar(LocalDate inicio, LocalDate fim) {
+        Boolean lockObtido = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, CHAVE_LOCK);
+        if (!Boolean.TRUE.equals(lockObtido)) {
+            logger.info("Recompactação das contagens diárias de status já em execução em outra instância");
+            return -1;
+        }
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", rs -> null, CHAVE_LOCK_ESCRITA);
+
+        jdbcTemplate.update(SQL_REMOVER_PERIODO, Date.valueOf(inicio), Date.valueOf(fim));
+        int gravadas = jdbcTemplate.update(SQL_RECALCULAR_PERIODO,
+                Timestamp.valueOf(inicio.atStartOfDay()), Timestamp.valueOf(fim.plusDays(1).atStartOfDay()));
+
+        logger.info("Contagens diárias de status recompactadas de {} a {}: {} linhas", inicio, fim, gravadas);
+        return gravadas;
+    }
+}
@@ -0,0 +1,185 @@
+package com.intranet.backend.service.impl;
+
+import com.intranet.backend.dto.StatusDurationStatsDto;
+import com.intranet.backend.model.StatusHistory;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tempo de permanência de guias e fichas em cada status (status_duration, ver V40__add_status_duration.sql).
+ * A cada execução, as entidades com histórico gravado após a marca d'água têm sua sequência de status
+ * recalculada com LEAD sobre data_alteracao, e os períodos resultantes são gravados ou corrigidos (um registro
+ * inserido fora de ordem divide o período que o contém). Execuções repetidas só leem o histórico novo.
+ * A marca d'água fica alguns minutos atrás do horário atual, para não pular transações ainda não confirmadas.
+ * Um advisory lock do PostgreSQL garante que apenas uma instância execute o cálculo por vez.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatusDurationAnalytics {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusDurationAnalytics.class);
+
+    // Chave do advisory lock (valor arbitrário, único na aplicação)
+    private static final long CHAVE_LOCK = 0x5354415455534455L;
+
+    private static final String JOB = "status_duration";
+
+    // Grava os períodos das entidades da CTE "afetadas", que precede este trecho
+    private static final String SQL_GRAVAR_PERIODOS =
+            "sequencia AS (" +
+            "    SELECT h.id, h.entity_type, h.entity_id, h.status_novo, h.data_alteracao," +
+            "           LEAD(h.data_alteracao) OVER w AS fim," +
+            "           LEAD(h.status_novo) OVER w AS status_seguinte" +
+            "    FROM status_history h" +
+            "    JOIN afetadas a ON a.entity_type = h.entity_type AND a.entity_id = h.entity_id" +
+            "    WINDOW w AS (PARTITION BY h.entity_type, h.entity_id ORDER BY h.data_alteracao, h.created_at)" +
+            ") " +
+            "INSERT INTO status_duration (history_id, entity_type, entity_id, status, status_seguinte, convenio_id, " +
+            "inicio, fim, duracao_segundos, mes) " +
+            "SELECT s.id, s.entity_type, s.entity_id, s.status_novo, s.status_seguinte, " +
+            "       COALESCE(g.convenio_id, f.convenio_id), s.data_alteracao, s.fim, " +
+            "       CAST(EXTRACT(EPOCH FROM (s.fim - s.data_alteracao)) AS BIGINT), " +
+            "       CAST(date_trunc('month', s.fim) AS DATE) " +
+            "FROM sequencia s " +
+            "LEFT JOIN guias g ON s.entity_type = 'GUIA' AND g.id = s.entity_id " +
+            "LEFT JOIN fichas f ON s.entity_type = 'FICHA' AND f.id = s.entity_id " +
+            "WHERE s.fim IS NOT NULL " +
+            "ON CONFLICT (history_id) DO UPDATE SET " +
+            "status_seguinte = EXCLUDED.status_seguinte, convenio_id = EXCLUDED.convenio_id, " +
+            "fim = EXCLUDED.fim, duracao_segundos = EXCLUDED.duracao_segundos, mes = EXCLUDED.mes " +
+            "WHERE status_duration.fim IS DISTINCT FROM EXCLUDED.fim " +
+            "OR status_duration.status_seguinte IS DISTINCT FROM EXCLUDED.status_seguinte " +
+            "OR status_duration.convenio_id IS DISTINCT FROM EXCLUDED.convenio_id";
+
+    private static final String SQL_CALCULAR =
+            "WITH afetadas AS (" +
+            "    SELECT DISTINCT entity_type, entity_id FROM status_history" +
+            "    WHERE created_at > ? AND created_at <= ?" +
+            "), " + SQL_GRAVAR_PERIODOS;
+
+    private static final String SQL_RECALCULAR_ENTIDADE =
+            "WITH afetadas AS (" +
+            "    SELECT CAST(? AS VARCHAR) AS entity_type, CAST(? AS UUID) AS entity_id" +
+            "), " + SQL_GRAVAR_PERIODOS;
+
+    private static final String SQL_REMOVER_ENTIDADE =
+            "DELETE FROM status_duration WHERE entity_type = ? AND entity_id = ?";
+
+    // Retorna [status, convenioId, convenioNome, mes, quantidade, media, p50, p90, p95] (durações em segundos)
+    private static final String SQL_PERCENTIS =
+            "SELECT d.status, d.convenio_id, c.name, d.mes, COUNT(*), AVG(d.duracao_segundos), " +
+            "       percentile_cont(0.5) WITHIN GROUP (ORDER BY d.duracao_segundos), " +
+            "       percentile_cont(0.9) WITHIN GROUP (ORDER BY d.duracao_segundos), " +
+            "       percentile_cont(0.95) WITHIN GROUP (ORDER BY d.duracao_segundos) " +
+            "FROM status_duration d " +
+            "LEFT JOIN convenios c ON c.id = d.convenio_id " +
+            "WHERE d.entity_type = ? AND d.mes BETWEEN ? AND ? " +
+            "AND (CAST(? AS VARCHAR) IS NULL OR d.status = ?) " +
+            "AND (CAST(? AS VARCHAR) IS NULL OR d.status_seguinte = ?) " +
+            "AND (CAST(? AS UUID) IS NULL OR d.convenio_id = ?) " +
+            "GROUP BY d.status, d.convenio_id, c.name, d.mes " +
+            "ORDER BY d.mes, d.status, c.name";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.status-duration.lag-minutes:5}")
+    private int atrasoMinutos;
+
+    @Scheduled(cron = "${app.status-duration.cron:0 */15 * * * ?}")
+    public void calcularAgendado() {
+        // Transação aberta e encerrada dentro do try; o @Transactional de calcular não vale na chamada interna
+        try {
+            transactionTemplate.execute(status -> calcular());
+        } catch (Exception e) {
+            logger.error("Erro no cálculo do tempo de permanência em status: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Processa o histórico gravado desde a última execução.
+     *
+     * @return quantidade de períodos gravados ou corrigidos (-1 se outra instância estiver executando)
+     */
+    @Transactional
+    public int calcular() {
+        Boolean lockObtido = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, CHAVE_LOCK);
+        if (!Boolean.TRUE.equals(lockObtido)) {
+            logger.info("Cálculo do tempo de permanência em status já em execução em outra instância");
+            return -1;
+        }
+
+        Timestamp desde = jdbcTemplate.queryForObject(
+                "SELECT processado_ate FROM analytics_watermark WHERE job = ?", Timestamp.class, JOB);
+        Timestamp ate = Timestamp.valueOf(LocalDateTime.now().minusMinutes(atrasoMinutos));
+        if (desde == null || !ate.after(desde)) {
+            return 0;
+        }
+
+        int gravados = jdbcTemplate.update(SQL_CALCULAR, desde, ate);
+        jdbcTemplate.update("UPDATE analytics_watermark SET processado_ate = ? WHERE job = ?", ate, JOB);
+
+        logger.info("Tempo de permanência em status calculado até {}: {} períodos gravados", ate, gravados);
+        return gravados;
+    }
+
+    /**
+     * Recalcula todos os períodos da entidade a partir do histórico atual. Usado após a exclusão de um registro
+     * de histórico, que a marca d'água (por created_at) não detecta: o período iniciado pelo registro excluído é
+     * removido e o período anterior passa a terminar no registro seguinte.
+     * Deve ser chamado na transação da exclusão; aguarda um cálculo incremental em andamento, para que ele não
+     * regrave períodos do registro excluído.
+     */
+    @Transactional
+    public void recalcularEntidade(StatusHistory.EntityType entityType, UUID entityId) {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", rs -> null, CHAVE_LOCK);
+
+        jdbcTemplate.update(SQL_REMOVER_ENTIDADE, entityType.name(), entityId);
+        int gravados = jdbcTemplate.update(SQL_RECALCULAR_ENTIDADE, entityType.name(), entityId);
+        logger.debug("Tempo de permanência em status de {} {} recalculado: {} períodos", entityType, entityId, gravados);
+    }
+
+    /**
+     * Percentis do tempo de permanência por status, convênio e mês de término do período.
+     * Filtros nulos são ignorados; inicio e fim são normalizados para o primeiro dia do mês.
+     */
+    @Transactional(readOnly = true)
+    public List<StatusDurationStatsDto> getPercentis(StatusHistory.EntityType entityType, LocalDate inicio,
+                                                     LocalDate fim, String status, String statusSeguinte,
+                                                     UUID convenioId) {
+        Date mesInicio = Date.valueOf(inicio.withDayOfMonth(1));
+        Date mesFim = Date.valueOf(fim.withDayOfMonth(1));
+
+        return jdbcTemplate.query(SQL_PERCENTIS, (rs, rowNum) -> new StatusDurationStatsDto(
+                        rs.getString(1),
+                        rs.getObject(2, UUID.class),
+                        rs.getString(3),
+                        rs.getDate(4).toLocalDate(),
+                        rs.getLong(5),
+                        emHoras(rs.getDouble(6)),
+                        emHoras(rs.getDouble(7)),
+                        emHoras(rs.getDouble(8)),
+                        emHoras(rs.getDouble(9))),
+                entityType.name(), mesInicio, mesFim,
+                status, status, statusSeguinte, statusSeguinte, convenioId, convenioId);
+    }
+
+    private double emHoras(double segundos) {
+        return Math.round(segundos / 36.0) / 100.0;
+    }
+}
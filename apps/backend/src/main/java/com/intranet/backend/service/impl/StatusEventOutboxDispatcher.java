@@ -0,0 +1,234 @@
+package com.intranet.backend.service.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intranet.backend.events.BulkStatusChangeEvent;
+import com.intranet.backend.exception.ResourceNotFoundException;
+import com.intranet.backend.model.StatusEventOutbox;
+import com.intranet.backend.repository.StatusEventOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Entrega os eventos de mudança de status gravados no outbox (status_event_outbox).
+ * Os eventos pendentes são lidos em lotes na ordem de gravação e publicados como {@link BulkStatusChangeEvent}
+ * para os ouvintes (histórico de status e propagação guia → fichas), cada um em sua própria transação.
+ * A entrega é at-least-once: um evento com falha é tentado novamente após uma espera exponencial e bloqueia os
+ * seguintes, preservando a ordem das alterações. Ao atingir o limite de tentativas ele vai para o dead-letter
+ * (dead_lettered_at): sai da fila, sem ser marcado como processado nem removido pela limpeza, e pode ser
+ * reprocessado pelo endpoint de manutenção.
+ * Um advisory lock do PostgreSQL garante que apenas uma instância despache eventos por vez.
+ */
+@Component
+public class StatusEventOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusEventOutboxDispatcher.class);
+
+    // Chave do advisory lock (valor arbitrário, único na aplicação)
+    private static final long CHAVE_LOCK = 0x5354415455534F42L;
+
+    private static final int TAMANHO_MAXIMO_ERRO = 2000;
+
+    private static final TypeReference<LinkedHashMap<UUID, String>> TIPO_STATUS_ANTERIORES = new TypeReference<>() {
+    };
+
+    private final StatusEventOutboxRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transacaoLote;
+    private final TransactionTemplate transacaoEvento;
+
+    @Value("${app.status-events.outbox.batch-size:200}")
+    private int tamanhoLote;
+
+    @Value("${app.status-events.outbox.max-attempts:10}")
+    private int maximoTentativas;
+
+    @Value("${app.status-events.outbox.backoff-initial-ms:1000}")
+    private long esperaInicialMs;
+
+    @Value("${app.status-events.outbox.backoff-max-ms:300000}")
+    private long esperaMaximaMs;
+
+    @Value("${app.status-events.outbox.retention-days:7}")
+    private int diasRetencao;
+
+    public StatusEventOutboxDispatcher(StatusEventOutboxRepository outboxRepository,
+                                       ApplicationEventPublisher eventPublisher,
+                                       ObjectMapper objectMapper,
+                                       JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager) {
+        this.outboxRepository = outboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transacaoLote = new TransactionTemplate(transactionManager);
+        this.transacaoEvento = new TransactionTemplate(transactionManager);
+        this.transacaoEvento.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Scheduled(fixedDelayString = "${app.status-events.outbox.poll-interval-ms:1000}")
+    public void despacharAgendado() {
+        try {
+            despachar();
+        } catch (Exception e) {
+            logger.error("Erro ao despachar eventos de status do outbox: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Entrega um lote de eventos pendentes.
+     *
+     * @return quantidade de eventos entregues (0 se outra instância estiver despachando)
+     */
+    public int despachar() {
+        Integer entregues = transacaoLote.execute(status -> {
+            Boolean lockObtido = jdbcTemplate.queryForObject(
+                    "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, CHAVE_LOCK);
+            if (!Boolean.TRUE.equals(lockObtido)) {
+                return 0;
+            }
+
+            List<Long> pendentes = outboxRepository.findIdsPendentes(LocalDateTime.now(),
+                    PageRequest.of(0, tamanhoLote));
+
+            int total = 0;
+            for (Long id : pendentes) {
+                if (!entregar(id)) {
+                    break;
+                }
+                total++;
+            }
+            return total;
+        });
+
+        if (entregues != null && entregues > 0) {
+            logger.debug("{} eventos de status entregues a partir do outbox", entregues);
+        }
+        return entregues != null ? entregues : 0;
+    }
+
+    /**
+     * Publica o evento e o marca como processado na mesma transação dos ouvintes.
+     *
+     * @return false se o evento falhou e ainda deve ser tentado novamente (interrompe o lote)
+     */
+    private boolean entregar(Long id) {
+        try {
+            transacaoEvento.executeWithoutResult(status -> {
+                StatusEventOutbox registro = outboxRepository.findById(id).orElseThrow();
+                LinkedHashMap<UUID, String> statusAnteriores = lerStatusAnteriores(registro);
+
+                eventPublisher.publishEvent(new BulkStatusChangeEvent(this, registro.getEntityType(),
+                        statusAnteriores, registro.getStatusNovo(), registro.getMotivo(),
+                        registro.getObservacoes(), registro.getAlteradoPor(), registro.getDataAlteracao()));
+
+                registro.setProcessedAt(LocalDateTime.now());
+                outboxRepository.save(registro);
+            });
+            return true;
+
+        } catch (Exception e) {
+            return registrarFalha(id, e);
+        }
+    }
+
+    private boolean registrarFalha(Long id, Exception erro) {
+        StatusEventOutbox falha = transacaoEvento.execute(status -> {
+            StatusEventOutbox registro = outboxRepository.findById(id).orElseThrow();
+            registro.setAttempts(registro.getAttempts() + 1);
+            registro.setLastError(resumirErro(erro));
+
+            if (registro.getAttempts() >= maximoTentativas) {
+                registro.setDeadLetteredAt(LocalDateTime.now());
+                registro.setNextAttemptAt(null);
+            } else {
+                registro.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(calcularEspera(registro.getAttempts()))));
+            }
+            return outboxRepository.save(registro);
+        });
+
+        if (falha.getDeadLetteredAt() != null) {
+            logger.error("Evento de status {} movido para o dead-letter após {} tentativas: {}",
+                    id, falha.getAttempts(), erro.getMessage(), erro);
+            return true;
+        }
+
+        logger.warn("Falha ao entregar evento de status {} (tentativa {}); nova tentativa a partir de {}: {}",
+                id, falha.getAttempts(), falha.getNextAttemptAt(), erro.getMessage());
+        return false;
+    }
+
+    // Espera antes da próxima tentativa: dobra a cada falha, até o máximo configurado
+    private long calcularEspera(int tentativas) {
+        int expoente = Math.min(tentativas - 1, 30);
+        return Math.min(esperaInicialMs << expoente, esperaMaximaMs);
+    }
+
+    /**
+     * Eventos que esgotaram as tentativas, do mais antigo ao mais recente.
+     */
+    public List<StatusEventOutbox> listarDeadLetter() {
+        return outboxRepository.findDeadLetter();
+    }
+
+    /**
+     * Devolve um evento do dead-letter à fila, com as tentativas zeradas. Ele é entregue na ordem do seu id,
+     * antes dos eventos pendentes gravados depois dele.
+     */
+    public void reprocessar(Long id) {
+        transacaoLote.executeWithoutResult(status -> {
+            StatusEventOutbox registro = outboxRepository.findById(id)
+                    .filter(r -> r.getDeadLetteredAt() != null)
+                    .orElseThrow(() -> new ResourceNotFoundException("Evento de status não está no dead-letter: " + id));
+            registro.setDeadLetteredAt(null);
+            registro.setNextAttemptAt(null);
+            registro.setAttempts(0);
+            outboxRepository.save(registro);
+        });
+        logger.info("Evento de status {} devolvido do dead-letter para a fila do outbox", id);
+    }
+
+    private LinkedHashMap<UUID, String> lerStatusAnteriores(StatusEventOutbox registro) {
+        try {
+            return objectMapper.readValue(registro.getStatusAnteriores(), TIPO_STATUS_ANTERIORES);
+        } catch (Exception e) {
+            throw new IllegalStateException("Conteúdo inválido no evento de status " + registro.getId(), e);
+        }
+    }
+
+    private String resumirErro(Exception erro) {
+        String mensagem = erro.getClass().getSimpleName() + ": " + erro.getMessage();
+        return mensagem.length() > TAMANHO_MAXIMO_ERRO ? mensagem.substring(0, TAMANHO_MAXIMO_ERRO) : mensagem;
+    }
+
+    /**
+     * Remove os eventos já processados há mais tempo que o período de retenção.
+     */
+    @Scheduled(cron = "${app.status-events.outbox.cleanup-cron:0 30 3 * * ?}")
+    public void limparProcessados() {
+        try {
+            Integer removidos = transacaoLote.execute(status ->
+                    outboxRepository.deleteProcessadosAntesDe(LocalDateTime.now().minusDays(diasRetencao)));
+            logger.info("{} eventos de status processados removidos do outbox", removidos);
+        } catch (Exception e) {
+            logger.error("Erro ao limpar eventos de status processados: {}", e.getMessage(), e);
+        }
+    }
+}
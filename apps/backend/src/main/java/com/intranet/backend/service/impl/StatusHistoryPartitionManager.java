@@ -0,0 +1,69 @@
+package com.intranet.backend.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Criação antecipada das partições mensais de status_history (ver V38__partition_status_history.sql).
+ * Garante que os próximos meses já tenham partição antes de receberem registros, evitando que o histórico
+ * caia na partição default. Um advisory lock do PostgreSQL garante que apenas uma instância execute por vez.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatusHistoryPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusHistoryPartitionManager.class);
+
+    // Chave do advisory lock (valor arbitrário, único na aplicação)
+    private static final long CHAVE_LOCK = 0x5354415455535054L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.status-history.partitions.months-ahead:3}")
+    private int mesesAFrente;
+
+    @Scheduled(cron = "${app.status-history.partitions.cron:0 0 4 * * ?}")
+    public void criarParticoesAgendado() {
+        // O TransactionTemplate conclui (commit ou rollback) a transação antes do catch
+        try {
+            transactionTemplate.execute(status -> criarParticoes(mesesAFrente));
+        } catch (Exception e) {
+            logger.error("Erro ao criar partições de status_history: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Cria as partições do mês atual até o número de meses informado à frente.
+     *
+     * @return quantidade de partições criadas (0 se outra instância estiver executando)
+     */
+    @Transactional
+    public int criarParticoes(int mesesAFrente) {
+        Boolean lockObtido = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, CHAVE_LOCK);
+        if (!Boolean.TRUE.equals(lockObtido)) {
+            logger.info("Criação de partições de status_history já em execução em outra instância");
+            return 0;
+        }
+
+        Integer criadas = jdbcTemplate.queryForObject(
+                "SELECT criar_particoes_status_history(?, ?)", Integer.class,
+                Date.valueOf(LocalDate.now().withDayOfMonth(1)), mesesAFrente);
+
+        if (criadas != null && criadas > 0) {
+            logger.info("{} partições de status_history criadas", criadas);
+        }
+        return criadas != null ? criadas : 0;
+    }
+}
@@ -1,7 +1,7 @@
 package com.intranet.backend.service.impl;
 
 import com.intranet.backend.dto.*;
-import com.intranet.backend.events.StatusChangeEvent;
+import com.intranet.backend.events.BulkStatusChangeEvent;
 import com.intranet.backend.exception.ResourceNotFoundException;
 import com.intranet.backend.model.*;
 import com.intranet.backend.repository.*;
@@ -11,12 +11,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -35,37 +37,34 @@ public class StatusHistoryServiceImpl implements StatusHistoryService {
     private final UserRepository userRepository;
     private final GuiaRepository guiaRepository;
     private final FichaRepository fichaRepository;
+    private final StatusBulkUpdater statusBulkUpdater;
+    private final StatusHistoryStreamer statusHistoryStreamer;
+    private final StatusChangeRollupRepository rollupRepository;
+    private final StatusChangeRollupWriter rollupWriter;
+    private final EntityCurrentStatusWriter currentStatusWriter;
+    private final EntityCurrentStatusRepository currentStatusRepository;
+    private final StatusDurationAnalytics statusDurationAnalytics;
 
     /**
-     * Event Listener que processa mudanças de status
-     * Substitui as chamadas diretas dos outros serviços
+     * Event Listener que registra o histórico das mudanças de status entregues pelo outbox.
+     * O histórico de todas as entidades do evento é gravado com inserts em lote, usando o usuário do evento.
+     * Exceções são propagadas para que o despachante tente novamente o evento.
      */
     @EventListener
     @Transactional
-    public void handleStatusChangeEvent(StatusChangeEvent event) {
-        logger.info("Processando evento de mudança de status: {}", event);
-
-        try {
-            User alteradoPor = userRepository.findById(event.getAlteradoPorId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado: " + event.getAlteradoPorId()));
-
-            StatusHistory history = new StatusHistory();
-            history.setEntityType(event.getEntityType());
-            history.setEntityId(event.getEntityId());
-            history.setStatusAnterior(event.getStatusAnterior());
-            history.setStatusNovo(event.getStatusNovo());
-            history.setMotivo(event.getMotivo());
-            history.setObservacoes(event.getObservacoes());
-            history.setAlteradoPor(alteradoPor);
-            history.setDataAlteracao(event.getEventTimestamp());
-
-            StatusHistory savedHistory = statusHistoryRepository.save(history);
-            logger.info("Histórico de status registrado automaticamente via evento. ID: {}", savedHistory.getId());
-
-        } catch (Exception e) {
-            logger.error("Erro ao processar evento de mudança de status: {}", e.getMessage(), e);
-            // Não propagar a exceção para não quebrar o processo principal
-        }
+    public void handleStatusChangeEvent(BulkStatusChangeEvent event) {
+        logger.debug("Processando evento de mudança de status: {}", event);
+
+        statusBulkUpdater.registrarHistorico(
+                event.getEntityType(),
+                event.getStatusAnteriores(),
+                event.getStatusNovo(),
+                event.getMotivo(),
+                event.getObservacoes(),
+                event.getAlteradoPorId(),
+                event.getEventTimestamp()
+        );
+        logger.debug("Histórico de status registrado para {} registros", event.getStatusAnteriores().size());
     }
 
     @Override
@@ -86,6 +85,8 @@ public class StatusHistoryServiceImpl implements StatusHistoryService {
                 motivo, observacoes, currentUser);
 
         StatusHistory savedHistory = statusHistoryRepository.save(history);
+        currentStatusWriter.atualizar(savedHistory);
+        contabilizar(savedHistory, 1);
         logger.info("Histórico de status registrado com sucesso. ID: {}", savedHistory.getId());
 
         return mapToDto(savedHistory);
@@ -109,6 +110,8 @@ public class StatusHistoryServiceImpl implements StatusHistoryService {
                 motivo, observacoes, currentUser);
 
         StatusHistory savedHistory = statusHistoryRepository.save(history);
+        currentStatusWriter.atualizar(savedHistory);
+        contabilizar(savedHistory, 1);
         logger.info("Histórico de status registrado com sucesso. ID: {}", savedHistory.getId());
 
         return mapToDto(savedHistory);
@@ -136,6 +139,8 @@ public class StatusHistoryServiceImpl implements StatusHistoryService {
         history.setDataAlteracao(LocalDateTime.now());
 
         StatusHistory savedHistory = statusHistoryRepository.save(history);
+        currentStatusWriter.atualizar(savedHistory);
+        contabilizar(savedHistory, 1);
         return mapToDto(savedHistory);
     }
 
@@ -238,16 +243,58 @@ public class StatusHistoryServiceImpl implements StatusHistoryService {
     public StatusHistoryDto getUltimoStatus(StatusHistory.EntityType entityType, UUID entityId) {
         logger.info("Buscando último status para {} ID: {}", entityType, entityId);
 
-        StatusHistory ultimoStatus = statusHistoryRepository
-                .findLatestByEntityTypeAndEntityId(entityType, entityId);
-
-        if (ultimoStatus == null) {
-            throw new ResourceNotFoundException("Nenhum histórico encontrado para " + entityType + " ID: " + entityId);
-        }
+        // O status atual aponta para o último registro; a busca pela data limita a consulta a uma partição
+        StatusHistory ultimoStatus = currentStatusRepository.findByEntityTypeAndEntityId(entityType, entityId)
+                .flatMap(atual -> statusHistoryRepository.findByIdAndDataAlteracao(
+                        atual.getHistoryId(), atual.getDataAlteracao()))
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Nenhum histórico encontrado para " + entityType + " ID: " + entityId));
 
         return mapToDto(ultimoStatus);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<StatusHistorySummaryDto> getEntidadesParadasNoStatus(StatusHistory.EntityType entityType, String status,
+                                                                     int dias, Pageable pageable) {
+        logger.info("Buscando {} paradas no status '{}' há mais de {} dias", entityType, status, dias);
+
+        Page<EntityCurrentStatus> parados = currentStatusRepository.findParadosNoStatus(
+                entityType, status, LocalDateTime.now().minusDays(dias), pageable);
+
+        Set<UUID> userIds = parados.getContent().stream()
+                .map(EntityCurrentStatus::getAlteradoPor)
+                .collect(Collectors.toSet());
+        Map<UUID, String> nomes = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, User::getFullName));
+        Map<UUID, String> descricoes = getEntityDescricoes(entityType, parados.getContent().stream()
+                .map(EntityCurrentStatus::getEntityId)
+                .collect(Collectors.toSet()));
+
+        return parados.map(atual -> {
+            StatusHistorySummaryDto dto = new StatusHistorySummaryDto();
+            dto.setId(atual.getHistoryId());
+            dto.setEntityType(atual.getEntityType());
+            dto.setEntityId(atual.getEntityId());
+            dto.setStatusAnterior(atual.getStatusAnterior());
+            dto.setStatusNovo(atual.getStatus());
+            dto.setAlteradoPorNome(nomes.get(atual.getAlteradoPor()));
+            dto.setDataAlteracao(atual.getDataAlteracao());
+            dto.setEntityDescricao(descricoes.getOrDefault(atual.getEntityId(),
+                    entityType == StatusHistory.EntityType.GUIA ? "Guia não encontrada" : "Ficha não encontrada"));
+            return dto;
+        });
+    }
+
+    @Override
+    public List<StatusDurationStatsDto> getDuracaoPorStatus(StatusHistory.EntityType entityType, LocalDate inicio,
+                                                            LocalDate fim, String status, String statusSeguinte,
+                                                            UUID convenioId) {
+        logger.info("Calculando tempo de permanência em status para {} de {} a {}", entityType, inicio, fim);
+
+        return statusDurationAnalytics.getPercentis(entityType, inicio, fim, status, statusSeguinte, convenioId);
+    }
+
     @Override
     public long contarMudancasStatus(StatusHistory.EntityType entityType, UUID entityId) {
         return statusHistoryRepository.countByEntityTypeAndEntityId(entityType, entityId);
@@ -257,12 +304,7 @@ public class StatusHistoryServiceImpl implements StatusHistoryService {
     public Map<String, Long> getEstatisticasMudancas(StatusHistory.EntityType entityType) {
         logger.info("Gerando estatísticas de mudanças para tipo: {}", entityType);
 
-        List<Object[]> results = statusHistoryRepository.getStatusChangeStatistics(entityType);
-
-        return results.stream().collect(Collectors.toMap(
-                result -> (String) result[0],  // status
-                result -> (Long) result[1]     // count
-        ));
+        return toStatusCounts(rollupRepository.sumByStatusNovo(entityType));
     }
 
     @Override
@@ -270,11 +312,14 @@ public class StatusHistoryServiceImpl implements StatusHistoryService {
     public void deleteStatusHistory(UUID id) {
         logger.info("Excluindo registro de histórico ID: {}", id);
 
-        if (!statusHistoryRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Registro de histórico não encontrado com ID: " + id);
-        }
+        StatusHistory history = statusHistoryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Registro de histórico não encontrado com ID: " + id));
 
-        statusHistoryRepository.deleteById(id);
+        statusHistoryRepository.delete(history);
+        statusHistoryRepository.flush();
+        currentStatusWriter.recalcular(history.getEntityType(), history.getEntityId());
+        statusDurationAnalytics.recalcularEntidade(history.getEntityType(), history.getEntityId());
+        contabilizar(history, -1);
         logger.info("Registro de histórico excluído com sucesso. ID: {}", id);
     }
 
@@ -283,13 +328,14 @@ public class StatusHistoryServiceImpl implements StatusHistoryService {
                                                                 LocalDateTime startDate, LocalDateTime endDate) {
         logger.info("Gerando relatório de mudanças para {} no período {} a {}", entityType, startDate, endDate);
 
-        Page<StatusHistory> historico = statusHistoryRepository
-                .findByDataAlteracaoBetween(startDate, endDate, Pageable.unpaged());
+        // A leitura em blocos limita as entidades carregadas, mas o relatório é devolvido como lista: a memória
+        // cresce com o número de mudanças no período (um StatusHistorySummaryDto por registro de histórico)
+        List<StatusHistorySummaryDto> relatorio = new ArrayList<>();
+        statusHistoryStreamer.percorrer(entityType, null, null, null, startDate, endDate,
+                StatusHistoryStreamer.TAMANHO_BLOCO_PADRAO,
+                bloco -> bloco.forEach(h -> relatorio.add(mapToSummaryDto(h))));
 
-        return historico.getContent().stream()
-                .filter(h -> h.getEntityType() == entityType)
-                .map(this::mapToSummaryDto)
-                .collect(Collectors.toList());
+        return relatorio;
     }
 
     @Override
@@ -398,20 +444,20 @@ public class StatusHistoryServiceImpl implements StatusHistoryService {
 
     // Métodos auxiliares privados
 
+    /**
+     * Contagem por status no período, lida das contagens diárias (granularidade de dia, datas inclusivas)
+     */
     private Map<String, Long> getEstatisticasPorPeriodo(StatusHistory.EntityType entityType,
                                                         LocalDateTime startDate, LocalDateTime endDate) {
-        StatusHistoryFilterRequest filter = new StatusHistoryFilterRequest();
-        filter.setEntityType(entityType);
-        filter.setStartDate(startDate);
-        filter.setEndDate(endDate);
-
-        Page<StatusHistorySummaryDto> resultados = getHistoricoComFiltros(filter, Pageable.unpaged());
+        return toStatusCounts(rollupRepository.sumByStatusNovoNoPeriodo(
+                entityType, startDate.toLocalDate(), endDate.toLocalDate()));
+    }
 
-        return resultados.getContent().stream()
-                .collect(Collectors.groupingBy(
-                        StatusHistorySummaryDto::getStatusNovo,
-                        Collectors.counting()
-                ));
+    private Map<String, Long> toStatusCounts(List<Object[]> results) {
+        return results.stream().collect(Collectors.toMap(
+                result -> (String) result[0],           // status
+                result -> ((Number) result[1]).longValue() // count
+        ));
     }
 
     private String getMostActiveStatus(Map<String, Long> statusCounts) {
@@ -427,16 +473,11 @@ public class StatusHistoryServiceImpl implements StatusHistoryService {
             LocalDateTime previousPeriodStart = startDate.minusDays(daysDiff);
 
             // Período atual
-            StatusHistoryFilterRequest currentFilter = new StatusHistoryFilterRequest();
-            currentFilter.setStartDate(startDate);
-            currentFilter.setEndDate(endDate);
-            long currentCount = getHistoricoComFiltros(currentFilter, Pageable.unpaged()).getTotalElements();
+            long currentCount = rollupRepository.sumNoPeriodo(startDate.toLocalDate(), endDate.toLocalDate());
 
-            // Período anterior
-            StatusHistoryFilterRequest previousFilter = new StatusHistoryFilterRequest();
-            previousFilter.setStartDate(previousPeriodStart);
-            previousFilter.setEndDate(startDate);
-            long previousCount = getHistoricoComFiltros(previousFilter, Pageable.unpaged()).getTotalElements();
+            // Período anterior (termina no dia anterior ao início do período atual)
+            long previousCount = rollupRepository.sumNoPeriodo(
+                    previousPeriodStart.toLocalDate(), startDate.toLocalDate().minusDays(1));
 
             Map<String, Object> trends = new HashMap<>();
             trends.put("currentPeriodChanges", currentCount);
@@ -461,24 +502,15 @@ public class StatusHistoryServiceImpl implements StatusHistoryService {
 
     private List<Map<String, Object>> getTopActiveUsers(LocalDateTime startDate, LocalDateTime endDate) {
         try {
-            StatusHistoryFilterRequest filter = new StatusHistoryFilterRequest();
-            filter.setStartDate(startDate);
-            filter.setEndDate(endDate);
-
-            Page<StatusHistorySummaryDto> allChanges = getHistoricoComFiltros(filter, Pageable.unpaged());
-
-            return allChanges.getContent().stream()
-                    .collect(Collectors.groupingBy(
-                            StatusHistorySummaryDto::getAlteradoPorNome,
-                            Collectors.counting()
-                    ))
-                    .entrySet().stream()
-                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                    .limit(5)
-                    .map(entry -> {
+            // Retorna [alteradoPor, fullName, total]
+            List<Object[]> results = rollupRepository.sumByUsuarioNoPeriodo(
+                    startDate.toLocalDate(), endDate.toLocalDate(), PageRequest.of(0, 5));
+
+            return results.stream()
+                    .map(row -> {
                         Map<String, Object> map = new HashMap<>();
-                        map.put("userName", entry.getKey());
-                        map.put("changeCount", entry.getValue());
+                        map.put("userName", row[1]);
+                        map.put("changeCount", ((Number) row[2]).longValue());
                         return map;
                     })
                     .collect(Collectors.toList());
@@ -488,6 +520,11 @@ public class StatusHistoryServiceImpl implements StatusHistoryService {
         }
     }
 
+    private void contabilizar(StatusHistory history, long quantidade) {
+        rollupWriter.incrementar(history.getEntityType(), history.getStatusNovo(), history.getAlteradoPor().getId(),
+                history.getDataAlteracao().toLocalDate(), quantidade);
+    }
+
     private User getCurrentUser() {
         UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         return userRepository.findByEmail(userDetails.getUsername())
@@ -572,6 +609,29 @@ public class StatusHistoryServiceImpl implements StatusHistoryService {
         }
     }
 
+    /**
+     * Descrições de várias entidades do mesmo tipo em uma única consulta, no mesmo formato de getEntityDescricao
+     */
+    private Map<UUID, String> getEntityDescricoes(StatusHistory.EntityType entityType, Collection<UUID> entityIds) {
+        Map<UUID, String> descricoes = new HashMap<>();
+        if (entityIds.isEmpty()) {
+            return descricoes;
+        }
+
+        if (entityType == StatusHistory.EntityType.GUIA) {
+            // Retorna [id, numeroGuia, pacienteNome, convenioNome]
+            for (Object[] row : guiaRepository.findResumoRelatorioByIds(entityIds)) {
+                descricoes.put((UUID) row[0], "Guia " + row[1] + " - " + row[2]);
+            }
+        } else {
+            // Retorna [id, codigoFicha, pacienteNome]
+            for (Object[] row : fichaRepository.findResumoRelatorioByIds(entityIds)) {
+                descricoes.put((UUID) row[0], "Ficha " + row[1] + " - " + row[2]);
+            }
+        }
+        return descricoes;
+    }
+
     private String getEntityDescricao(StatusHistory.EntityType entityType, UUID entityId) {
         try {
             switch (entityType) {
@@ -0,0 +1,80 @@
+package com.intranet.backend.service.impl;
+
+import com.intranet.backend.model.StatusHistory;
+import com.intranet.backend.repository.StatusHistoryRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Leitura do histórico de status em blocos, para relatórios e exportações de períodos longos.
+ * Os registros vêm de um cursor (StatusHistoryRepository.streamWithFilters) e são entregues em blocos;
+ * após cada bloco os registros são desanexados do contexto de persistência, de modo que no máximo um bloco de
+ * entidades fica carregado, independentemente do tamanho do período. A memória do que o consumidor acumula a
+ * partir dos blocos (DTOs, por exemplo) não é limitada aqui.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatusHistoryStreamer {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusHistoryStreamer.class);
+
+    public static final int TAMANHO_BLOCO_PADRAO = 500;
+
+    private final StatusHistoryRepository statusHistoryRepository;
+    private final EntityManager entityManager;
+
+    /**
+     * Percorre o histórico que atende aos filtros (nulos são ignorados), do mais recente ao mais antigo.
+     * O consumidor recebe blocos de até tamanhoBloco registros, com o usuário que fez a alteração já carregado;
+     * os registros não devem ser guardados além da chamada do consumidor.
+     *
+     * @return quantidade de registros percorridos
+     */
+    @Transactional(readOnly = true)
+    public long percorrer(StatusHistory.EntityType entityType, UUID entityId, String statusNovo, UUID userId,
+                          LocalDateTime startDate, LocalDateTime endDate, int tamanhoBloco,
+                          Consumer<List<StatusHistory>> consumidor) {
+        long total = 0;
+        List<StatusHistory> bloco = new ArrayList<>(tamanhoBloco);
+
+        try (Stream<StatusHistory> historico = statusHistoryRepository.streamWithFilters(
+                entityType, entityId, statusNovo, userId, startDate, endDate)) {
+
+            Iterator<StatusHistory> iterator = historico.iterator();
+            while (iterator.hasNext()) {
+                bloco.add(iterator.next());
+                if (bloco.size() == tamanhoBloco) {
+                    total += entregar(bloco, consumidor);
+                }
+            }
+            if (!bloco.isEmpty()) {
+                total += entregar(bloco, consumidor);
+            }
+        }
+
+        logger.debug("{} registros de histórico de status percorridos", total);
+        return total;
+    }
+
+    private int entregar(List<StatusHistory> bloco, Consumer<List<StatusHistory>> consumidor) {
+        int quantidade = bloco.size();
+        consumidor.accept(List.copyOf(bloco));
+
+        // Os usuários permanecem no contexto: são poucos e podem estar em uso por quem chamou
+        bloco.forEach(entityManager::detach);
+        bloco.clear();
+        return quantidade;
+    }
+}
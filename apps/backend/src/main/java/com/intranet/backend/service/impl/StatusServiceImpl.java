@@ -1,5 +1,6 @@
 package com.intranet.backend.service.impl;
 
+import com.intranet.backend.dto.ReferenceDataSnapshot;
 import com.intranet.backend.dto.StatusCreateRequest;
 import com.intranet.backend.dto.StatusDto;
 import com.intranet.backend.dto.StatusUpdateRequest;
@@ -26,6 +27,11 @@ public class StatusServiceImpl implements StatusService {
     private static final Logger logger = LoggerFactory.getLogger(StatusServiceImpl.class);
 
     private final StatusRepository statusRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
+
+    // Versão em cache dos status: todos e apenas os ativos, na ordem de exibição
+    private record Statuses(List<StatusDto> todos, List<StatusDto> ativos) {
+    }
 
     @Override
     @Transactional
@@ -56,6 +62,7 @@ public class StatusServiceImpl implements StatusService {
         }
 
         Status savedStatus = statusRepository.save(status);
+        referenceDataRegistry.invalidar(ReferenceDataRegistry.Conjunto.STATUS);
         logger.info("Status criado com sucesso: {}", savedStatus.getId());
 
         return mapToStatusDto(savedStatus);
@@ -106,6 +113,7 @@ public class StatusServiceImpl implements StatusService {
 
         if (updated) {
             status = statusRepository.save(status);
+            referenceDataRegistry.invalidar(ReferenceDataRegistry.Conjunto.STATUS);
             logger.info("Status atualizado com sucesso: {}", status.getId());
         }
 
@@ -126,28 +134,29 @@ public class StatusServiceImpl implements StatusService {
     public List<StatusDto> getAllStatuses() {
         logger.info("Buscando todos os status");
 
-        List<Status> statuses = statusRepository.findAllOrdenados();
+        List<StatusDto> statuses = getStatuses().dados().todos();
 
         if (statuses.isEmpty()) {
             logger.info("Nenhum status encontrado, inicializando status padrão");
             initializeDefaultStatuses();
-            statuses = statusRepository.findAllOrdenados();
+            statuses = getStatuses().dados().todos();
         }
 
         logger.info("Total de status encontrados: {}", statuses.size());
-        return statuses.stream()
-                .map(this::mapToStatusDto)
-                .collect(Collectors.toList());
+        return statuses;
     }
 
     @Override
     public List<StatusDto> getAllStatusesAtivos() {
+        return getAllStatusesAtivosVersionados().dados();
+    }
+
+    @Override
+    public ReferenceDataSnapshot<List<StatusDto>> getAllStatusesAtivosVersionados() {
         logger.info("Buscando todos os status ativos");
 
-        List<Status> statuses = statusRepository.findAllAtivosOrdenados();
-        return statuses.stream()
-                .map(this::mapToStatusDto)
-                .collect(Collectors.toList());
+        ReferenceDataSnapshot<Statuses> statuses = getStatuses();
+        return new ReferenceDataSnapshot<>(statuses.dados().ativos(), statuses.etag());
     }
 
     @Override
@@ -168,6 +177,7 @@ public class StatusServiceImpl implements StatusService {
         // Implementar essa verificação quando necessário
 
         statusRepository.deleteById(id);
+        referenceDataRegistry.invalidar(ReferenceDataRegistry.Conjunto.STATUS);
         logger.info("Status deletado com sucesso: {}", id);
     }
 
@@ -181,6 +191,7 @@ public class StatusServiceImpl implements StatusService {
 
         status.setAtivo(!status.getAtivo());
         statusRepository.save(status);
+        referenceDataRegistry.invalidar(ReferenceDataRegistry.Conjunto.STATUS);
 
         logger.info("Status {} agora está: {}", id, status.getAtivo() ? "ATIVO" : "INATIVO");
     }
@@ -197,11 +208,17 @@ public class StatusServiceImpl implements StatusService {
 
     @Override
     public List<StatusDto> getStatusEnumValues() {
+        return getStatusEnumValuesVersionados().dados();
+    }
+
+    @Override
+    public ReferenceDataSnapshot<List<StatusDto>> getStatusEnumValuesVersionados() {
         logger.info("Retornando valores do enum de status");
 
-        return Arrays.stream(StatusEnum.getAllInOrder())
-                .map(this::mapEnumToDto)
-                .collect(Collectors.toList());
+        return referenceDataRegistry.obter(ReferenceDataRegistry.Conjunto.STATUS_ENUM,
+                () -> Arrays.stream(StatusEnum.getAllInOrder())
+                        .map(this::mapEnumToDto)
+                        .toList());
     }
 
     @Override
@@ -217,6 +234,7 @@ public class StatusServiceImpl implements StatusService {
             }
         }
 
+        referenceDataRegistry.invalidar(ReferenceDataRegistry.Conjunto.STATUS);
         logger.info("Inicialização de status padrão concluída");
     }
 
@@ -225,6 +243,18 @@ public class StatusServiceImpl implements StatusService {
         return statusRepository.countAtivos();
     }
 
+    private ReferenceDataSnapshot<Statuses> getStatuses() {
+        return referenceDataRegistry.obter(ReferenceDataRegistry.Conjunto.STATUS, () -> {
+            List<StatusDto> todos = statusRepository.findAllOrdenados().stream()
+                    .map(this::mapToStatusDto)
+                    .toList();
+            List<StatusDto> ativos = todos.stream()
+                    .filter(status -> Boolean.TRUE.equals(status.getAtivo()))
+                    .toList();
+            return new Statuses(todos, ativos);
+        });
+    }
+
     private StatusDto mapToStatusDto(Status status) {
         return new StatusDto(
                 status.getId(),
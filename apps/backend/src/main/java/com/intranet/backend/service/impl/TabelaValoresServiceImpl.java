@@ -1,5 +1,6 @@
 package com.intranet.backend.service.impl;
 
+import com.intranet.backend.dto.ReferenceDataSnapshot;
 import com.intranet.backend.dto.TabelaValoresCreateDto;
 import com.intranet.backend.dto.TabelaValoresDto;
 import com.intranet.backend.exception.ResourceNotFoundException;
@@ -9,6 +10,7 @@ import com.intranet.backend.model.User;
 import com.intranet.backend.repository.ConvenioRepository;
 import com.intranet.backend.repository.TabelaValoresRepository;
 import com.intranet.backend.repository.UserRepository;
+import com.intranet.backend.service.ConvenioService;
 import com.intranet.backend.service.TabelaValoresService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -21,7 +23,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -34,20 +39,24 @@ public class TabelaValoresServiceImpl implements TabelaValoresService {
     private final TabelaValoresRepository tabelaValoresRepository;
     private final ConvenioRepository convenioRepository;
     private final UserRepository userRepository;
+    private final ConvenioService convenioService;
+    private final ReferenceDataRegistry referenceDataRegistry;
 
     @Override
     public List<TabelaValoresDto> getTabelasByConvenioId(UUID convenioId) {
+        return getTabelasByConvenioIdVersionadas(convenioId).dados();
+    }
+
+    @Override
+    public ReferenceDataSnapshot<List<TabelaValoresDto>> getTabelasByConvenioIdVersionadas(UUID convenioId) {
         logger.info("Buscando tabelas para o convênio com ID: {}", convenioId);
 
-        if (!convenioRepository.existsById(convenioId)) {
+        if (!convenioService.existsConvenio(convenioId)) {
             throw new ResourceNotFoundException("Convênio não encontrado com ID: " + convenioId);
         }
 
-        List<TabelaValores> tabelas = tabelaValoresRepository.findByConvenioIdOrderByNomeAsc(convenioId);
-
-        return tabelas.stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        ReferenceDataSnapshot<Map<UUID, List<TabelaValoresDto>>> tabelas = getTabelasPorConvenio();
+        return new ReferenceDataSnapshot<>(tabelas.dados().getOrDefault(convenioId, List.of()), tabelas.etag());
     }
 
     @Override
@@ -102,6 +111,7 @@ public class TabelaValoresServiceImpl implements TabelaValoresService {
         tabela.setCreatedBy(currentUser);
 
         TabelaValores savedTabela = tabelaValoresRepository.save(tabela);
+        referenceDataRegistry.invalidar(ReferenceDataRegistry.Conjunto.TABELAS_VALORES);
         logger.info("Tabela de valores criada com sucesso. ID: {}", savedTabela.getId());
 
         return mapToDto(savedTabela);
@@ -145,6 +155,7 @@ public class TabelaValoresServiceImpl implements TabelaValoresService {
         tabela.setConteudo(tabelaUpdateDto.getConteudo());
 
         TabelaValores updatedTabela = tabelaValoresRepository.save(tabela);
+        referenceDataRegistry.invalidar(ReferenceDataRegistry.Conjunto.TABELAS_VALORES);
         logger.info("Tabela de valores atualizada com sucesso. ID: {}", updatedTabela.getId());
 
         return mapToDto(updatedTabela);
@@ -172,6 +183,7 @@ public class TabelaValoresServiceImpl implements TabelaValoresService {
 
         // Excluir a tabela
         tabelaValoresRepository.delete(tabela);
+        referenceDataRegistry.invalidar(ReferenceDataRegistry.Conjunto.TABELAS_VALORES);
         logger.info("Tabela de valores excluída com sucesso. ID: {}", id);
     }
 
@@ -179,11 +191,11 @@ public class TabelaValoresServiceImpl implements TabelaValoresService {
     public long countTabelasByConvenioId(UUID convenioId) {
         logger.info("Contando tabelas para o convênio com ID: {}", convenioId);
 
-        if (!convenioRepository.existsById(convenioId)) {
+        if (!convenioService.existsConvenio(convenioId)) {
             throw new ResourceNotFoundException("Convênio não encontrado com ID: " + convenioId);
         }
 
-        return tabelaValoresRepository.countByConvenioId(convenioId);
+        return getTabelasPorConvenio().dados().getOrDefault(convenioId, List.of()).size();
     }
 
     // Métodos auxiliares
@@ -196,6 +208,19 @@ public class TabelaValoresServiceImpl implements TabelaValoresService {
                 .orElseThrow(() -> new IllegalStateException("Usuário autenticado não encontrado no sistema"));
     }
 
+    // Tabelas de todos os convênios, agrupadas por convênio e ordenadas por nome.
+    // O mapa é ordenado para que o ETag calculado sobre ele seja o mesmo em todas as instâncias
+    private ReferenceDataSnapshot<Map<UUID, List<TabelaValoresDto>>> getTabelasPorConvenio() {
+        return referenceDataRegistry.obter(ReferenceDataRegistry.Conjunto.TABELAS_VALORES, () -> {
+            Map<UUID, List<TabelaValoresDto>> porConvenio = tabelaValoresRepository
+                    .findAllWithConvenioAndCreatedByOrderByNomeAsc().stream()
+                    .map(this::mapToDto)
+                    .collect(Collectors.groupingBy(TabelaValoresDto::getConvenioId, TreeMap::new,
+                            Collectors.collectingAndThen(Collectors.toList(), List::copyOf)));
+            return Collections.unmodifiableMap(porConvenio);
+        });
+    }
+
     private TabelaValoresDto mapToDto(TabelaValores tabela) {
         TabelaValoresDto dto = new TabelaValoresDto();
         dto.setId(tabela.getId());
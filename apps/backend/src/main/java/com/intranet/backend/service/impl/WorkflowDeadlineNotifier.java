@@ -0,0 +1,130 @@
+package com.intranet.backend.service.impl;
+
+import com.intranet.backend.dto.WorkflowNotificationDto;
+import com.intranet.backend.model.WorkflowNotification;
+import com.intranet.backend.repository.UserRepository;
+import com.intranet.backend.repository.WorkflowNotificationRepository;
+import com.intranet.backend.repository.WorkflowRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Verificação agendada de prazos de fluxos.
+ * Os fluxos com prazo vencido ou próximo do vencimento e os destinatários que ainda não foram notificados
+ * no dia são calculados no banco; as notificações são gravadas em lote e entregues pelo
+ * {@link WorkflowNotificationPublisher} após o commit.
+ * Um advisory lock do PostgreSQL garante que apenas uma instância execute a verificação por vez.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkflowDeadlineNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowDeadlineNotifier.class);
+
+    // Chave do advisory lock (valor arbitrário, único na aplicação)
+    private static final long CHAVE_LOCK = 0x574B464C4F57444CL;
+
+    private final WorkflowNotificationRepository notificationRepository;
+    private final WorkflowRepository workflowRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WorkflowNotificationPublisher notificationPublisher;
+
+    @Value("${app.workflow.deadline-notifications.days-threshold:3}")
+    private int diasLimite;
+
+    @Scheduled(cron = "${app.workflow.deadline-notifications.cron:0 0 8 * * ?}")
+    public void verificarPrazosAgendado() {
+        // Transação pelo TransactionTemplate: chamada na própria classe, verificarPrazos não passa pelo proxy
+        try {
+            transactionTemplate.execute(status -> verificarPrazos(diasLimite));
+        } catch (Exception e) {
+            logger.error("Erro na verificação agendada de prazos de fluxos: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Cria as notificações de prazo pendentes do dia.
+     *
+     * @return quantidade de notificações criadas (0 se outra instância estiver executando a verificação)
+     */
+    @Transactional
+    public int verificarPrazos(int daysThreshold) {
+        Boolean lockObtido = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, CHAVE_LOCK);
+        if (!Boolean.TRUE.equals(lockObtido)) {
+            logger.info("Verificação de prazos já em execução em outra instância");
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime thresholdDate = now.plusDays(daysThreshold);
+        LocalDateTime inicioDoDia = now.toLocalDate().atStartOfDay();
+
+        List<Object[]> pendentes = new ArrayList<>(
+                notificationRepository.findPendingDeadlineNotificationsForCreators(thresholdDate, inicioDoDia));
+        pendentes.addAll(notificationRepository.findPendingDeadlineNotificationsForAssignees(thresholdDate, inicioDoDia));
+
+        if (pendentes.isEmpty()) {
+            logger.info("Nenhuma notificação de prazo pendente");
+            return 0;
+        }
+
+        List<WorkflowNotification> notifications = new ArrayList<>(pendentes.size());
+        for (Object[] row : pendentes) {
+            UUID workflowId = (UUID) row[0];
+            String workflowTitle = (String) row[1];
+            LocalDateTime deadline = (LocalDateTime) row[2];
+            UUID userId = (UUID) row[3];
+
+            WorkflowNotification notification = new WorkflowNotification();
+            notification.setWorkflow(workflowRepository.getReferenceById(workflowId));
+            notification.setUser(userRepository.getReferenceById(userId));
+            notification.setTitle("Prazo se aproximando: " + workflowTitle);
+            notification.setMessage(buildMensagemPrazo(workflowTitle, (int) ChronoUnit.DAYS.between(now, deadline)));
+            notification.setType("deadline");
+            notification.setRead(false);
+            notifications.add(notification);
+        }
+
+        notificationRepository.saveAll(notifications);
+
+        // Entregar em tempo real após o commit (o título do fluxo vem da consulta, sem carregar o proxy)
+        List<WorkflowNotificationDto> dtos = new ArrayList<>(notifications.size());
+        for (int i = 0; i < notifications.size(); i++) {
+            WorkflowNotification n = notifications.get(i);
+            dtos.add(new WorkflowNotificationDto(n.getId(), (UUID) pendentes.get(i)[0], (String) pendentes.get(i)[1],
+                    (UUID) pendentes.get(i)[3], n.getTitle(), n.getMessage(), n.getType(), false, n.getCreatedAt()));
+        }
+        notificationPublisher.publicarAposCommit(dtos);
+
+        logger.info("{} notificações de prazo criadas", notifications.size());
+        return notifications.size();
+    }
+
+    /**
+     * Monta a mensagem de prazo de um fluxo; dias restantes menores ou iguais a zero indicam prazo vencido.
+     */
+    static String buildMensagemPrazo(String workflowTitle, int daysRemaining) {
+        if (daysRemaining <= 0) {
+            return "O prazo do fluxo \"" + workflowTitle + "\" venceu hoje!";
+        } else if (daysRemaining == 1) {
+            return "O prazo do fluxo \"" + workflowTitle + "\" vence amanhã.";
+        }
+        return "O prazo do fluxo \"" + workflowTitle + "\" vence em " + daysRemaining + " dias.";
+    }
+}
@@ -0,0 +1,72 @@
+package com.intranet.backend.service.impl;
+
+import com.intranet.backend.dto.WorkflowNotificationDto;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Entrega em tempo real das notificações de fluxo.
+ * Após o commit da transação que as criou, cada notificação é enviada ao destino STOMP do usuário
+ * (/topic/user/{userId}/workflow-notifications) e o contador de não lidas é atualizado.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkflowNotificationPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowNotificationPublisher.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final WorkflowUnreadCounter unreadCounter;
+
+    public void publicarAposCommit(List<WorkflowNotificationDto> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+
+        aposCommit(() -> {
+            for (WorkflowNotificationDto notification : notifications) {
+                unreadCounter.incrementar(notification.getUserId(), 1);
+
+                try {
+                    messagingTemplate.convertAndSend(getDestino(notification.getUserId()), notification);
+                } catch (Exception e) {
+                    logger.warn("Erro ao enviar notificação de fluxo via WebSocket: {}", e.getMessage());
+                }
+            }
+        });
+    }
+
+    public void marcarLidaAposCommit(UUID userId) {
+        aposCommit(() -> unreadCounter.decrementar(userId));
+    }
+
+    public void marcarTodasLidasAposCommit(UUID userId) {
+        aposCommit(() -> unreadCounter.zerar(userId));
+    }
+
+    private String getDestino(UUID userId) {
+        return "/topic/user/" + userId + "/workflow-notifications";
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
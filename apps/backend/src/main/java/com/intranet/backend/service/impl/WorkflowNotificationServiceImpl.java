@@ -16,8 +16,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -32,8 +31,11 @@ public class WorkflowNotificationServiceImpl implements WorkflowNotificationServ
     private final WorkflowRepository workflowRepository;
     private final WorkflowAssigmentRepository workflowAssigmentRepository;
     private final UserRepository userRepository;
-    private final WorkflowTemplateStepRepository stepRepository;
+    private final WorkflowTemplateMetadataCache templateMetadataCache;
     private final EmailService emailService;
+    private final WorkflowDeadlineNotifier deadlineNotifier;
+    private final WorkflowNotificationPublisher notificationPublisher;
+    private final WorkflowUnreadCounter unreadCounter;
 
     @Override
     @Transactional
@@ -71,7 +73,12 @@ public class WorkflowNotificationServiceImpl implements WorkflowNotificationServ
             // Não falhar a operação se o e-mail não puder ser enviado
         }
 
-        return mapToNotificationDto(savedNotification);
+        WorkflowNotificationDto dto = mapToNotificationDto(savedNotification);
+
+        // Entregar em tempo real ao usuário após o commit
+        notificationPublisher.publicarAposCommit(List.of(dto));
+
+        return dto;
     }
 
     @Override
@@ -87,8 +94,7 @@ public class WorkflowNotificationServiceImpl implements WorkflowNotificationServ
 
         if (stepName == null || stepName.isEmpty()) {
             // Se o nome da etapa não foi fornecido, buscar do banco de dados
-            stepName = stepRepository.findStepNameByTemplateIdAndStepOrder(
-                    workflow.getTemplate().getId(), stepNumber);
+            stepName = templateMetadataCache.getNomeEtapa(workflow.getTemplate().getId(), stepNumber);
 
             if (stepName == null) {
                 stepName = "Etapa " + stepNumber;
@@ -112,15 +118,7 @@ public class WorkflowNotificationServiceImpl implements WorkflowNotificationServ
                 .orElseThrow(() -> new ResourceNotFoundException("Fluxo não encontrado com o ID: " + workflowId));
 
         String title = "Prazo se aproximando: " + workflow.getTitle();
-        String message;
-
-        if (daysRemaining <= 0) {
-            message = "O prazo do fluxo \"" + workflow.getTitle() + "\" venceu hoje!";
-        } else if (daysRemaining == 1) {
-            message = "O prazo do fluxo \"" + workflow.getTitle() + "\" vence amanhã.";
-        } else {
-            message = "O prazo do fluxo \"" + workflow.getTitle() + "\" vence em " + daysRemaining + " dias.";
-        }
+        String message = WorkflowDeadlineNotifier.buildMensagemPrazo(workflow.getTitle(), daysRemaining);
 
         return createNotification(workflowId, userId, title, message, "deadline");
     }
@@ -143,6 +141,39 @@ public class WorkflowNotificationServiceImpl implements WorkflowNotificationServ
         return createNotification(workflowId, userId, title, message, "status_change");
     }
 
+    @Override
+    @Transactional
+    public List<WorkflowNotificationDto> createStatusChangeNotifications(List<StatusChange> statusChanges) {
+        logger.info("Criando {} notificações de mudança de status em lote", statusChanges.size());
+
+        List<WorkflowNotification> notifications = new ArrayList<>(statusChanges.size());
+        for (StatusChange change : statusChanges) {
+            WorkflowNotification notification = new WorkflowNotification();
+            notification.setWorkflow(workflowRepository.getReferenceById(change.workflowId()));
+            notification.setUser(userRepository.getReferenceById(change.userId()));
+            notification.setTitle("Fluxo " + getStatusDisplayName(change.newStatus()) + ": " + change.workflowTitle());
+            notification.setMessage("O fluxo \"" + change.workflowTitle() + "\" mudou de " +
+                    getStatusDisplayName(change.oldStatus()) + " para " + getStatusDisplayName(change.newStatus()) + ".");
+            notification.setType("status_change");
+            notification.setRead(false);
+            notifications.add(notification);
+        }
+
+        notificationRepository.saveAll(notifications);
+
+        // O título do fluxo vem da requisição, sem inicializar os proxies
+        List<WorkflowNotificationDto> dtos = new ArrayList<>(notifications.size());
+        for (int i = 0; i < notifications.size(); i++) {
+            WorkflowNotification n = notifications.get(i);
+            StatusChange change = statusChanges.get(i);
+            dtos.add(new WorkflowNotificationDto(n.getId(), change.workflowId(), change.workflowTitle(),
+                    change.userId(), n.getTitle(), n.getMessage(), n.getType(), false, n.getCreatedAt()));
+        }
+
+        notificationPublisher.publicarAposCommit(dtos);
+        return dtos;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<WorkflowNotificationDto> getUserNotifications(UUID userId, Pageable pageable) {
@@ -177,7 +208,11 @@ public class WorkflowNotificationServiceImpl implements WorkflowNotificationServ
     public void markNotificationAsRead(UUID notificationId) {
         logger.info("Marcando notificação como lida: {}", notificationId);
 
-        notificationRepository.markAsRead(notificationId);
+        // A condição read = false fica no UPDATE: em requisições concorrentes só uma altera a linha e decrementa
+        if (notificationRepository.markAsRead(notificationId) == 1) {
+            notificationRepository.findUserIdById(notificationId)
+                    .ifPresent(notificationPublisher::marcarLidaAposCommit);
+        }
     }
 
     @Override
@@ -186,12 +221,13 @@ public class WorkflowNotificationServiceImpl implements WorkflowNotificationServ
         logger.info("Marcando todas as notificações do usuário como lidas: {}", userId);
 
         notificationRepository.markAllAsRead(userId);
+        notificationPublisher.marcarTodasLidasAposCommit(userId);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public int countUnreadNotifications(UUID userId) {
-        return notificationRepository.countUnreadNotifications(userId);
+        // Contador em memória; o banco só é consultado na primeira chamada do usuário
+        return unreadCounter.obter(userId);
     }
 
     @Override
@@ -199,67 +235,8 @@ public class WorkflowNotificationServiceImpl implements WorkflowNotificationServ
     public void checkAndSendDeadlineNotifications(int daysThreshold) {
         logger.info("Verificando fluxos com prazo próximo do vencimento (limite: {} dias)", daysThreshold);
 
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime thresholdDate = now.plusDays(daysThreshold);
-
-        // Buscar fluxos com prazo entre agora e o limite
-        List<Workflow> workflows = workflowRepository.findWorkflowsWithDeadlineBetween(now, thresholdDate);
-
-        for (Workflow workflow : workflows) {
-            // Calcular dias restantes
-            int daysRemaining = (int) ChronoUnit.DAYS.between(now, workflow.getDeadline());
-
-            // Verificar se já existe notificação para este fluxo hoje
-            List<WorkflowNotification> existingNotifications = notificationRepository.findByWorkflowIdAndUserId(
-                    workflow.getId(), workflow.getCreatedBy().getId());
-
-            boolean alreadyNotified = existingNotifications.stream()
-                    .anyMatch(notification ->
-                            notification.getType().equals("deadline") &&
-                                    notification.getCreatedAt().toLocalDate().equals(now.toLocalDate()));
-
-            if (!alreadyNotified) {
-                // Notificar o criador do fluxo
-                createDeadlineNotification(workflow.getId(), workflow.getCreatedBy().getId(), daysRemaining);
-
-                // Também notificar o responsável atual, se for diferente do criador
-                workflowAssigmentRepository.findCurrentAssignment(workflow.getId())
-                        .ifPresent(assignment -> {
-                            if (!assignment.getAssignedTo().getId().equals(workflow.getCreatedBy().getId())) {
-                                createDeadlineNotification(
-                                        workflow.getId(), assignment.getAssignedTo().getId(), daysRemaining);
-                            }
-                        });
-            }
-        }
-
-        // Buscar fluxos com prazo vencido (overdue)
-        List<Workflow> overdueWorkflows = workflowRepository.findOverdueWorkflows(now);
-
-        for (Workflow workflow : overdueWorkflows) {
-            // Verificar se já existe notificação para este fluxo hoje
-            List<WorkflowNotification> existingNotifications = notificationRepository.findByWorkflowIdAndUserId(
-                    workflow.getId(), workflow.getCreatedBy().getId());
-
-            boolean alreadyNotified = existingNotifications.stream()
-                    .anyMatch(notification ->
-                            notification.getType().equals("deadline") &&
-                                    notification.getCreatedAt().toLocalDate().equals(now.toLocalDate()));
-
-            if (!alreadyNotified) {
-                // Notificar o criador do fluxo
-                createDeadlineNotification(workflow.getId(), workflow.getCreatedBy().getId(), 0);
-
-                // Também notificar o responsável atual, se for diferente do criador
-                workflowAssigmentRepository.findCurrentAssignment(workflow.getId())
-                        .ifPresent(assignment -> {
-                            if (!assignment.getAssignedTo().getId().equals(workflow.getCreatedBy().getId())) {
-                                createDeadlineNotification(
-                                        workflow.getId(), assignment.getAssignedTo().getId(), 0);
-                            }
-                        });
-            }
-        }
+        int criadas = deadlineNotifier.verificarPrazos(daysThreshold);
+        logger.info("Verificação de prazos concluída: {} notificações criadas", criadas);
     }
 
     /**
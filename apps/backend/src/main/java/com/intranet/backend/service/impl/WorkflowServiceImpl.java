@@ -10,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -18,6 +19,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
@@ -31,7 +33,6 @@ public class WorkflowServiceImpl implements WorkflowService {
 
     private final WorkflowRepository workflowRepository;
     private final WorkflowTemplateRepository templateRepository;
-    private final WorkflowTemplateStepRepository stepRepository;
     private final WorkflowAssigmentRepository assignmentRepository;
     private final WorkflowTransitionRepository transitionRepository;
     private final UserRepository userRepository;
@@ -39,6 +40,10 @@ public class WorkflowServiceImpl implements WorkflowService {
     private final WorkflowNotificationService notificationService;
     private final WorkflowStatusTemplateRepository statusTemplateRepository;
     private final WorkflowStatusItemRepository statusItemRepository;
+    private final WorkflowStatsCache statsCache;
+    private final WorkflowTemplateMetadataCache templateMetadataCache;
+    private final WorkflowTimelineRepository timelineRepository;
+    private final WorkflowTimelineWriter timelineWriter;
 
     // Constante para definir quando um fluxo está próximo do vencimento (em dias)
     private static final int NEAR_DEADLINE_DAYS = 3;
@@ -46,6 +51,12 @@ public class WorkflowServiceImpl implements WorkflowService {
     // Constante para definir o limite de carga de trabalho para um usuário (número de tarefas ativas)
     private static final int WORKLOAD_THRESHOLD = 10;
 
+    // Tamanho máximo de página do quadro por cursor
+    private static final int MAX_BOARD_PAGE_SIZE = 100;
+
+    // Quantidade máxima de fluxos por transição em massa
+    private static final int MAX_BULK_SIZE = 1000;
+
     @Override
     @Transactional
     public WorkflowDto createWorkflow(WorkflowCreateDto workflowDto, UUID createdById) {
@@ -54,12 +65,10 @@ public class WorkflowServiceImpl implements WorkflowService {
         User createdBy = userRepository.findById(createdById)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com o ID: " + createdById));
 
-        WorkflowTemplate template = templateRepository.findById(workflowDto.getTemplateId())
-                .orElseThrow(() -> new ResourceNotFoundException("Template não encontrado com o ID: " + workflowDto.getTemplateId()));
+        WorkflowTemplateMetadataCache.EstruturaTemplate template = verificarTemplateExiste(workflowDto.getTemplateId());
 
         // Verificar se o template tem passos
-        int stepsCount = stepRepository.countStepsByTemplateId(template.getId());
-        if (stepsCount == 0) {
+        if (template.totalEtapas() == 0) {
             throw new IllegalStateException("O template selecionado não possui etapas definidas.");
         }
 
@@ -71,7 +80,7 @@ public class WorkflowServiceImpl implements WorkflowService {
 
         // Criar o fluxo
         Workflow workflow = new Workflow();
-        workflow.setTemplate(template);
+        workflow.setTemplate(templateRepository.getReferenceById(template.id()));
         workflow.setTitle(workflowDto.getTitle());
         workflow.setDescription(workflowDto.getDescription());
         workflow.setPriority(workflowDto.getPriority());
@@ -84,14 +93,15 @@ public class WorkflowServiceImpl implements WorkflowService {
         workflow.setProgressPercentage(0);
 
         if (workflowDto.getStatusTemplateId() != null) {
-            WorkflowStatusTemplate statusTemplate = statusTemplateRepository.findById(workflowDto.getStatusTemplateId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Template de status não encontrado com o ID: " + workflowDto.getStatusTemplateId()));
+            WorkflowTemplateMetadataCache.EstruturaStatus statusTemplate = verificarStatusTemplateExiste(workflowDto.getStatusTemplateId());
 
-            workflow.setStatusTemplate(statusTemplate);
+            workflow.setStatusTemplate(statusTemplateRepository.getReferenceById(statusTemplate.id()));
 
             // Buscar o status inicial
-            Optional<WorkflowStatusItem> initialStatus = statusItemRepository.findInitialStatusByTemplateId(statusTemplate.getId());
-            initialStatus.ifPresent(workflow::setCustomStatus);
+            WorkflowTemplateMetadataCache.ItemStatus initialStatus = statusTemplate.inicial();
+            if (initialStatus != null) {
+                workflow.setCustomStatus(statusItemRepository.getReferenceById(initialStatus.id()));
+            }
         }
 
         Workflow savedWorkflow = workflowRepository.save(workflow);
@@ -107,7 +117,7 @@ public class WorkflowServiceImpl implements WorkflowService {
         }
 
         // Buscar o nome da primeira etapa
-        String stepName = stepRepository.findStepNameByTemplateIdAndStepOrder(template.getId(), 1);
+        String stepName = templateMetadataCache.getNomeEtapa(template.id(), 1);
 
         WorkflowAssignment assignment = new WorkflowAssignment();
         assignment.setWorkflow(savedWorkflow);
@@ -132,6 +142,8 @@ public class WorkflowServiceImpl implements WorkflowService {
         transition.setCreatedBy(createdBy);
 
         transitionRepository.save(transition);
+        timelineWriter.registrar(transition);
+        statsCache.invalidar();
 
         // Enviar notificação se o destinatário for diferente do criador
         if (!assignedTo.getId().equals(createdBy.getId())) {
@@ -171,7 +183,7 @@ public class WorkflowServiceImpl implements WorkflowService {
         );
 
         Page<Workflow> workflows = workflowRepository.findAll(sortedPageable);
-        return workflows.map(this::mapToWorkflowSummaryDto);
+        return mapToWorkflowSummaryPage(workflows);
     }
 
     @Override
@@ -181,7 +193,7 @@ public class WorkflowServiceImpl implements WorkflowService {
 
         Page<Workflow> workflows = workflowRepository.findByStatus(status, pageable);
 
-        return workflows.map(this::mapToWorkflowSummaryDto);
+        return mapToWorkflowSummaryPage(workflows);
     }
 
     @Override
@@ -191,7 +203,7 @@ public class WorkflowServiceImpl implements WorkflowService {
 
         Page<Workflow> workflows = workflowRepository.findByCustomStatusId(statusId, pageable);
 
-        return workflows.map(this::mapToWorkflowSummaryDto);
+        return mapToWorkflowSummaryPage(workflows);
     }
 
     @Override
@@ -201,7 +213,7 @@ public class WorkflowServiceImpl implements WorkflowService {
 
         Page<Workflow> workflows = workflowRepository.findByTeamId(teamId, pageable);
 
-        return workflows.map(this::mapToWorkflowSummaryDto);
+        return mapToWorkflowSummaryPage(workflows);
     }
 
     @Override
@@ -211,7 +223,7 @@ public class WorkflowServiceImpl implements WorkflowService {
 
         Page<Workflow> workflows = workflowRepository.findByCurrentStep(stepNumber, pageable);
 
-        return workflows.map(this::mapToWorkflowSummaryDto);
+        return mapToWorkflowSummaryPage(workflows);
     }
 
     @Override
@@ -239,9 +251,7 @@ public class WorkflowServiceImpl implements WorkflowService {
 
         List<Workflow> workflows = workflowRepository.findWorkflowsAssignedToUserOrderByTitle(userId);
 
-        return workflows.stream()
-                .map(this::mapToWorkflowSummaryDto)
-                .collect(Collectors.toList());
+        return mapToWorkflowSummaryDtos(workflows);
     }
 
     @Override
@@ -251,7 +261,7 @@ public class WorkflowServiceImpl implements WorkflowService {
 
         Page<Workflow> workflows = workflowRepository.findVisibleWorkflows(userId, pageable);
 
-        return workflows.map(this::mapToWorkflowSummaryDto);
+        return mapToWorkflowSummaryPage(workflows);
     }
 
     @Override
@@ -260,13 +270,12 @@ public class WorkflowServiceImpl implements WorkflowService {
         logger.info("Buscando fluxos de trabalho do template: {}", templateId);
 
         // Verificar se o template existe
-        templateRepository.findById(templateId)
-                .orElseThrow(() -> new ResourceNotFoundException("Template não encontrado com o ID: " + templateId));
+        verificarTemplateExiste(templateId);
 
         // Consultar os workflows com o template especificado
         Page<Workflow> workflows = workflowRepository.findByTemplateId(templateId, pageable);
 
-        return workflows.map(this::mapToWorkflowSummaryDto);
+        return mapToWorkflowSummaryPage(workflows);
     }
 
     @Override
@@ -275,13 +284,12 @@ public class WorkflowServiceImpl implements WorkflowService {
         logger.info("Buscando fluxos de trabalho do template: {} com status: {}", templateId, status);
 
         // Verificar se o template existe
-        templateRepository.findById(templateId)
-                .orElseThrow(() -> new ResourceNotFoundException("Template não encontrado com o ID: " + templateId));
+        verificarTemplateExiste(templateId);
 
         // Consultar os workflows com o template e status especificados
         Page<Workflow> workflows = workflowRepository.findByTemplateIdAndStatus(templateId, status, pageable);
 
-        return workflows.map(this::mapToWorkflowSummaryDto);
+        return mapToWorkflowSummaryPage(workflows);
     }
 
     @Override
@@ -290,14 +298,11 @@ public class WorkflowServiceImpl implements WorkflowService {
         logger.info("Buscando fluxos de trabalho atribuídos ao usuário: {} filtrados pelo template: {}", userId, templateId);
 
         // Verificar se o template existe
-        templateRepository.findById(templateId)
-                .orElseThrow(() -> new ResourceNotFoundException("Template não encontrado com o ID: " + templateId));
+        verificarTemplateExiste(templateId);
 
         List<Workflow> workflows = workflowRepository.findWorkflowsAssignedToUserByTemplateOrderByTitle(userId, templateId);
 
-        return workflows.stream()
-                .map(this::mapToWorkflowSummaryDto)
-                .collect(Collectors.toList());
+        return mapToWorkflowSummaryDtos(workflows);
     }
 
 
@@ -311,7 +316,7 @@ public class WorkflowServiceImpl implements WorkflowService {
         }
 
         Page<Workflow> workflows = workflowRepository.findByTitleContaining(searchTerm.trim(), pageable);
-        return workflows.map(this::mapToWorkflowSummaryDto);
+        return mapToWorkflowSummaryPage(workflows);
     }
 
     @Override
@@ -325,7 +330,7 @@ public class WorkflowServiceImpl implements WorkflowService {
 
         Page<Workflow> workflows = workflowRepository.findByTitleContainingAndStatus(
                 searchTerm.trim(), status, pageable);
-        return workflows.map(this::mapToWorkflowSummaryDto);
+        return mapToWorkflowSummaryPage(workflows);
     }
 
     @Override
@@ -334,8 +339,7 @@ public class WorkflowServiceImpl implements WorkflowService {
         logger.info("Pesquisando fluxos de trabalho com termo: {} do template: {}", searchTerm, templateId);
 
         // Verificar se o template existe
-        templateRepository.findById(templateId)
-                .orElseThrow(() -> new ResourceNotFoundException("Template não encontrado com o ID: " + templateId));
+        verificarTemplateExiste(templateId);
 
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return getWorkflowsByTemplate(templateId, pageable);
@@ -343,7 +347,7 @@ public class WorkflowServiceImpl implements WorkflowService {
 
         Page<Workflow> workflows = workflowRepository.findByTitleContainingAndTemplateId(
                 searchTerm.trim(), templateId, pageable);
-        return workflows.map(this::mapToWorkflowSummaryDto);
+        return mapToWorkflowSummaryPage(workflows);
     }
 
     @Override
@@ -354,8 +358,7 @@ public class WorkflowServiceImpl implements WorkflowService {
                 searchTerm, templateId, status);
 
         // Verificar se o template existe
-        templateRepository.findById(templateId)
-                .orElseThrow(() -> new ResourceNotFoundException("Template não encontrado com o ID: " + templateId));
+        verificarTemplateExiste(templateId);
 
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return getWorkflowsByTemplateAndStatus(templateId, status, pageable);
@@ -363,7 +366,7 @@ public class WorkflowServiceImpl implements WorkflowService {
 
         Page<Workflow> workflows = workflowRepository.findByTitleContainingAndTemplateIdAndStatus(
                 searchTerm.trim(), templateId, status, pageable);
-        return workflows.map(this::mapToWorkflowSummaryDto);
+        return mapToWorkflowSummaryPage(workflows);
     }
 
     @Override
@@ -378,9 +381,7 @@ public class WorkflowServiceImpl implements WorkflowService {
         List<Workflow> workflows = workflowRepository.findWorkflowsAssignedToUserByTitleContainingOrderByTitle(
                 userId, searchTerm.trim());
 
-        return workflows.stream()
-                .map(this::mapToWorkflowSummaryDto)
-                .collect(Collectors.toList());
+        return mapToWorkflowSummaryDtos(workflows);
     }
 
     @Override
@@ -389,7 +390,7 @@ public class WorkflowServiceImpl implements WorkflowService {
         logger.info("Buscando todos os fluxos de trabalho agrupados por status (incluindo status personalizados)");
 
         Page<Workflow> workflows = workflowRepository.findAllGroupedByStatusAndCustomStatusOrderByTitle(pageable);
-        return workflows.map(this::mapToWorkflowSummaryDto);
+        return mapToWorkflowSummaryPage(workflows);
     }
 
     @Override
@@ -398,11 +399,10 @@ public class WorkflowServiceImpl implements WorkflowService {
         logger.info("Buscando fluxos de trabalho do template {} agrupados por status (incluindo status personalizados)", templateId);
 
         // Verificar se o template existe
-        templateRepository.findById(templateId)
-                .orElseThrow(() -> new ResourceNotFoundException("Template não encontrado com o ID: " + templateId));
+        verificarTemplateExiste(templateId);
 
         Page<Workflow> workflows = workflowRepository.findByTemplateIdGroupedByStatusAndCustomStatusOrderByTitle(templateId, pageable);
-        return workflows.map(this::mapToWorkflowSummaryDto);
+        return mapToWorkflowSummaryPage(workflows);
     }
 
     @Override
@@ -415,7 +415,7 @@ public class WorkflowServiceImpl implements WorkflowService {
         }
 
         Page<Workflow> workflows = workflowRepository.findByTitleContainingGroupedByStatusAndCustomStatusOrderByTitle(searchTerm.trim(), pageable);
-        return workflows.map(this::mapToWorkflowSummaryDto);
+        return mapToWorkflowSummaryPage(workflows);
     }
 
     @Override
@@ -424,8 +424,7 @@ public class WorkflowServiceImpl implements WorkflowService {
         logger.info("Pesquisando fluxos de trabalho do template {} agrupados por status (incluindo status personalizados) com termo: {}", templateId, searchTerm);
 
         // Verificar se o template existe
-        templateRepository.findById(templateId)
-                .orElseThrow(() -> new ResourceNotFoundException("Template não encontrado com o ID: " + templateId));
+        verificarTemplateExiste(templateId);
 
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return getWorkflowsByTemplateGroupedByStatus(templateId, pageable);
@@ -433,7 +432,7 @@ public class WorkflowServiceImpl implements WorkflowService {
 
         Page<Workflow> workflows = workflowRepository.findByTitleContainingAndTemplateIdGroupedByStatusAndCustomStatusOrderByTitle(
                 searchTerm.trim(), templateId, pageable);
-        return workflows.map(this::mapToWorkflowSummaryDto);
+        return mapToWorkflowSummaryPage(workflows);
     }
 
     @Override
@@ -444,8 +443,7 @@ public class WorkflowServiceImpl implements WorkflowService {
                 userId, templateId, searchTerm);
 
         // Verificar se o template existe
-        templateRepository.findById(templateId)
-                .orElseThrow(() -> new ResourceNotFoundException("Template não encontrado com o ID: " + templateId));
+        verificarTemplateExiste(templateId);
 
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return getWorkflowsAssignedToUserByTemplate(userId, templateId);
@@ -454,9 +452,55 @@ public class WorkflowServiceImpl implements WorkflowService {
         List<Workflow> workflows = workflowRepository.findWorkflowsAssignedToUserByTemplateAndTitleContainingOrderByTitle(
                 userId, templateId, searchTerm.trim());
 
-        return workflows.stream()
-                .map(this::mapToWorkflowSummaryDto)
-                .collect(Collectors.toList());
+        return mapToWorkflowSummaryDtos(workflows);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public WorkflowBoardPageDto getWorkflowBoardPage(UUID templateId, String searchTerm, String cursor, int size) {
+        logger.info("Buscando quadro de fluxos por cursor - Template: {}, termo: {}", templateId, searchTerm);
+
+        if (size < 1 || size > MAX_BOARD_PAGE_SIZE) {
+            throw new IllegalArgumentException("Tamanho de página inválido: " + size);
+        }
+
+        String term = searchTerm != null && !searchTerm.trim().isEmpty() ? searchTerm.trim() : null;
+
+        // Primeira página: cursor anterior a qualquer fluxo
+        int sortKey = Integer.MIN_VALUE;
+        String title = "";
+        UUID id = new UUID(0L, 0L);
+
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+                sortKey = Integer.parseInt(parts[0]);
+                id = UUID.fromString(parts[1]);
+                title = parts[2];
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+        }
+
+        // Buscar um item a mais para saber se existe próxima página
+        PageRequest limite = PageRequest.of(0, size + 1);
+        List<Workflow> workflows = templateId != null
+                ? workflowRepository.findBoardPageAfterByTemplate(templateId, term, sortKey, title, id, limite)
+                : workflowRepository.findBoardPageAfter(term, sortKey, title, id, limite);
+
+        boolean hasNext = workflows.size() > size;
+        if (hasNext) {
+            workflows = workflows.subList(0, size);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            Workflow last = workflows.get(workflows.size() - 1);
+            String value = last.getBoardSortKey() + "|" + last.getId() + "|" + last.getTitle();
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return new WorkflowBoardPageDto(mapToWorkflowSummaryDtos(workflows), nextCursor, hasNext, size);
     }
 
     @Override
@@ -483,7 +527,7 @@ public class WorkflowServiceImpl implements WorkflowService {
         assignmentRepository.save(currentAssignment);
 
         // Buscar total de etapas no template
-        int totalSteps = stepRepository.countStepsByTemplateId(workflow.getTemplate().getId());
+        int totalSteps = templateMetadataCache.contarEtapas(workflow.getTemplate().getId());
 
         // Verificar se esta é a última etapa
         if (workflow.getCurrentStep() >= totalSteps) {
@@ -505,6 +549,8 @@ public class WorkflowServiceImpl implements WorkflowService {
             transition.setCreatedBy(currentAssignment.getAssignedTo());
 
             transitionRepository.save(transition);
+            timelineWriter.registrar(transition);
+            statsCache.invalidar();
 
             // Enviar notificação ao criador do fluxo
             notificationService.createStatusChangeNotification(
@@ -545,8 +591,7 @@ public class WorkflowServiceImpl implements WorkflowService {
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com o ID: " + assignToId));
 
         // Buscar o nome da próxima etapa
-        String nextStepName = stepRepository.findStepNameByTemplateIdAndStepOrder(
-                workflow.getTemplate().getId(), nextStepNumber);
+        String nextStepName = templateMetadataCache.getNomeEtapa(workflow.getTemplate().getId(), nextStepNumber);
 
         // Criar nova atribuição
         WorkflowAssignment newAssignment = new WorkflowAssignment();
@@ -572,6 +617,8 @@ public class WorkflowServiceImpl implements WorkflowService {
         transition.setCreatedBy(currentAssignment.getAssignedTo());
 
         transitionRepository.save(transition);
+        timelineWriter.registrar(transition);
+        statsCache.invalidar();
 
         // Enviar notificação ao novo responsável
         notificationService.createAssignmentNotification(
@@ -610,7 +657,7 @@ public class WorkflowServiceImpl implements WorkflowService {
         workflow.setStatus(newStatus);
 
         // Buscar total de etapas no template
-        int totalSteps = stepRepository.countStepsByTemplateId(workflow.getTemplate().getId());
+        int totalSteps = templateMetadataCache.contarEtapas(workflow.getTemplate().getId());
 
         // Se estiver sendo concluído, definir progresso como 100%
         if ("completed".equals(newStatus)) {
@@ -668,6 +715,8 @@ public class WorkflowServiceImpl implements WorkflowService {
         transition.setCreatedBy(fromUser != null ? fromUser : workflow.getCreatedBy());
 
         transitionRepository.save(transition);
+        timelineWriter.registrar(transition);
+        statsCache.invalidar();
 
         // Enviar notificação ao criador do fluxo
         notificationService.createStatusChangeNotification(
@@ -693,6 +742,130 @@ public class WorkflowServiceImpl implements WorkflowService {
         return mapToWorkflowDto(updatedWorkflow);
     }
 
+    @Override
+    @Transactional
+    public WorkflowBulkResultDto bulkUpdateWorkflowStatus(List<UUID> workflowIds, String newStatus, String comments) {
+        logger.info("Atualizando status de {} fluxos em massa para: {}", workflowIds.size(), newStatus);
+
+        // Verificar se o status é válido
+        if (!Arrays.asList("in_progress", "paused", "completed", "canceled", "archived").contains(newStatus)) {
+            throw new IllegalArgumentException("Status inválido: " + newStatus);
+        }
+
+        Set<UUID> ids = new LinkedHashSet<>(workflowIds);
+        if (ids.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("É possível atualizar no máximo " + MAX_BULK_SIZE + " fluxos por vez.");
+        }
+
+        List<UUID> skippedIds = new ArrayList<>();
+        List<UUID> notFoundIds = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return new WorkflowBulkResultDto(0, 0, skippedIds, notFoundIds);
+        }
+
+        Map<UUID, Workflow> workflowsById = workflowRepository.findAllByIdInWithCreatedBy(ids).stream()
+                .collect(Collectors.toMap(Workflow::getId, w -> w));
+
+        List<Workflow> workflows = new ArrayList<>();
+        for (UUID id : ids) {
+            Workflow workflow = workflowsById.get(id);
+            if (workflow == null) {
+                notFoundIds.add(id);
+            } else if (workflow.getStatus().equals(newStatus)) {
+                skippedIds.add(id);
+            } else {
+                workflows.add(workflow);
+            }
+        }
+
+        if (workflows.isEmpty()) {
+            return new WorkflowBulkResultDto(ids.size(), 0, skippedIds, notFoundIds);
+        }
+
+        List<UUID> updatedIds = workflows.stream().map(Workflow::getId).collect(Collectors.toList());
+
+        // Atribuições atuais (com responsável) de todos os fluxos em uma consulta
+        Map<UUID, WorkflowAssignment> currentAssignments = new HashMap<>();
+        for (WorkflowAssignment assignment : assignmentRepository.findCurrentAssignmentsByWorkflowIds(updatedIds)) {
+            currentAssignments.put(assignment.getWorkflow().getId(), assignment);
+        }
+
+        // Ao retomar, o progresso é recalculado a partir das etapas concluídas
+        Map<UUID, WorkflowTemplateMetadataCache.EstruturaTemplate> templatesById = new HashMap<>();
+        Map<UUID, Long> completedStepsByWorkflow = new HashMap<>();
+        if ("in_progress".equals(newStatus)) {
+            templatesById = templateMetadataCache.getTemplates(workflows.stream()
+                    .map(w -> w.getTemplate().getId())
+                    .collect(Collectors.toSet()));
+            for (Object[] row : assignmentRepository.countCompletedGroupedByWorkflowId(updatedIds)) {
+                completedStepsByWorkflow.put((UUID) row[0], ((Number) row[1]).longValue());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<WorkflowTransition> transitions = new ArrayList<>(workflows.size());
+        List<WorkflowNotificationService.StatusChange> notifications = new ArrayList<>();
+
+        for (Workflow workflow : workflows) {
+            String oldStatus = workflow.getStatus();
+            workflow.setStatus(newStatus);
+
+            if ("completed".equals(newStatus)) {
+                workflow.setProgressPercentage(100);
+            } else if ("in_progress".equals(newStatus)) {
+                WorkflowTemplateMetadataCache.EstruturaTemplate template = templatesById.get(workflow.getTemplate().getId());
+                long totalSteps = template != null ? template.totalEtapas() : 0;
+                long completedSteps = completedStepsByWorkflow.getOrDefault(workflow.getId(), 0L);
+                workflow.setProgressPercentage(totalSteps > 0
+                        ? (int) Math.floor((double) completedSteps / totalSteps * 100)
+                        : 0);
+            }
+
+            User fromUser = null;
+            WorkflowAssignment currentAssignment = currentAssignments.get(workflow.getId());
+            if (currentAssignment != null) {
+                fromUser = currentAssignment.getAssignedTo();
+
+                // Se o fluxo estiver sendo concluído ou cancelado, finalizar a atribuição atual
+                if ("completed".equals(newStatus) || "canceled".equals(newStatus)) {
+                    currentAssignment.setStatus("completed");
+                    currentAssignment.setCompletionDate(now);
+                }
+            }
+
+            WorkflowTransition transition = new WorkflowTransition();
+            transition.setWorkflow(workflow);
+            transition.setFromStatus(oldStatus);
+            transition.setToStatus(newStatus);
+            transition.setFromStep(workflow.getCurrentStep());
+            transition.setToStep(workflow.getCurrentStep());
+            transition.setFromUser(fromUser);
+            transition.setToUser(fromUser);
+            transition.setComments(comments);
+            transition.setTransitionType("status_change");
+            transition.setCreatedBy(fromUser != null ? fromUser : workflow.getCreatedBy());
+            transitions.add(transition);
+
+            // Notificar o criador e, se for outra pessoa, o responsável atual
+            UUID creatorId = workflow.getCreatedBy().getId();
+            notifications.add(new WorkflowNotificationService.StatusChange(
+                    workflow.getId(), workflow.getTitle(), creatorId, oldStatus, newStatus));
+            if (fromUser != null && !fromUser.getId().equals(creatorId)) {
+                notifications.add(new WorkflowNotificationService.StatusChange(
+                        workflow.getId(), workflow.getTitle(), fromUser.getId(), oldStatus, newStatus));
+            }
+        }
+
+        // Fluxos e atribuições gerenciados são atualizados no flush; transições e notificações em lote
+        transitionRepository.saveAll(transitions);
+        timelineWriter.registrar(transitions);
+        notificationService.createStatusChangeNotifications(notifications);
+        statsCache.invalidar();
+
+        logger.info("Status de {} fluxos atualizado para: {}", workflows.size(), newStatus);
+        return new WorkflowBulkResultDto(ids.size(), workflows.size(), skippedIds, notFoundIds);
+    }
+
     @Override
     @Transactional
     public WorkflowDto updateWorkflowCustomStatus(UUID workflowId, UUID statusId, String comments) {
@@ -706,26 +879,31 @@ public class WorkflowServiceImpl implements WorkflowService {
             throw new IllegalStateException("Este fluxo não possui um template de status associado.");
         }
 
-        // Buscar o novo status
-        WorkflowStatusItem newStatus = statusItemRepository.findById(statusId)
-                .orElseThrow(() -> new ResourceNotFoundException("Status não encontrado com o ID: " + statusId));
+        // Buscar o novo status entre os itens do template de status do fluxo
+        WorkflowTemplateMetadataCache.EstruturaStatus statusTemplate =
+                templateMetadataCache.getStatusTemplate(workflow.getStatusTemplate().getId());
+        WorkflowTemplateMetadataCache.ItemStatus newStatus = statusTemplate != null ? statusTemplate.item(statusId) : null;
 
-        // Verificar se o status pertence ao template do fluxo
-        if (!newStatus.getTemplate().getId().equals(workflow.getStatusTemplate().getId())) {
+        if (newStatus == null) {
+            // Verificar se o status existe e pertence ao template do fluxo
+            statusItemRepository.findById(statusId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Status não encontrado com o ID: " + statusId));
             throw new IllegalArgumentException("O status não pertence ao template de status do fluxo.");
         }
 
         // Guardar o status anterior para o histórico
-        WorkflowStatusItem oldStatus = workflow.getCustomStatus();
+        WorkflowTemplateMetadataCache.ItemStatus oldStatus = workflow.getCustomStatus() != null
+                ? statusTemplate.item(workflow.getCustomStatus().getId())
+                : null;
 
         // Atualizar o status
-        workflow.setCustomStatus(newStatus);
+        workflow.setCustomStatus(statusItemRepository.getReferenceById(newStatus.id()));
 
         // Se o status for final, atualizar o status padrão do fluxo
-        if (newStatus.isFinal()) {
-            if (newStatus.getName().toLowerCase().contains("conclu")) {
+        if (newStatus.fim()) {
+            if (newStatus.nome().toLowerCase().contains("conclu")) {
                 workflow.setStatus("completed");
-            } else if (newStatus.getName().toLowerCase().contains("cancel")) {
+            } else if (newStatus.nome().toLowerCase().contains("cancel")) {
                 workflow.setStatus("canceled");
             }
         }
@@ -733,8 +911,8 @@ public class WorkflowServiceImpl implements WorkflowService {
         // Registrar a transição
         WorkflowTransition transition = new WorkflowTransition();
         transition.setWorkflow(workflow);
-        transition.setFromStatus(oldStatus != null ? oldStatus.getName() : null);
-        transition.setToStatus(newStatus.getName());
+        transition.setFromStatus(oldStatus != null ? oldStatus.nome() : null);
+        transition.setToStatus(newStatus.nome());
         transition.setFromStep(workflow.getCurrentStep());
         transition.setToStep(workflow.getCurrentStep());
         transition.setComments(comments);
@@ -748,6 +926,8 @@ public class WorkflowServiceImpl implements WorkflowService {
 
         transition.setCreatedBy(user);
         transitionRepository.save(transition);
+        timelineWriter.registrar(transition);
+        statsCache.invalidar();
 
         // Salvar o fluxo atualizado
         Workflow updatedWorkflow = workflowRepository.save(workflow);
@@ -785,6 +965,8 @@ public class WorkflowServiceImpl implements WorkflowService {
         }
 
         Workflow updatedWorkflow = workflowRepository.save(workflow);
+        // O prazo pode ter mudado, o que altera a contagem de fluxos atrasados
+        statsCache.invalidar();
         logger.info("Fluxo de trabalho atualizado com sucesso: {}", updatedWorkflow.getId());
 
         return mapToWorkflowDto(updatedWorkflow);
@@ -804,7 +986,7 @@ public class WorkflowServiceImpl implements WorkflowService {
         }
 
         // Verificar se a etapa é válida
-        int totalSteps = stepRepository.countStepsByTemplateId(workflow.getTemplate().getId());
+        int totalSteps = templateMetadataCache.contarEtapas(workflow.getTemplate().getId());
         if (stepNumber < 1 || stepNumber > totalSteps) {
             throw new IllegalArgumentException("Número de etapa inválido: " + stepNumber);
         }
@@ -849,10 +1031,11 @@ public class WorkflowServiceImpl implements WorkflowService {
         transition.setCreatedBy(previousAssignee);
 
         transitionRepository.save(transition);
+        timelineWriter.registrar(transition);
+        statsCache.invalidar();
 
         // Enviar notificação ao novo responsável
-        String stepName = stepRepository.findStepNameByTemplateIdAndStepOrder(
-                workflow.getTemplate().getId(), stepNumber);
+        String stepName = templateMetadataCache.getNomeEtapa(workflow.getTemplate().getId(), stepNumber);
 
         notificationService.createAssignmentNotification(
                 workflow.getId(),
@@ -881,7 +1064,7 @@ public class WorkflowServiceImpl implements WorkflowService {
         }
 
         // Verificar se a etapa é válida
-        int totalSteps = stepRepository.countStepsByTemplateId(workflow.getTemplate().getId());
+        int totalSteps = templateMetadataCache.contarEtapas(workflow.getTemplate().getId());
         if (stepNumber < 1 || stepNumber > totalSteps) {
             throw new IllegalArgumentException("Número de etapa inválido: " + stepNumber);
         }
@@ -917,9 +1100,9 @@ public class WorkflowServiceImpl implements WorkflowService {
     public List<WorkflowTransitionDto> getWorkflowTransitions(UUID workflowId) {
         logger.info("Buscando histórico de transições do fluxo: {}", workflowId);
 
-        List<WorkflowTransition> transitions = transitionRepository.findByWorkflowIdOrderByCreatedAtDesc(workflowId);
+        List<WorkflowTimelineEntry> timeline = timelineRepository.findByWorkflowIdOrderByCreatedAtDesc(workflowId);
 
-        return transitions.stream()
+        return timeline.stream()
                 .map(this::mapToTransitionDto)
                 .collect(Collectors.toList());
     }
@@ -929,27 +1112,12 @@ public class WorkflowServiceImpl implements WorkflowService {
     public WorkflowStatsDto getGeneralWorkflowStatsByTemplate(UUID templateId) {
         logger.info("Obtendo estatísticas gerais de fluxos para o template: {}", templateId);
 
-        // Verificar se o template existe
-        templateRepository.findById(templateId)
-                .orElseThrow(() -> new ResourceNotFoundException("Template não encontrado com o ID: " + templateId));
-
-        WorkflowStatsDto stats = new WorkflowStatsDto();
-
-        // Contagens por status
-        stats.setInProgressCount(workflowRepository.countByTemplateIdAndStatus(templateId, "in_progress"));
-        stats.setPausedCount(workflowRepository.countByTemplateIdAndStatus(templateId, "paused"));
-        stats.setCompletedCount(workflowRepository.countByTemplateIdAndStatus(templateId, "completed"));
-        stats.setCanceledCount(workflowRepository.countByTemplateIdAndStatus(templateId, "canceled"));
-        stats.setArchivedCount(workflowRepository.countByTemplateIdAndStatus(templateId, "archived"));
-
-        stats.setTotalWorkflows(stats.getInProgressCount() + stats.getPausedCount() +
-                stats.getCompletedCount() + stats.getCanceledCount() + stats.getArchivedCount());
-
-        // Fluxos atrasados
-        LocalDateTime now = LocalDateTime.now();
-        stats.setOverdueCount(workflowRepository.countOverdueWorkflowsByTemplateId(templateId, now));
+        return statsCache.obter(() -> {
+            // Verificar se o template existe
+            verificarTemplateExiste(templateId);
 
-        return stats;
+            return calcularContagensPorStatus(templateId, null, null);
+        }, "template", templateId);
     }
 
 
@@ -958,27 +1126,12 @@ public class WorkflowServiceImpl implements WorkflowService {
     public WorkflowStatsDto getGeneralWorkflowStatsByStatusTemplate(UUID statusTemplateId) {
         logger.info("Obtendo estatísticas gerais de fluxos para o template de status: {}", statusTemplateId);
 
-        // Verificar se o template de status existe
-        statusTemplateRepository.findById(statusTemplateId)
-                .orElseThrow(() -> new ResourceNotFoundException("Template de status não encontrado com o ID: " + statusTemplateId));
-
-        WorkflowStatsDto stats = new WorkflowStatsDto();
-
-        // Contagens por status
-        stats.setInProgressCount(workflowRepository.countByStatusTemplateIdAndStatus(statusTemplateId, "in_progress"));
-        stats.setPausedCount(workflowRepository.countByStatusTemplateIdAndStatus(statusTemplateId, "paused"));
-        stats.setCompletedCount(workflowRepository.countByStatusTemplateIdAndStatus(statusTemplateId, "completed"));
-        stats.setCanceledCount(workflowRepository.countByStatusTemplateIdAndStatus(statusTemplateId, "canceled"));
-        stats.setArchivedCount(workflowRepository.countByStatusTemplateIdAndStatus(statusTemplateId, "archived"));
-
-        stats.setTotalWorkflows(stats.getInProgressCount() + stats.getPausedCount() +
-                stats.getCompletedCount() + stats.getCanceledCount() + stats.getArchivedCount());
-
-        // Fluxos atrasados
-        LocalDateTime now = LocalDateTime.now();
-        stats.setOverdueCount(workflowRepository.countOverdueWorkflowsByStatusTemplateId(statusTemplateId, now));
+        return statsCache.obter(() -> {
+            // Verificar se o template de status existe
+            verificarStatusTemplateExiste(statusTemplateId);
 
-        return stats;
+            return calcularContagensPorStatus(null, statusTemplateId, null);
+        }, "statusTemplate", statusTemplateId);
     }
 
     @Override
@@ -1015,6 +1168,8 @@ public class WorkflowServiceImpl implements WorkflowService {
         transition.setCreatedBy(workflow.getCreatedBy());
 
         transitionRepository.save(transition);
+        timelineWriter.registrar(transition);
+        statsCache.invalidar();
 
         Workflow updatedWorkflow = workflowRepository.save(workflow);
         logger.info("Fluxo arquivado com sucesso: {}", workflowId);
@@ -1035,24 +1190,10 @@ public class WorkflowServiceImpl implements WorkflowService {
             throw new IllegalStateException("Só é possível restaurar fluxos arquivados.");
         }
 
-        // Restaurar o status anterior (buscar do histórico)
-        List<WorkflowTransition> transitions = transitionRepository.findByWorkflowIdAndTransitionType(
-                workflowId, "status_change");
-
-        String previousStatus = "completed"; // Status padrão se não for possível determinar o anterior
-
-        if (!transitions.isEmpty()) {
-            // Ordenar do mais recente para o mais antigo
-            transitions.sort(Comparator.comparing(WorkflowTransition::getCreatedAt).reversed());
-
-            // Buscar a transição para arquivamento
-            for (WorkflowTransition transition : transitions) {
-                if ("archived".equals(transition.getToStatus())) {
-                    previousStatus = transition.getFromStatus();
-                    break;
-                }
-            }
-        }
+        // Restaurar o status anterior (buscar o arquivamento mais recente na linha do tempo)
+        // Status padrão se não for possível determinar o anterior
+        String previousStatus = timelineRepository.findStatusBeforeLastArchive(workflowId)
+                .orElse("completed");
 
         workflow.setStatus(previousStatus);
 
@@ -1068,6 +1209,8 @@ public class WorkflowServiceImpl implements WorkflowService {
         transition.setCreatedBy(workflow.getCreatedBy());
 
         transitionRepository.save(transition);
+        timelineWriter.registrar(transition);
+        statsCache.invalidar();
 
         Workflow updatedWorkflow = workflowRepository.save(workflow);
         logger.info("Fluxo restaurado com sucesso para o status: {}", previousStatus);
@@ -1108,9 +1251,7 @@ public class WorkflowServiceImpl implements WorkflowService {
         LocalDateTime now = LocalDateTime.now();
         List<Workflow> workflows = workflowRepository.findOverdueWorkflows(now);
 
-        return workflows.stream()
-                .map(this::mapToWorkflowSummaryDto)
-                .collect(Collectors.toList());
+        return mapToWorkflowSummaryDtos(workflows);
     }
 
     @Override
@@ -1123,9 +1264,7 @@ public class WorkflowServiceImpl implements WorkflowService {
 
         List<Workflow> workflows = workflowRepository.findWorkflowsWithDeadlineBetween(now, thresholdDate);
 
-        return workflows.stream()
-                .map(this::mapToWorkflowSummaryDto)
-                .collect(Collectors.toList());
+        return mapToWorkflowSummaryDtos(workflows);
     }
 
     @Override
@@ -1133,23 +1272,13 @@ public class WorkflowServiceImpl implements WorkflowService {
     public WorkflowStatsDto getUserWorkflowStats(UUID userId) {
         logger.info("Obtendo estatísticas de fluxos para o usuário: {}", userId);
 
-        // Verificar se o usuário existe
-        userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com o ID: " + userId));
-
-        WorkflowStatsDto stats = new WorkflowStatsDto();
-
-        // Contagens por status
-        stats.setInProgressCount(workflowRepository.countByCreatedByIdAndStatus(userId, "in_progress"));
-        stats.setPausedCount(workflowRepository.countByCreatedByIdAndStatus(userId, "paused"));
-        stats.setCompletedCount(workflowRepository.countByCreatedByIdAndStatus(userId, "completed"));
-        stats.setCanceledCount(workflowRepository.countByCreatedByIdAndStatus(userId, "canceled"));
-        stats.setArchivedCount(workflowRepository.countByCreatedByIdAndStatus(userId, "archived"));
+        return statsCache.obter(() -> {
+            // Verificar se o usuário existe
+            userRepository.findById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com o ID: " + userId));
 
-        stats.setTotalWorkflows(stats.getInProgressCount() + stats.getPausedCount() +
-                stats.getCompletedCount() + stats.getCanceledCount() + stats.getArchivedCount());
-
-        return stats;
+            return calcularContagensPorStatus(null, null, userId);
+        }, "user", userId);
     }
 
     @Override
@@ -1157,19 +1286,7 @@ public class WorkflowServiceImpl implements WorkflowService {
     public WorkflowStatsDto getGeneralWorkflowStats() {
         logger.info("Obtendo estatísticas gerais de fluxos");
 
-        WorkflowStatsDto stats = new WorkflowStatsDto();
-
-        // Contagens por status
-        stats.setInProgressCount(workflowRepository.countByStatus("in_progress"));
-        stats.setPausedCount(workflowRepository.countByStatus("paused"));
-        stats.setCompletedCount(workflowRepository.countByStatus("completed"));
-        stats.setCanceledCount(workflowRepository.countByStatus("canceled"));
-        stats.setArchivedCount(workflowRepository.countByStatus("archived"));
-
-        stats.setTotalWorkflows(stats.getInProgressCount() + stats.getPausedCount() +
-                stats.getCompletedCount() + stats.getCanceledCount() + stats.getArchivedCount());
-
-        return stats;
+        return statsCache.obter(() -> calcularContagensPorStatus(null, null, null), "general");
     }
 
     @Override
@@ -1183,91 +1300,104 @@ public class WorkflowServiceImpl implements WorkflowService {
         }
 
         // Se apenas o usuário for passado, retorna as estatísticas do usuário (lógica existente)
-        if (templateId == null && statusTemplateId == null && userId != null) {
+        if (templateId == null && statusTemplateId == null) {
             return getUserWorkflowStats(userId);
         }
 
-        WorkflowStatsDto stats = new WorkflowStatsDto();
-        LocalDateTime now = LocalDateTime.now();
+        // Apenas Template ou apenas Template de Status (reusa métodos existentes)
+        if (userId == null) {
+            return templateId != null
+                    ? getGeneralWorkflowStatsByTemplate(templateId)
+                    : getGeneralWorkflowStatsByStatusTemplate(statusTemplateId);
+        }
 
-        // CASO 1: Filtro por Template (com ou sem usuário)
-        if (templateId != null) {
-            // Verificar se o template existe
-            templateRepository.findById(templateId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Template não encontrado com o ID: " + templateId));
+        return statsCache.obter(() -> {
+            WorkflowStatsDto stats;
 
-            if (userId != null) {
-                // Combinação: Template + Usuário
-                stats.setInProgressCount(workflowRepository.countByTemplateIdAndCreatedByIdAndStatus(templateId, userId, "in_progress"));
-                stats.setPausedCount(workflowRepository.countByTemplateIdAndCreatedByIdAndStatus(templateId, userId, "paused"));
-                stats.setCompletedCount(workflowRepository.countByTemplateIdAndCreatedByIdAndStatus(templateId, userId, "completed"));
-                stats.setCanceledCount(workflowRepository.countByTemplateIdAndCreatedByIdAndStatus(templateId, userId, "canceled"));
-                stats.setArchivedCount(workflowRepository.countByTemplateIdAndCreatedByIdAndStatus(templateId, userId, "archived"));
+            // CASO 1: Template + Usuário
+            if (templateId != null) {
+                // Verificar se o template existe
+                WorkflowTemplateMetadataCache.EstruturaTemplate template = verificarTemplateExiste(templateId);
 
-                // Calcular Atrasados
-                stats.setOverdueCount(workflowRepository.countOverdueWorkflowsByTemplateIdAndCreatedById(templateId, userId, now));
+                stats = calcularContagensPorStatus(templateId, null, userId);
 
                 // Estatísticas de Distribuição por Template (Neste caso, é 100% este template)
                 Map<String, Integer> workflowsByTemplate = new HashMap<>();
-                workflowsByTemplate.put(templateRepository.findById(templateId).get().getName(),
-                        stats.getInProgressCount() + stats.getPausedCount() + stats.getCompletedCount() + stats.getCanceledCount() + stats.getArchivedCount());
+                workflowsByTemplate.put(template.nome(), stats.getTotalWorkflows());
                 stats.setWorkflowsByTemplate(workflowsByTemplate);
+            }
+            // CASO 2: Template de Status + Usuário
+            else {
+                // Verificar se o template de status existe
+                verificarStatusTemplateExiste(statusTemplateId);
 
-            } else {
-                // Apenas Template (Reusa método existente)
-                return getGeneralWorkflowStatsByTemplate(templateId);
+                stats = calcularContagensPorStatus(null, statusTemplateId, userId);
             }
-        }
-        // CASO 2: Filtro por Template de Status (com ou sem usuário)
-        else if (statusTemplateId != null) {
-            // Verificar se o template de status existe
-            statusTemplateRepository.findById(statusTemplateId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Template de status não encontrado com o ID: " + statusTemplateId));
-
-            if (userId != null) {
-                // Combinação: Status Template + Usuário
-                stats.setInProgressCount(workflowRepository.countByStatusTemplateIdAndCreatedByIdAndStatus(statusTemplateId, userId, "in_progress"));
-                stats.setPausedCount(workflowRepository.countByStatusTemplateIdAndCreatedByIdAndStatus(statusTemplateId, userId, "paused"));
-                stats.setCompletedCount(workflowRepository.countByStatusTemplateIdAndCreatedByIdAndStatus(statusTemplateId, userId, "completed"));
-                stats.setCanceledCount(workflowRepository.countByStatusTemplateIdAndCreatedByIdAndStatus(statusTemplateId, userId, "canceled"));
-                stats.setArchivedCount(workflowRepository.countByStatusTemplateIdAndCreatedByIdAndStatus(statusTemplateId, userId, "archived"));
-
-                // Calcular Atrasados
-                stats.setOverdueCount(workflowRepository.countOverdueWorkflowsByStatusTemplateIdAndCreatedById(statusTemplateId, userId, now));
+
+            // Calcular taxa de conclusão
+            if (stats.getTotalWorkflows() > 0) {
+                double completionRate = (double) stats.getCompletedCount() / stats.getTotalWorkflows() * 100;
+                stats.setCompletionRate(completionRate);
             } else {
-                // Apenas Status Template (Reusa método existente)
-                return getGeneralWorkflowStatsByStatusTemplate(statusTemplateId);
+                stats.setCompletionRate(0);
             }
-        }
 
-        // Cálculos Finais (Totais e Taxas) para os casos combinados
+            // Definir mapas vazios para evitar NullPointerException no frontend se não foram preenchidos
+            if (stats.getWorkflowsByTemplate() == null) stats.setWorkflowsByTemplate(new HashMap<>());
+            if (stats.getWorkflowsByTeam() == null) stats.setWorkflowsByTeam(new HashMap<>());
+
+            return stats;
+        }, "filtros", templateId, statusTemplateId, userId);
+    }
+
+    /**
+     * Calcula as contagens por status e de fluxos atrasados em uma única consulta agregada.
+     * Filtros nulos são ignorados.
+     */
+    private WorkflowStatsDto calcularContagensPorStatus(UUID templateId, UUID statusTemplateId, UUID userId) {
+        List<Object[]> result = workflowRepository.aggregateStatusCounts(
+                templateId, statusTemplateId, userId, LocalDateTime.now());
+        Object[] row = result.isEmpty() ? new Object[6] : result.get(0);
+
+        WorkflowStatsDto stats = new WorkflowStatsDto();
+        stats.setInProgressCount(toInt(row[0]));
+        stats.setPausedCount(toInt(row[1]));
+        stats.setCompletedCount(toInt(row[2]));
+        stats.setCanceledCount(toInt(row[3]));
+        stats.setArchivedCount(toInt(row[4]));
+
         stats.setTotalWorkflows(stats.getInProgressCount() + stats.getPausedCount() +
                 stats.getCompletedCount() + stats.getCanceledCount() + stats.getArchivedCount());
 
-        // Calcular taxa de conclusão
-        if (stats.getTotalWorkflows() > 0) {
-            double completionRate = (double) stats.getCompletedCount() / stats.getTotalWorkflows() * 100;
-            stats.setCompletionRate(completionRate);
-        } else {
-            stats.setCompletionRate(0);
-        }
-
-        // Definir mapas vazios para evitar NullPointerException no frontend se não foram preenchidos
-        if (stats.getWorkflowsByTemplate() == null) stats.setWorkflowsByTemplate(new HashMap<>());
-        if (stats.getWorkflowsByTeam() == null) stats.setWorkflowsByTeam(new HashMap<>());
+        // Fluxos atrasados
+        stats.setOverdueCount(toInt(row[5]));
 
         return stats;
     }
 
+    private int toInt(Object value) {
+        // SUM retorna null quando nenhum fluxo corresponde aos filtros
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<UserWorkloadDto> getUsersWorkload() {
         logger.info("Obtendo carga de trabalho dos usuários");
 
         // Buscar todos os usuários ativos
-        List<User> users = userRepository.findAll().stream()
-                .filter(User::isActive)
-                .collect(Collectors.toList());
+        List<User> users = userRepository.findByActiveTrue();
+
+        // Contagens de atribuições ativas, pendentes e atrasadas de todos os usuários em uma única consulta
+        Map<UUID, Object[]> countsByUser = new HashMap<>();
+        for (Object[] row : assignmentRepository.countOpenAssignmentsGroupedByAssignee(LocalDateTime.now())) {
+            countsByUser.put((UUID) row[0], row);
+        }
+
+        // Buscar todas as atribuições ativas (com fluxo, template e responsável) de uma só vez
+        Map<UUID, List<WorkflowAssignmentDto>> activeAssignmentsByUser = mapToAssignmentDtos(
+                assignmentRepository.findByStatusWithWorkflowAndAssignee("in_progress")).stream()
+                .collect(Collectors.groupingBy(WorkflowAssignmentDto::getAssignedToId));
 
         List<UserWorkloadDto> workloads = new ArrayList<>();
 
@@ -1278,30 +1408,14 @@ public class WorkflowServiceImpl implements WorkflowService {
             workload.setUserEmail(user.getEmail());
             workload.setProfileImage(user.getProfileImage());
 
-            // Buscar atribuições ativas do usuário
-            List<WorkflowAssignment> activeAssignments = assignmentRepository.findByAssignedToIdAndStatus(
-                    user.getId(), "in_progress");
-
-            workload.setActiveAssignmentsCount(activeAssignments.size());
-
-            // Buscar atribuições pendentes
-            List<WorkflowAssignment> pendingAssignments = assignmentRepository.findByAssignedToIdAndStatus(
-                    user.getId(), "pending");
-
-            workload.setPendingAssignmentsCount(pendingAssignments.size());
-            workload.setTotalAssignmentsCount(activeAssignments.size() + pendingAssignments.size());
-
-            // Calcular atribuições com prazo vencido
-            LocalDateTime now = LocalDateTime.now();
-            int overdueCount = 0;
-
-            for (WorkflowAssignment assignment : activeAssignments) {
-                if (assignment.getWorkflow().getDeadline() != null &&
-                        assignment.getWorkflow().getDeadline().isBefore(now)) {
-                    overdueCount++;
-                }
-            }
+            Object[] counts = countsByUser.get(user.getId());
+            int activeCount = counts != null ? ((Number) counts[1]).intValue() : 0;
+            int pendingCount = counts != null ? ((Number) counts[2]).intValue() : 0;
+            int overdueCount = counts != null ? ((Number) counts[3]).intValue() : 0;
 
+            workload.setActiveAssignmentsCount(activeCount);
+            workload.setPendingAssignmentsCount(pendingCount);
+            workload.setTotalAssignmentsCount(activeCount + pendingCount);
             workload.setOverdueAssignmentsCount(overdueCount);
 
             // Calcular porcentagem de carga de trabalho
@@ -1311,10 +1425,8 @@ public class WorkflowServiceImpl implements WorkflowService {
             // Determinar se está sobrecarregado
             workload.setOverloaded(workload.getActiveAssignmentsCount() > WORKLOAD_THRESHOLD);
 
-            // Mapear atribuições ativas
-            workload.setActiveAssignments(activeAssignments.stream()
-                    .map(this::mapToAssignmentDto)
-                    .collect(Collectors.toList()));
+            // Atribuições ativas
+            workload.setActiveAssignments(activeAssignmentsByUser.getOrDefault(user.getId(), new ArrayList<>()));
 
             workloads.add(workload);
         }
@@ -1325,14 +1437,35 @@ public class WorkflowServiceImpl implements WorkflowService {
         return workloads;
     }
 
+    /**
+     * Verifica se o template de fluxo existe, consultando o cache de estrutura
+     */
+    private WorkflowTemplateMetadataCache.EstruturaTemplate verificarTemplateExiste(UUID templateId) {
+        WorkflowTemplateMetadataCache.EstruturaTemplate template = templateMetadataCache.getTemplate(templateId);
+        if (template == null) {
+            throw new ResourceNotFoundException("Template não encontrado com o ID: " + templateId);
+        }
+        return template;
+    }
+
+    private WorkflowTemplateMetadataCache.EstruturaStatus verificarStatusTemplateExiste(UUID statusTemplateId) {
+        WorkflowTemplateMetadataCache.EstruturaStatus statusTemplate = templateMetadataCache.getStatusTemplate(statusTemplateId);
+        if (statusTemplate == null) {
+            throw new ResourceNotFoundException("Template de status não encontrado com o ID: " + statusTemplateId);
+        }
+        return statusTemplate;
+    }
+
     /**
      * Mapeia um Workflow para um WorkflowDto
      */
     private WorkflowDto mapToWorkflowDto(Workflow workflow) {
         WorkflowDto dto = new WorkflowDto();
         dto.setId(workflow.getId());
+        WorkflowTemplateMetadataCache.EstruturaTemplate template =
+                templateMetadataCache.getTemplate(workflow.getTemplate().getId());
         dto.setTemplateId(workflow.getTemplate().getId());
-        dto.setTemplateName(workflow.getTemplate().getName());
+        dto.setTemplateName(template != null ? template.nome() : null);
         dto.setTitle(workflow.getTitle());
         dto.setDescription(workflow.getDescription());
         dto.setPriority(workflow.getPriority());
@@ -1350,19 +1483,18 @@ public class WorkflowServiceImpl implements WorkflowService {
         dto.setCurrentStep(workflow.getCurrentStep());
 
         // Obter número total de passos do template
-        int totalSteps = stepRepository.countStepsByTemplateId(workflow.getTemplate().getId());
+        int totalSteps = template != null ? template.totalEtapas() : 0;
         dto.setTotalSteps(totalSteps);
 
+        // Buscar atribuições (com responsáveis) diretamente do repositório para evitar ConcurrentModificationException
+        List<WorkflowAssignment> assignments = assignmentRepository.findByWorkflowIdWithAssigneeOrderByStepNumber(workflow.getId());
+
         // Verificar o status do workflow para definir o percentual
         if ("completed".equals(workflow.getStatus())) {
             // Se o workflow estiver concluído, percentual é 100%
             dto.setProgressPercentage(100);
         } else {
-            // Caso contrário, carregar as atribuições de forma segura e calcular com base nas etapas concluídas
-            // Buscar atribuições diretamente do repositório para evitar ConcurrentModificationException
-            List<WorkflowAssignment> assignments = assignmentRepository.findByWorkflowIdOrderByStepNumber(workflow.getId());
-
-            // Contar atribuições completadas de forma segura
+            // Caso contrário, calcular com base nas etapas concluídas
             int completedSteps = 0;
             for (WorkflowAssignment assignment : assignments) {
                 if ("completed".equals(assignment.getStatus())) {
@@ -1398,73 +1530,115 @@ public class WorkflowServiceImpl implements WorkflowService {
             }
         }
 
-        // Buscar atribuições de forma segura
-        List<WorkflowAssignment> assignments = assignmentRepository.findByWorkflowIdOrderByStepNumber(workflow.getId());
-        dto.setAssignments(assignments.stream()
-                .map(this::mapToAssignmentDto)
-                .collect(Collectors.toList()));
+        dto.setAssignments(mapToAssignmentDtos(assignments));
 
-        // Buscar transições de forma segura
-        List<WorkflowTransition> transitions = transitionRepository.findByWorkflowIdOrderByCreatedAtDesc(workflow.getId());
-        dto.setTransitions(transitions.stream()
+        // Histórico de transições a partir da linha do tempo
+        List<WorkflowTimelineEntry> timeline = timelineRepository.findByWorkflowIdOrderByCreatedAtDesc(workflow.getId());
+        dto.setTransitions(timeline.stream()
                 .map(this::mapToTransitionDto)
                 .collect(Collectors.toList()));
 
         if (workflow.getStatusTemplate() != null) {
+            WorkflowTemplateMetadataCache.EstruturaStatus statusTemplate =
+                    templateMetadataCache.getStatusTemplate(workflow.getStatusTemplate().getId());
             dto.setStatusTemplateId(workflow.getStatusTemplate().getId());
-            dto.setStatusTemplateName(workflow.getStatusTemplate().getName());
-        }
 
-        if (workflow.getCustomStatus() != null) {
-            dto.setCustomStatusId(workflow.getCustomStatus().getId());
-            dto.setCustomStatusName(workflow.getCustomStatus().getName());
-            dto.setCustomStatusColor(workflow.getCustomStatus().getColor());
+            if (statusTemplate != null) {
+                dto.setStatusTemplateName(statusTemplate.nome());
+
+                WorkflowTemplateMetadataCache.ItemStatus customStatus = workflow.getCustomStatus() != null
+                        ? statusTemplate.item(workflow.getCustomStatus().getId())
+                        : null;
+                if (customStatus != null) {
+                    dto.setCustomStatusId(customStatus.id());
+                    dto.setCustomStatusName(customStatus.nome());
+                    dto.setCustomStatusColor(customStatus.cor());
+                }
+            }
         }
 
         return dto;
     }
 
     /**
-     * Mapeia um Workflow para um WorkflowSummaryDto
+     * Mapeia uma página de Workflows para WorkflowSummaryDto
      */
-    private WorkflowSummaryDto mapToWorkflowSummaryDto(Workflow workflow) {
-        WorkflowSummaryDto dto = new WorkflowSummaryDto();
-        dto.setId(workflow.getId());
-        dto.setTitle(workflow.getTitle());
-        dto.setTemplateName(workflow.getTemplate().getName());
-        dto.setPriority(workflow.getPriority());
-        dto.setStatus(workflow.getStatus());
-        dto.setDeadline(workflow.getDeadline());
+    private Page<WorkflowSummaryDto> mapToWorkflowSummaryPage(Page<Workflow> workflows) {
+        return new PageImpl<>(mapToWorkflowSummaryDtos(workflows.getContent()),
+                workflows.getPageable(), workflows.getTotalElements());
+    }
 
-        if (workflow.getTeam() != null) {
-            dto.setTeamName(workflow.getTeam().getNome());
+    /**
+     * Mapeia uma lista de Workflows para WorkflowSummaryDto.
+     * Os dados do resumo (template, equipe, criador, total de etapas, etapas concluídas e responsável atual)
+     * são obtidos em uma única consulta para todos os fluxos, evitando consultas por linha.
+     * A ordem da lista original é preservada.
+     */
+    private List<WorkflowSummaryDto> mapToWorkflowSummaryDtos(List<Workflow> workflows) {
+        if (workflows.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        dto.setCreatedByName(workflow.getCreatedBy().getFullName());
-        dto.setCurrentStep(workflow.getCurrentStep());
+        List<UUID> workflowIds = workflows.stream()
+                .map(Workflow::getId)
+                .collect(Collectors.toList());
 
-        // Obter número total de passos do template
-        int totalSteps = stepRepository.countStepsByTemplateId(workflow.getTemplate().getId());
+        List<Object[]> rows = workflowRepository.findSummaryProjectionByIds(workflowIds);
+
+        // Nomes e etapas dos templates vêm do cache de estrutura
+        Set<UUID> templateIds = new HashSet<>();
+        Set<UUID> statusTemplateIds = new HashSet<>();
+        for (Object[] row : rows) {
+            templateIds.add((UUID) row[2]);
+            if (row[14] != null) {
+                statusTemplateIds.add((UUID) row[14]);
+            }
+        }
+        Map<UUID, WorkflowTemplateMetadataCache.EstruturaTemplate> templates = templateMetadataCache.getTemplates(templateIds);
+        Map<UUID, WorkflowTemplateMetadataCache.EstruturaStatus> statusTemplates = statusTemplateIds.isEmpty()
+                ? Collections.emptyMap()
+                : templateMetadataCache.getStatusTemplates(statusTemplateIds);
+
+        Map<UUID, WorkflowSummaryDto> summaries = new HashMap<>();
+        for (Object[] row : rows) {
+            WorkflowSummaryDto dto = mapToWorkflowSummaryDto(row, templates.get((UUID) row[2]),
+                    row[14] != null ? statusTemplates.get((UUID) row[14]) : null);
+            summaries.putIfAbsent(dto.getId(), dto);
+        }
+
+        return workflowIds.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Mapeia uma linha de WorkflowRepository.findSummaryProjectionByIds para um WorkflowSummaryDto
+     */
+    private WorkflowSummaryDto mapToWorkflowSummaryDto(Object[] row,
+                                                       WorkflowTemplateMetadataCache.EstruturaTemplate template,
+                                                       WorkflowTemplateMetadataCache.EstruturaStatus statusTemplate) {
+        WorkflowSummaryDto dto = new WorkflowSummaryDto();
+        dto.setId((UUID) row[0]);
+        dto.setTitle((String) row[1]);
+        dto.setTemplateName(template != null ? template.nome() : null);
+        dto.setPriority((String) row[3]);
+        dto.setStatus((String) row[4]);
+        dto.setDeadline((LocalDateTime) row[5]);
+        dto.setTeamName((String) row[6]);
+        dto.setCreatedByName((String) row[7]);
+        dto.setCurrentStep(((Number) row[8]).intValue());
+
+        int totalSteps = template != null ? template.totalEtapas() : 0;
         dto.setTotalSteps(totalSteps);
 
         // Verificar o status do workflow para definir o percentual
-        if ("completed".equals(workflow.getStatus())) {
+        if ("completed".equals(dto.getStatus())) {
             // Se o workflow estiver concluído, percentual é 100%
             dto.setProgressPercentage(100);
         } else {
-            // Caso contrário, carregar as atribuições de forma segura e calcular com base nas etapas concluídas
-            // Buscar atribuições diretamente do repositório para evitar ConcurrentModificationException
-            List<WorkflowAssignment> assignments = assignmentRepository.findByWorkflowIdOrderByStepNumber(workflow.getId());
-
-            // Contar atribuições completadas de forma segura
-            int completedSteps = 0;
-            for (WorkflowAssignment assignment : assignments) {
-                if ("completed".equals(assignment.getStatus())) {
-                    completedSteps++;
-                }
-            }
-
             // Ajuste do progresso baseado em etapas completadas
+            int completedSteps = ((Number) row[9]).intValue();
             int progressPercentage = totalSteps > 0
                     ? (int) Math.floor((double) completedSteps / totalSteps * 100)
                     : 0;
@@ -1472,39 +1646,36 @@ public class WorkflowServiceImpl implements WorkflowService {
             dto.setProgressPercentage(progressPercentage);
         }
 
-        // Buscar responsável atual de forma segura, evitando acesso lazy
-        Optional<WorkflowAssignment> currentAssignment = assignmentRepository.findByWorkflowIdAndStepNumber(
-                workflow.getId(), workflow.getCurrentStep());
+        dto.setCurrentAssigneeId((UUID) row[10]);
+        dto.setCurrentAssigneeName((String) row[11]);
 
-        currentAssignment.ifPresent(assignment -> {
-            dto.setCurrentAssigneeId(assignment.getAssignedTo().getId());
-            dto.setCurrentAssigneeName(assignment.getAssignedTo().getFullName());
-        });
-
-        dto.setCreatedAt(workflow.getCreatedAt());
-        dto.setUpdatedAt(workflow.getUpdatedAt());
+        dto.setCreatedAt((LocalDateTime) row[12]);
+        dto.setUpdatedAt((LocalDateTime) row[13]);
 
         // Calcular se está atrasado e dias restantes
         LocalDateTime now = LocalDateTime.now();
-        if (workflow.getDeadline() != null) {
-            dto.setOverdue(workflow.getDeadline().isBefore(now));
+        if (dto.getDeadline() != null) {
+            dto.setOverdue(dto.getDeadline().isBefore(now));
 
             // Verificar se está próximo do prazo
             dto.setNearDeadline(!dto.isOverdue() &&
-                    ChronoUnit.DAYS.between(now, workflow.getDeadline()) <= NEAR_DEADLINE_DAYS);
+                    ChronoUnit.DAYS.between(now, dto.getDeadline()) <= NEAR_DEADLINE_DAYS);
 
             // Calcular dias restantes
             if (dto.isOverdue()) {
-                dto.setDaysRemaining(-1 * (int) ChronoUnit.DAYS.between(workflow.getDeadline(), now));
+                dto.setDaysRemaining(-1 * (int) ChronoUnit.DAYS.between(dto.getDeadline(), now));
             } else {
-                dto.setDaysRemaining((int) ChronoUnit.DAYS.between(now, workflow.getDeadline()));
+                dto.setDaysRemaining((int) ChronoUnit.DAYS.between(now, dto.getDeadline()));
             }
         }
 
-        if (workflow.getCustomStatus() != null) {
-            dto.setCustomStatusId(workflow.getCustomStatus().getId());
-            dto.setCustomStatusName(workflow.getCustomStatus().getName());
-            dto.setCustomStatusColor(workflow.getCustomStatus().getColor());
+        if (statusTemplate != null && row[15] != null) {
+            WorkflowTemplateMetadataCache.ItemStatus customStatus = statusTemplate.item((UUID) row[15]);
+            if (customStatus != null) {
+                dto.setCustomStatusId(customStatus.id());
+                dto.setCustomStatusName(customStatus.nome());
+                dto.setCustomStatusColor(customStatus.cor());
+            }
         }
 
         return dto;
@@ -1514,21 +1685,49 @@ public class WorkflowServiceImpl implements WorkflowService {
      * Mapeia um WorkflowAssignment para um WorkflowAssignmentDto
      */
     private WorkflowAssignmentDto mapToAssignmentDto(WorkflowAssignment assignment) {
+        // Buscar o nome e a descrição da etapa
+        WorkflowTemplateMetadataCache.EstruturaTemplate template =
+                templateMetadataCache.getTemplate(assignment.getWorkflow().getTemplate().getId());
+        WorkflowTemplateMetadataCache.Etapa step = template != null ? template.etapa(assignment.getStepNumber()) : null;
+
+        return mapToAssignmentDto(assignment,
+                step != null ? step.nome() : null,
+                step != null ? step.descricao() : null);
+    }
+
+    /**
+     * Mapeia uma lista de WorkflowAssignments para WorkflowAssignmentDto,
+     * buscando as etapas de todos os templates envolvidos de uma só vez
+     */
+    private List<WorkflowAssignmentDto> mapToAssignmentDtos(List<WorkflowAssignment> assignments) {
+        Set<UUID> templateIds = assignments.stream()
+                .map(assignment -> assignment.getWorkflow().getTemplate().getId())
+                .collect(Collectors.toSet());
+
+        Map<UUID, WorkflowTemplateMetadataCache.EstruturaTemplate> templates = templateIds.isEmpty()
+                ? Collections.emptyMap()
+                : templateMetadataCache.getTemplates(templateIds);
+
+        return assignments.stream()
+                .map(assignment -> {
+                    WorkflowTemplateMetadataCache.EstruturaTemplate template =
+                            templates.get(assignment.getWorkflow().getTemplate().getId());
+                    WorkflowTemplateMetadataCache.Etapa step =
+                            template != null ? template.etapa(assignment.getStepNumber()) : null;
+                    return mapToAssignmentDto(assignment,
+                            step != null ? step.nome() : null,
+                            step != null ? step.descricao() : null);
+                })
+                .collect(Collectors.toList());
+    }
+
+    private WorkflowAssignmentDto mapToAssignmentDto(WorkflowAssignment assignment, String stepName, String stepDescription) {
         WorkflowAssignmentDto dto = new WorkflowAssignmentDto();
         dto.setId(assignment.getId());
         dto.setWorkflowId(assignment.getWorkflow().getId());
         dto.setWorkflowTitle(assignment.getWorkflow().getTitle());
         dto.setStepNumber(assignment.getStepNumber());
-
-        // Buscar o nome da etapa
-        String stepName = stepRepository.findStepNameByTemplateIdAndStepOrder(
-                assignment.getWorkflow().getTemplate().getId(), assignment.getStepNumber());
         dto.setStepName(stepName != null ? stepName : "Etapa " + assignment.getStepNumber());
-        
-        String stepDescription = stepRepository.findStepDescriptionByTemplateIdAndStepOrder(
-                assignment.getWorkflow().getTemplate().getId(), assignment.getStepNumber()
-        );
-
         dto.setStepDescription(stepDescription);
         dto.setAssignedToId(assignment.getAssignedTo().getId());
         dto.setAssignedToName(assignment.getAssignedTo().getFullName());
@@ -1542,46 +1741,28 @@ public class WorkflowServiceImpl implements WorkflowService {
     }
 
     /**
-     * Mapeia um WorkflowTransition para um WorkflowTransitionDto
+     * Mapeia uma entrada da linha do tempo para um WorkflowTransitionDto
      */
-    private WorkflowTransitionDto mapToTransitionDto(WorkflowTransition transition) {
+    private WorkflowTransitionDto mapToTransitionDto(WorkflowTimelineEntry entry) {
         WorkflowTransitionDto dto = new WorkflowTransitionDto();
-        dto.setId(transition.getId());
-        dto.setWorkflowId(transition.getWorkflow().getId());
-        dto.setFromStep(transition.getFromStep());
-        dto.setToStep(transition.getToStep());
-        dto.setFromStatus(transition.getFromStatus());
-        dto.setToStatus(transition.getToStatus());
-
-        // Obter nomes das etapas
-        if (transition.getFromStep() != null) {
-            String fromStepName = stepRepository.findStepNameByTemplateIdAndStepOrder(
-                    transition.getWorkflow().getTemplate().getId(), transition.getFromStep());
-            dto.setFromStepName(fromStepName != null ? fromStepName : "Etapa " + transition.getFromStep());
-        }
-
-        if (transition.getToStep() != null) {
-            String toStepName = stepRepository.findStepNameByTemplateIdAndStepOrder(
-                    transition.getWorkflow().getTemplate().getId(), transition.getToStep());
-            dto.setToStepName(toStepName != null ? toStepName : "Etapa " + transition.getToStep());
-        }
-
-        if (transition.getFromUser() != null) {
-            dto.setFromUserId(transition.getFromUser().getId());
-            dto.setFromUserName(transition.getFromUser().getFullName());
-        }
-
-        if (transition.getToUser() != null) {
-            dto.setToUserId(transition.getToUser().getId());
-            dto.setToUserName(transition.getToUser().getFullName());
-        }
-
-        dto.setComments(transition.getComments());
-        dto.setTransitionType(transition.getTransitionType());
-        dto.setCreatedById(transition.getCreatedBy().getId());
-        dto.setCreatedByName(transition.getCreatedBy().getFullName());
-        dto.setCreatedAt(transition.getCreatedAt());
+        dto.setId(entry.getTransitionId());
+        dto.setWorkflowId(entry.getWorkflowId());
+        dto.setFromStep(entry.getFromStep());
+        dto.setFromStepName(entry.getFromStepName());
+        dto.setToStep(entry.getToStep());
+        dto.setToStepName(entry.getToStepName());
+        dto.setFromStatus(entry.getFromStatus());
+        dto.setToStatus(entry.getToStatus());
+        dto.setFromUserId(entry.getFromUserId());
+        dto.setFromUserName(entry.getFromUserName());
+        dto.setToUserId(entry.getToUserId());
+        dto.setToUserName(entry.getToUserName());
+        dto.setComments(entry.getComments());
+        dto.setTransitionType(entry.getTransitionType());
+        dto.setCreatedById(entry.getCreatedById());
+        dto.setCreatedByName(entry.getCreatedByName());
+        dto.setCreatedAt(entry.getCreatedAt());
 
         return dto;
     }
-}
\ No newline at end of file
+}
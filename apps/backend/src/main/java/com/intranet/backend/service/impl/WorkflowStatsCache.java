@@ -0,0 +1,69 @@
+package com.intranet.backend.service.impl;
+
+import com.intranet.backend.dto.WorkflowStatsDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache de curta duração das estatísticas de fluxos exibidas no dashboard.
+ * As entradas expiram após alguns segundos e são descartadas sempre que um fluxo muda de status,
+ * de forma que atualizações seguidas do dashboard não recalculem as mesmas contagens.
+ */
+@Component
+public class WorkflowStatsCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowStatsCache.class);
+
+    private record Entrada(WorkflowStatsDto stats, long expiraEm) {
+    }
+
+    private final ConcurrentHashMap<String, Entrada> entradas = new ConcurrentHashMap<>();
+
+    @Value("${app.workflow-stats.cache-ttl-seconds:30}")
+    private long ttlSegundos;
+
+    /**
+     * Retorna as estatísticas em cache para o tipo e filtros informados ou calcula e armazena usando o supplier.
+     */
+    public WorkflowStatsDto obter(Supplier<WorkflowStatsDto> calcular, String tipo, Object... filtros) {
+        String chave = tipo + Arrays.toString(filtros);
+        long agora = System.currentTimeMillis();
+
+        Entrada entrada = entradas.get(chave);
+        if (entrada != null && entrada.expiraEm() > agora) {
+            return entrada.stats();
+        }
+
+        WorkflowStatsDto stats = Objects.requireNonNull(calcular.get());
+        entradas.put(chave, new Entrada(stats, agora + ttlSegundos * 1000));
+        return stats;
+    }
+
+    /**
+     * Descarta todas as estatísticas em cache. Dentro de uma transação, o descarte é repetido após o commit
+     * para que uma leitura concorrente não armazene contagens anteriores à alteração.
+     */
+    public void invalidar() {
+        entradas.clear();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entradas.clear();
+                }
+            });
+        }
+
+        logger.debug("Cache de estatísticas de fluxos invalidado");
+    }
+}
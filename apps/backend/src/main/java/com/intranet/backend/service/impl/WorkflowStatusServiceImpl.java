@@ -33,6 +33,7 @@ public class WorkflowStatusServiceImpl implements WorkflowStatusService {
     private final WorkflowStatusTemplateRepository templateRepository;
     private final WorkflowStatusItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final WorkflowTemplateMetadataCache templateMetadataCache;
 
     @Override
     @Transactional
@@ -165,6 +166,7 @@ public class WorkflowStatusServiceImpl implements WorkflowStatusService {
 
         // Salvar o template com as alterações
         WorkflowStatusTemplate updatedTemplate = templateRepository.save(template);
+        templateMetadataCache.invalidarStatusTemplate(templateId);
 
         // Calcular o número de workflows que usam este template
         int workflowCount = templateRepository.countWorkflowsByTemplateId(templateId);
@@ -268,6 +270,7 @@ public class WorkflowStatusServiceImpl implements WorkflowStatusService {
         }
 
         templateRepository.delete(template);
+        templateMetadataCache.invalidarStatusTemplate(templateId);
         logger.info("Template de status excluído com sucesso: {}", templateId);
     }
 
@@ -0,0 +1,245 @@
+package com.intranet.backend.service.impl;
+
+import com.intranet.backend.model.WorkflowStatusItem;
+import com.intranet.backend.model.WorkflowTemplateStep;
+import com.intranet.backend.repository.WorkflowStatusItemRepository;
+import com.intranet.backend.repository.WorkflowStatusTemplateRepository;
+import com.intranet.backend.repository.WorkflowTemplateRepository;
+import com.intranet.backend.repository.WorkflowTemplateStepRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache em memória da estrutura dos templates de fluxo (etapas) e dos templates de status (itens).
+ * Os templates mudam raramente, então listagens e transições de fluxos consultam este cache em vez das tabelas
+ * de templates. As entradas são descartadas pelas escritas de WorkflowTemplateServiceImpl e
+ * WorkflowStatusServiceImpl; a versão global impede que uma carga iniciada antes de uma invalidação seja armazenada.
+ * Como o descarte é local, as entradas também expiram após app.workflow.template-cache.ttl-seconds, limitando o
+ * tempo em que uma instância usa (e grava na linha do tempo) nomes de etapas alterados por outra.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkflowTemplateMetadataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowTemplateMetadataCache.class);
+
+    public record Etapa(int ordem, String nome, String descricao) {
+    }
+
+    public record EstruturaTemplate(UUID id, String nome, List<Etapa> etapas) {
+
+        public int totalEtapas() {
+            return etapas.size();
+        }
+
+        public Etapa etapa(int ordem) {
+            for (Etapa etapa : etapas) {
+                if (etapa.ordem() == ordem) {
+                    return etapa;
+                }
+            }
+            return null;
+        }
+    }
+
+    public record ItemStatus(UUID id, String nome, String cor, int ordem, boolean inicial, boolean fim) {
+    }
+
+    public record EstruturaStatus(UUID id, String nome, List<ItemStatus> itens) {
+
+        public ItemStatus item(UUID itemId) {
+            for (ItemStatus item : itens) {
+                if (item.id().equals(itemId)) {
+                    return item;
+                }
+            }
+            return null;
+        }
+
+        public ItemStatus inicial() {
+            for (ItemStatus item : itens) {
+                if (item.inicial()) {
+                    return item;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final WorkflowTemplateRepository templateRepository;
+    private final WorkflowTemplateStepRepository stepRepository;
+    private final WorkflowStatusTemplateRepository statusTemplateRepository;
+    private final WorkflowStatusItemRepository statusItemRepository;
+
+    private record Entrada<T>(T estrutura, long carregadaEm) {
+    }
+
+    private final ConcurrentHashMap<UUID, Entrada<EstruturaTemplate>> templates = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Entrada<EstruturaStatus>> statusTemplates = new ConcurrentHashMap<>();
+    private final AtomicLong versao = new AtomicLong();
+
+    @Value("${app.workflow.template-cache.ttl-seconds:300}")
+    private long ttlSegundos;
+
+    /**
+     * Versão atual da estrutura dos templates; muda a cada invalidação.
+     */
+    public long getVersao() {
+        return versao.get();
+    }
+
+    /**
+     * Retorna a estrutura do template de fluxo ou null se o template não existir.
+     */
+    public EstruturaTemplate getTemplate(UUID templateId) {
+        return getTemplates(Collections.singleton(templateId)).get(templateId);
+    }
+
+    /**
+     * Retorna as estruturas dos templates informados; os que não estão em cache são carregados em duas consultas.
+     * Templates inexistentes ficam fora do mapa.
+     */
+    public Map<UUID, EstruturaTemplate> getTemplates(Collection<UUID> templateIds) {
+        Map<UUID, EstruturaTemplate> resultado = new HashMap<>();
+        Set<UUID> faltantes = new HashSet<>();
+        for (UUID templateId : templateIds) {
+            EstruturaTemplate estrutura = valida(templates.get(templateId));
+            if (estrutura != null) {
+                resultado.put(templateId, estrutura);
+            } else {
+                faltantes.add(templateId);
+            }
+        }
+
+        if (faltantes.isEmpty()) {
+            return resultado;
+        }
+
+        long versaoCarga = versao.get();
+        long carregadaEm = System.currentTimeMillis();
+
+        Map<UUID, List<Etapa>> etapasPorTemplate = new HashMap<>();
+        for (WorkflowTemplateStep step : stepRepository.findByTemplateIdIn(faltantes)) {
+            etapasPorTemplate.computeIfAbsent(step.getTemplate().getId(), id -> new ArrayList<>())
+                    .add(new Etapa(step.getStepOrder(), step.getName(), step.getDescription()));
+        }
+
+        for (Object[] row : templateRepository.findNamesByIds(faltantes)) {
+            UUID templateId = (UUID) row[0];
+            List<Etapa> etapas = etapasPorTemplate.getOrDefault(templateId, new ArrayList<>());
+            etapas.sort(Comparator.comparingInt(Etapa::ordem));
+
+            EstruturaTemplate estrutura = new EstruturaTemplate(templateId, (String) row[1], List.copyOf(etapas));
+            resultado.put(templateId, estrutura);
+            if (versao.get() == versaoCarga) {
+                templates.put(templateId, new Entrada<>(estrutura, carregadaEm));
+            }
+        }
+
+        logger.debug("Estrutura de {} templates de fluxo carregada", faltantes.size());
+        return resultado;
+    }
+
+    public int contarEtapas(UUID templateId) {
+        EstruturaTemplate estrutura = getTemplate(templateId);
+        return estrutura != null ? estrutura.totalEtapas() : 0;
+    }
+
+    public String getNomeEtapa(UUID templateId, int stepOrder) {
+        EstruturaTemplate estrutura = getTemplate(templateId);
+        Etapa etapa = estrutura != null ? estrutura.etapa(stepOrder) : null;
+        return etapa != null ? etapa.nome() : null;
+    }
+
+    /**
+     * Retorna o template de status com seus itens ordenados ou null se o template não existir.
+     */
+    public EstruturaStatus getStatusTemplate(UUID statusTemplateId) {
+        return getStatusTemplates(Collections.singleton(statusTemplateId)).get(statusTemplateId);
+    }
+
+    public Map<UUID, EstruturaStatus> getStatusTemplates(Collection<UUID> statusTemplateIds) {
+        Map<UUID, EstruturaStatus> resultado = new HashMap<>();
+        Set<UUID> faltantes = new HashSet<>();
+        for (UUID statusTemplateId : statusTemplateIds) {
+            EstruturaStatus estrutura = valida(statusTemplates.get(statusTemplateId));
+            if (estrutura != null) {
+                resultado.put(statusTemplateId, estrutura);
+            } else {
+                faltantes.add(statusTemplateId);
+            }
+        }
+
+        if (faltantes.isEmpty()) {
+            return resultado;
+        }
+
+        long versaoCarga = versao.get();
+        long carregadaEm = System.currentTimeMillis();
+
+        Map<UUID, List<ItemStatus>> itensPorTemplate = new HashMap<>();
+        for (WorkflowStatusItem item : statusItemRepository.findByTemplateIdIn(faltantes)) {
+            itensPorTemplate.computeIfAbsent(item.getTemplate().getId(), id -> new ArrayList<>())
+                    .add(new ItemStatus(item.getId(), item.getName(), item.getColor(), item.getOrderIndex(),
+                            item.isInitial(), item.isFinal()));
+        }
+
+        for (Object[] row : statusTemplateRepository.findNamesByIds(faltantes)) {
+            UUID statusTemplateId = (UUID) row[0];
+            List<ItemStatus> itens = itensPorTemplate.getOrDefault(statusTemplateId, new ArrayList<>());
+            itens.sort(Comparator.comparingInt(ItemStatus::ordem));
+
+            EstruturaStatus estrutura = new EstruturaStatus(statusTemplateId, (String) row[1], List.copyOf(itens));
+            resultado.put(statusTemplateId, estrutura);
+            if (versao.get() == versaoCarga) {
+                statusTemplates.put(statusTemplateId, new Entrada<>(estrutura, carregadaEm));
+            }
+        }
+
+        logger.debug("Itens de {} templates de status carregados", faltantes.size());
+        return resultado;
+    }
+
+    /**
+     * Descarta a estrutura do template de fluxo. Dentro de uma transação, o descarte é repetido após o commit
+     * para que uma leitura concorrente não armazene a estrutura anterior à alteração.
+     */
+    public void invalidarTemplate(UUID templateId) {
+        invalidar(() -> templates.remove(templateId));
+    }
+
+    public void invalidarStatusTemplate(UUID statusTemplateId) {
+        invalidar(() -> statusTemplates.remove(statusTemplateId));
+    }
+
+    private <T> T valida(Entrada<T> entrada) {
+        if (entrada == null || System.currentTimeMillis() - entrada.carregadaEm() > ttlSegundos * 1000) {
+            return null;
+        }
+        return entrada.estrutura();
+    }
+
+    private void invalidar(Runnable descartar) {
+        versao.incrementAndGet();
+        descartar.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versao.incrementAndGet();
+                    descartar.run();
+                }
+            });
+        }
+    }
+}
@@ -35,6 +35,7 @@ public class WorkflowTemplateServiceImpl implements WorkflowTemplateService {
     private final WorkflowTemplateStepRepository stepRepository;
     private final WorkflowRepository workflowRepository;
     private final UserRepository userRepository;
+    private final WorkflowTemplateMetadataCache templateMetadataCache;
 
     @Override
     @Transactional
@@ -127,6 +128,7 @@ public class WorkflowTemplateServiceImpl implements WorkflowTemplateService {
 
         // Salvar o template com as alterações
         WorkflowTemplate updatedTemplate = templateRepository.save(template);
+        templateMetadataCache.invalidarTemplate(templateId);
 
         // Calcular o número de workflows que usam este template
         int workflowCount = templateRepository.countWorkflowsByTemplateId(templateId);
@@ -280,6 +282,7 @@ public class WorkflowTemplateServiceImpl implements WorkflowTemplateService {
         }
 
         templateRepository.delete(template);
+        templateMetadataCache.invalidarTemplate(templateId);
         logger.info("Template de fluxo excluído com sucesso: {}", templateId);
     }
 
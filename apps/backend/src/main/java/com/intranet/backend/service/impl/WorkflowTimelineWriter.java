@@ -0,0 +1,81 @@
+package com.intranet.backend.service.impl;
+
+import com.intranet.backend.model.User;
+import com.intranet.backend.model.WorkflowTimelineEntry;
+import com.intranet.backend.model.WorkflowTransition;
+import com.intranet.backend.repository.WorkflowTimelineRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Grava a linha do tempo dos fluxos junto com as transições.
+ * Os nomes de etapas vêm do {@link WorkflowTemplateMetadataCache} e os nomes de usuários das entidades já
+ * associadas à transição, para que a leitura do histórico não precise resolvê-los depois.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkflowTimelineWriter {
+
+    private final WorkflowTimelineRepository timelineRepository;
+    private final WorkflowTemplateMetadataCache templateMetadataCache;
+
+    /**
+     * Registra as transições na linha do tempo. As transições já devem ter sido salvas (id e data definidos).
+     */
+    public void registrar(List<WorkflowTransition> transitions) {
+        List<WorkflowTimelineEntry> entries = new ArrayList<>(transitions.size());
+        for (WorkflowTransition transition : transitions) {
+            entries.add(criarEntrada(transition));
+        }
+        timelineRepository.saveAll(entries);
+    }
+
+    public void registrar(WorkflowTransition transition) {
+        registrar(Collections.singletonList(transition));
+    }
+
+    private WorkflowTimelineEntry criarEntrada(WorkflowTransition transition) {
+        UUID templateId = transition.getWorkflow().getTemplate().getId();
+
+        WorkflowTimelineEntry entry = new WorkflowTimelineEntry();
+        entry.setTransitionId(transition.getId());
+        entry.setWorkflowId(transition.getWorkflow().getId());
+        entry.setFromStep(transition.getFromStep());
+        entry.setFromStepName(getNomeEtapa(templateId, transition.getFromStep()));
+        entry.setToStep(transition.getToStep());
+        entry.setToStepName(getNomeEtapa(templateId, transition.getToStep()));
+        entry.setFromStatus(transition.getFromStatus());
+        entry.setToStatus(transition.getToStatus());
+        entry.setFromUserId(getUserId(transition.getFromUser()));
+        entry.setFromUserName(getUserName(transition.getFromUser()));
+        entry.setToUserId(getUserId(transition.getToUser()));
+        entry.setToUserName(getUserName(transition.getToUser()));
+        entry.setComments(transition.getComments());
+        entry.setTransitionType(transition.getTransitionType());
+        entry.setCreatedById(getUserId(transition.getCreatedBy()));
+        entry.setCreatedByName(getUserName(transition.getCreatedBy()));
+        entry.setCreatedAt(transition.getCreatedAt());
+        return entry;
+    }
+
+    private String getNomeEtapa(UUID templateId, Integer stepOrder) {
+        if (stepOrder == null) {
+            return null;
+        }
+        String stepName = templateMetadataCache.getNomeEtapa(templateId, stepOrder);
+        return stepName != null ? stepName : "Etapa " + stepOrder;
+    }
+
+    private UUID getUserId(User user) {
+        return user != null ? user.getId() : null;
+    }
+
+    private String getUserName(User user) {
+        return user != null ? user.getFullName() : null;
+    }
+}
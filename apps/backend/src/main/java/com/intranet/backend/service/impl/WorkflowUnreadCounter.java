@@ -0,0 +1,64 @@
+package com.intranet.backend.service.impl;
+
+import com.intranet.backend.repository.WorkflowNotificationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Contadores em memória de notificações de fluxo não lidas por usuário.
+ * O valor de cada usuário é carregado do banco na primeira consulta e depois mantido pelas operações de
+ * criação e leitura. As entradas são recarregadas após o TTL para corrigir divergências entre instâncias.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkflowUnreadCounter {
+
+    private record Contador(AtomicInteger valor, long carregadoEm) {
+    }
+
+    private final WorkflowNotificationRepository notificationRepository;
+
+    private final ConcurrentHashMap<UUID, Contador> contadores = new ConcurrentHashMap<>();
+
+    @Value("${app.workflow.notifications.unread-counter-ttl-seconds:300}")
+    private long ttlSegundos;
+
+    public int obter(UUID userId) {
+        long agora = System.currentTimeMillis();
+
+        Contador contador = contadores.get(userId);
+        if (contador == null || agora - contador.carregadoEm() > ttlSegundos * 1000) {
+            contador = new Contador(new AtomicInteger(notificationRepository.countUnreadNotifications(userId)), agora);
+            contadores.put(userId, contador);
+        }
+
+        return contador.valor().get();
+    }
+
+    /**
+     * Soma novas notificações ao contador do usuário. Se o contador ainda não foi carregado, nada é feito:
+     * a próxima consulta já lerá o valor atualizado do banco.
+     */
+    public void incrementar(UUID userId, int quantidade) {
+        Contador contador = contadores.get(userId);
+        if (contador != null) {
+            contador.valor().addAndGet(quantidade);
+        }
+    }
+
+    public void decrementar(UUID userId) {
+        Contador contador = contadores.get(userId);
+        if (contador != null) {
+            contador.valor().updateAndGet(valor -> Math.max(0, valor - 1));
+        }
+    }
+
+    public void zerar(UUID userId) {
+        contadores.put(userId, new Contador(new AtomicInteger(0), System.currentTimeMillis()));
+    }
+}
@@ -1,8 +1,11 @@
 package com.intranet.backend.util;
 
 import com.intranet.backend.dto.FichaPdfResponseDto;
+import com.intranet.backend.dto.ReferenceDataSnapshot;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -26,6 +29,23 @@ public class ResponseUtil {
         return ResponseEntity.ok(data);
     }
 
+    /**
+     * Cria uma resposta com ETag para dados de referência, exigindo revalidação a cada uso.
+     * Retorna 304 (Not Modified) sem corpo se o If-None-Match da requisição corresponder à versão atual
+     */
+    public static <T> ResponseEntity<T> conditional(WebRequest request, ReferenceDataSnapshot<T> snapshot) {
+        if (request.checkNotModified(snapshot.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(snapshot.dados());
+    }
+
     /**
      * Cria uma resposta de sucesso com status CREATED e dados
      */
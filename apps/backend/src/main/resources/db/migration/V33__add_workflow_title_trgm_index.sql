@@ -0,0 +1,6 @@
+-- Índice trigram para a busca de fluxos por título.
+-- As consultas findByTitleContaining* filtram por LOWER(title) LIKE '%termo%', que sem este índice
+-- exige varredura sequencial da tabela workflows.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_workflows_title_trgm ON workflows USING gin (LOWER(title) gin_trgm_ops);
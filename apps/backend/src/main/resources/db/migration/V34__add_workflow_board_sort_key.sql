@@ -0,0 +1,20 @@
+-- Chave de ordenação do quadro de fluxos agrupado por status.
+-- Fluxos com status personalizado usam o order_index do status; os demais usam a faixa do status padrão.
+-- A coluna materializa a expressão CASE usada antes no ORDER BY, permitindo paginação por cursor
+-- (keyset) apoiada em índice.
+ALTER TABLE workflows ADD COLUMN IF NOT EXISTS board_sort_key INT NOT NULL DEFAULT 6000;
+
+UPDATE workflows w
+SET board_sort_key = CASE
+    WHEN w.custom_status_id IS NOT NULL THEN
+        (SELECT si.order_index FROM workflow_status_items si WHERE si.id = w.custom_status_id)
+    WHEN w.status = 'in_progress' THEN 1000
+    WHEN w.status = 'paused' THEN 2000
+    WHEN w.status = 'completed' THEN 3000
+    WHEN w.status = 'canceled' THEN 4000
+    WHEN w.status = 'archived' THEN 5000
+    ELSE 6000
+END;
+
+CREATE INDEX IF NOT EXISTS idx_workflows_board_order ON workflows(board_sort_key, title, id);
+CREATE INDEX IF NOT EXISTS idx_workflows_template_board_order ON workflows(template_id, board_sort_key, title, id);
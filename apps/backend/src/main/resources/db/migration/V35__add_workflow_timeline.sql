@@ -0,0 +1,49 @@
+-- Linha do tempo desnormalizada das transições de fluxos.
+-- Cada transição gravada em workflow_transitions gera uma entrada com os nomes das etapas e dos usuários
+-- já resolvidos, de forma que o histórico de um fluxo seja lido com uma única consulta indexada,
+-- sem carregar usuários e etapas linha a linha. A tabela é somente de inserção.
+CREATE TABLE IF NOT EXISTS workflow_timeline (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    transition_id UUID NOT NULL UNIQUE,
+    workflow_id UUID NOT NULL REFERENCES workflows(id) ON DELETE CASCADE,
+    from_step INT,
+    from_step_name VARCHAR(255),
+    to_step INT,
+    to_step_name VARCHAR(255),
+    from_status VARCHAR(50),
+    to_status VARCHAR(50),
+    from_user_id UUID,
+    from_user_name VARCHAR(255),
+    to_user_id UUID,
+    to_user_name VARCHAR(255),
+    comments TEXT,
+    transition_type VARCHAR(20) NOT NULL,
+    created_by_id UUID,
+    created_by_name VARCHAR(255),
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_workflow_timeline_workflow_created
+    ON workflow_timeline(workflow_id, created_at DESC);
+
+-- Carga inicial a partir das transições existentes
+INSERT INTO workflow_timeline (transition_id, workflow_id, from_step, from_step_name, to_step, to_step_name,
+                               from_status, to_status, from_user_id, from_user_name, to_user_id, to_user_name,
+                               comments, transition_type, created_by_id, created_by_name, created_at)
+SELECT t.id, t.workflow_id,
+       t.from_step, COALESCE(fs.name, 'Etapa ' || t.from_step),
+       t.to_step, COALESCE(ts.name, 'Etapa ' || t.to_step),
+       t.from_status, t.to_status,
+       t.from_user_id, fu.full_name,
+       t.to_user_id, tu.full_name,
+       t.comments, t.transition_type,
+       t.created_by, cb.full_name,
+       t.created_at
+FROM workflow_transitions t
+JOIN workflows w ON w.id = t.workflow_id
+LEFT JOIN workflow_template_steps fs ON fs.template_id = w.template_id AND fs.step_order = t.from_step
+LEFT JOIN workflow_template_steps ts ON ts.template_id = w.template_id AND ts.step_order = t.to_step
+LEFT JOIN users fu ON fu.id = t.from_user_id
+LEFT JOIN users tu ON tu.id = t.to_user_id
+LEFT JOIN users cb ON cb.id = t.created_by
+ON CONFLICT (transition_id) DO NOTHING;
@@ -0,0 +1,23 @@
+-- Outbox transacional dos eventos de mudança de status de guias e fichas.
+-- Cada alteração de status grava uma linha nesta tabela na mesma transação da alteração; um despachante
+-- em segundo plano lê as linhas pendentes em ordem de id, grava o histórico e propaga o status às fichas.
+-- A entrega é "pelo menos uma vez" e a ordem por entidade é preservada.
+CREATE TABLE IF NOT EXISTS status_event_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    status_anteriores TEXT NOT NULL, -- JSON {entityId: statusAnterior}
+    status_novo VARCHAR(100) NOT NULL,
+    motivo TEXT,
+    observacoes TEXT,
+    alterado_por UUID NOT NULL,
+    data_alteracao TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error TEXT
+);
+
+CREATE INDEX IF NOT EXISTS idx_status_event_outbox_pendentes
+    ON status_event_outbox(id) WHERE processed_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_status_event_outbox_processed_at
+    ON status_event_outbox(processed_at) WHERE processed_at IS NOT NULL;
@@ -0,0 +1,27 @@
+-- Contagem diária de mudanças de status por tipo de entidade, novo status e usuário.
+-- Mantida de forma incremental a cada registro de histórico (StatusChangeRollupWriter) e recompactada
+-- diariamente para os últimos dias; o dashboard de status lê somente esta tabela.
+CREATE TABLE IF NOT EXISTS status_change_daily (
+    id BIGSERIAL PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    status_novo VARCHAR(100) NOT NULL,
+    alterado_por UUID NOT NULL,
+    dia DATE NOT NULL,
+    total BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_status_change_daily UNIQUE (entity_type, status_novo, alterado_por, dia)
+);
+
+CREATE INDEX IF NOT EXISTS idx_status_change_daily_dia ON status_change_daily(dia);
+
+-- Carga inicial a partir do histórico existente (a tabela status_history é criada pelo Hibernate,
+-- então pode ainda não existir em bancos novos)
+DO $$
+BEGIN
+    IF to_regclass('status_history') IS NOT NULL THEN
+        INSERT INTO status_change_daily (entity_type, status_novo, alterado_por, dia, total)
+        SELECT entity_type, status_novo, alterado_por, CAST(data_alteracao AS DATE), COUNT(*)
+        FROM status_history
+        GROUP BY entity_type, status_novo, alterado_por, CAST(data_alteracao AS DATE)
+        ON CONFLICT (entity_type, status_novo, alterado_por, dia) DO NOTHING;
+    END IF;
+END $$;
@@ -0,0 +1,81 @@
+-- Particionamento mensal da tabela status_history por data_alteracao.
+-- O histórico é somente inserção e quase todas as consultas são limitadas por período; com partições
+-- mensais o PostgreSQL lê apenas os meses do filtro. Índices definidos na tabela particionada são criados
+-- em cada partição: BRIN em data_alteracao (pequeno, adequado à ordem de inserção) e btree em
+-- (entity_type, entity_id, data_alteracao) para o histórico de uma entidade.
+-- A chave primária passa a incluir data_alteracao, exigência do particionamento.
+-- Partições futuras são criadas pela função criar_particoes_status_history, chamada diariamente
+-- pelo StatusHistoryPartitionManager.
+
+CREATE OR REPLACE FUNCTION criar_particoes_status_history(inicio DATE, meses_a_frente INT)
+RETURNS INT AS $$
+DECLARE
+    mes DATE := date_trunc('month', inicio)::DATE;
+    ultimo DATE := (date_trunc('month', CURRENT_DATE) + make_interval(months => meses_a_frente))::DATE;
+    particao TEXT;
+    criadas INT := 0;
+BEGIN
+    WHILE mes <= ultimo LOOP
+        particao := 'status_history_' || to_char(mes, 'YYYY_MM');
+        IF to_regclass(particao) IS NULL THEN
+            EXECUTE format(
+                'CREATE TABLE %I PARTITION OF status_history FOR VALUES FROM (%L) TO (%L)',
+                particao, mes, (mes + INTERVAL '1 month')::DATE);
+            criadas := criadas + 1;
+        END IF;
+        mes := (mes + INTERVAL '1 month')::DATE;
+    END LOOP;
+    RETURN criadas;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    primeiro_mes DATE := date_trunc('month', CURRENT_DATE)::DATE;
+BEGIN
+    -- A tabela era criada pelo Hibernate; se já existir, os dados são copiados para a nova estrutura
+    IF to_regclass('status_history') IS NOT NULL THEN
+        ALTER TABLE status_history RENAME TO status_history_legado;
+        ALTER TABLE status_history_legado DROP CONSTRAINT IF EXISTS status_history_pkey;
+        ALTER TABLE status_history_legado DROP CONSTRAINT IF EXISTS fkcrk7aqv8we2s4he3oer8j11ww;
+        SELECT COALESCE(date_trunc('month', MIN(data_alteracao))::DATE, primeiro_mes)
+        INTO primeiro_mes
+        FROM status_history_legado;
+    END IF;
+
+    CREATE TABLE status_history (
+        id UUID NOT NULL,
+        entity_type VARCHAR(255) NOT NULL CHECK (entity_type IN ('GUIA', 'FICHA')),
+        entity_id UUID NOT NULL,
+        status_anterior VARCHAR(100),
+        status_novo VARCHAR(100) NOT NULL,
+        motivo TEXT,
+        observacoes TEXT,
+        alterado_por UUID NOT NULL,
+        data_alteracao TIMESTAMP(6) NOT NULL,
+        created_at TIMESTAMP(6) NOT NULL,
+        updated_at TIMESTAMP(6) NOT NULL,
+        CONSTRAINT status_history_pkey PRIMARY KEY (id, data_alteracao),
+        CONSTRAINT fkcrk7aqv8we2s4he3oer8j11ww FOREIGN KEY (alterado_por) REFERENCES users(id)
+    ) PARTITION BY RANGE (data_alteracao);
+
+    -- Recebe registros fora das partições mensais existentes
+    CREATE TABLE status_history_default PARTITION OF status_history DEFAULT;
+
+    PERFORM criar_particoes_status_history(primeiro_mes, 3);
+
+    CREATE INDEX idx_status_history_data_alteracao_brin
+        ON status_history USING BRIN (data_alteracao);
+    CREATE INDEX idx_status_history_entidade_data
+        ON status_history (entity_type, entity_id, data_alteracao);
+
+    IF to_regclass('status_history_legado') IS NOT NULL THEN
+        INSERT INTO status_history (id, entity_type, entity_id, status_anterior, status_novo, motivo,
+                                    observacoes, alterado_por, data_alteracao, created_at, updated_at)
+        SELECT id, entity_type, entity_id, status_anterior, status_novo, motivo,
+               observacoes, alterado_por, data_alteracao, created_at, updated_at
+        FROM status_history_legado;
+
+        DROP TABLE status_history_legado;
+    END IF;
+END $$;
@@ -0,0 +1,26 @@
+-- Status atual de cada guia/ficha segundo o histórico de status: último status, desde quando e quem alterou.
+-- Atualizada na mesma transação de cada gravação de histórico (EntityCurrentStatusWriter), atende às consultas
+-- de status atual e de entidades paradas em um status há mais de N dias sem percorrer status_history.
+CREATE TABLE IF NOT EXISTS entity_current_status (
+    id BIGSERIAL PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id UUID NOT NULL,
+    status VARCHAR(100) NOT NULL,
+    status_anterior VARCHAR(100),
+    history_id UUID NOT NULL,
+    alterado_por UUID NOT NULL,
+    data_alteracao TIMESTAMP NOT NULL,
+    CONSTRAINT uk_entity_current_status UNIQUE (entity_type, entity_id)
+);
+
+-- Entidades paradas em um status há mais de N dias (filtro e ordenação pelo índice)
+CREATE INDEX IF NOT EXISTS idx_entity_current_status_parados
+    ON entity_current_status(entity_type, status, data_alteracao) INCLUDE (entity_id);
+
+INSERT INTO entity_current_status (entity_type, entity_id, status, status_anterior, history_id, alterado_por,
+                                   data_alteracao)
+SELECT DISTINCT ON (entity_type, entity_id)
+       entity_type, entity_id, status_novo, status_anterior, id, alterado_por, data_alteracao
+FROM status_history
+ORDER BY entity_type, entity_id, data_alteracao DESC, created_at DESC
+ON CONFLICT (entity_type, entity_id) DO NOTHING;
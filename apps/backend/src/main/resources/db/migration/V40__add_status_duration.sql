@@ -0,0 +1,34 @@
+-- Tempo de permanência em cada status: uma linha por período entre um registro de histórico e o registro
+-- seguinte da mesma entidade (status -> status_seguinte). Calculada de forma incremental pelo
+-- StatusDurationAnalytics a partir de status_history; a marca d'água registra até onde o histórico
+-- (por created_at) já foi processado.
+CREATE TABLE IF NOT EXISTS status_duration (
+    id BIGSERIAL PRIMARY KEY,
+    history_id UUID NOT NULL, -- registro de histórico que iniciou o período
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id UUID NOT NULL,
+    status VARCHAR(100) NOT NULL,
+    status_seguinte VARCHAR(100) NOT NULL,
+    convenio_id UUID,
+    inicio TIMESTAMP NOT NULL,
+    fim TIMESTAMP NOT NULL,
+    duracao_segundos BIGINT NOT NULL,
+    mes DATE NOT NULL, -- mês em que o período terminou
+    CONSTRAINT uk_status_duration_history UNIQUE (history_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_status_duration_tipo_mes_status
+    ON status_duration(entity_type, mes, status);
+
+-- Leitura incremental do histórico por data de gravação
+CREATE INDEX IF NOT EXISTS idx_status_history_created_at_brin
+    ON status_history USING BRIN (created_at);
+
+CREATE TABLE IF NOT EXISTS analytics_watermark (
+    job VARCHAR(100) PRIMARY KEY,
+    processado_ate TIMESTAMP NOT NULL
+);
+
+INSERT INTO analytics_watermark (job, processado_ate)
+VALUES ('status_duration', TIMESTAMP '1970-01-01 00:00:00')
+ON CONFLICT (job) DO NOTHING;
@@ -0,0 +1,18 @@
+-- Chaves de idempotência das alterações de status de guias e fichas (individuais e em massa).
+-- A primeira requisição com uma chave grava a linha na mesma transação da alteração, junto com a resposta;
+-- repetições da mesma chave pelo mesmo usuário (duplo clique, reenvio pelo cliente) recebem a resposta gravada
+-- sem executar a alteração novamente. As linhas expiram em poucas horas e são removidas por uma limpeza agendada.
+CREATE TABLE IF NOT EXISTS status_change_idempotency (
+    id BIGSERIAL PRIMARY KEY,
+    usuario VARCHAR(255) NOT NULL,
+    chave VARCHAR(100) NOT NULL,
+    operacao VARCHAR(100) NOT NULL,
+    hash_requisicao VARCHAR(64) NOT NULL, -- SHA-256 da operação e do corpo da requisição
+    resposta TEXT, -- JSON
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expira_em TIMESTAMP NOT NULL,
+    CONSTRAINT uk_status_change_idempotency_chave UNIQUE (usuario, chave)
+);
+
+CREATE INDEX IF NOT EXISTS idx_status_change_idempotency_expira_em
+    ON status_change_idempotency(expira_em);
@@ -0,0 +1,4 @@
+-- Períodos de uma entidade, usado para recalcular o tempo de permanência em status quando um registro de
+-- histórico é excluído (StatusDurationAnalytics.recalcularEntidade).
+CREATE INDEX IF NOT EXISTS idx_status_duration_entidade
+    ON status_duration(entity_type, entity_id);
@@ -0,0 +1,45 @@
+-- Corrige criar_particoes_status_history (V38) para meses que já têm registros na partição default.
+-- O PostgreSQL não cria uma partição cujo intervalo contenha linhas da default ("updated partition constraint
+-- for default partition would be violated"), e o erro interrompia também a criação dos meses seguintes.
+-- Nesse caso a partição é criada como tabela avulsa, recebe as linhas do mês retiradas da default e só então é
+-- anexada; a anexação cria nela os índices, a chave primária e a chave estrangeira da tabela particionada.
+
+CREATE OR REPLACE FUNCTION criar_particoes_status_history(inicio DATE, meses_a_frente INT)
+RETURNS INT AS $$
+DECLARE
+    mes DATE := date_trunc('month', inicio)::DATE;
+    ultimo DATE := (date_trunc('month', CURRENT_DATE) + make_interval(months => meses_a_frente))::DATE;
+    proximo DATE;
+    particao TEXT;
+    movidos BIGINT;
+    criadas INT := 0;
+BEGIN
+    WHILE mes <= ultimo LOOP
+        particao := 'status_history_' || to_char(mes, 'YYYY_MM');
+        proximo := (mes + INTERVAL '1 month')::DATE;
+        IF to_regclass(particao) IS NULL THEN
+            IF EXISTS (SELECT 1 FROM status_history_default
+                       WHERE data_alteracao >= mes AND data_alteracao < proximo) THEN
+                EXECUTE format('CREATE TABLE %I (LIKE status_history INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                               particao);
+                EXECUTE format(
+                    'WITH retirados AS (DELETE FROM status_history_default ' ||
+                    'WHERE data_alteracao >= %L AND data_alteracao < %L RETURNING *) ' ||
+                    'INSERT INTO %I SELECT * FROM retirados',
+                    mes, proximo, particao);
+                GET DIAGNOSTICS movidos = ROW_COUNT;
+                EXECUTE format('ALTER TABLE status_history ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                               particao, mes, proximo);
+                RAISE NOTICE '% registros de status_history_default movidos para %', movidos, particao;
+            ELSE
+                EXECUTE format(
+                    'CREATE TABLE %I PARTITION OF status_history FOR VALUES FROM (%L) TO (%L)',
+                    particao, mes, proximo);
+            END IF;
+            criadas := criadas + 1;
+        END IF;
+        mes := proximo;
+    END LOOP;
+    RETURN criadas;
+END;
+$$ LANGUAGE plpgsql;
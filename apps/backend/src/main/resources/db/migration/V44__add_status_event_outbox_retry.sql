@@ -0,0 +1,12 @@
+-- Novas tentativas com espera exponencial e dead-letter no outbox de eventos de status (V36).
+-- next_attempt_at: um evento com falha só volta a ser despachado a partir deste instante.
+-- dead_lettered_at: o evento esgotou as tentativas; permanece no outbox (não é marcado como processado nem
+-- removido pela limpeza) para ser analisado e reprocessado pelo endpoint de manutenção.
+ALTER TABLE status_event_outbox ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP;
+ALTER TABLE status_event_outbox ADD COLUMN IF NOT EXISTS dead_lettered_at TIMESTAMP;
+
+DROP INDEX IF EXISTS idx_status_event_outbox_pendentes;
+CREATE INDEX IF NOT EXISTS idx_status_event_outbox_pendentes
+    ON status_event_outbox(id) WHERE processed_at IS NULL AND dead_lettered_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_status_event_outbox_dead_letter
+    ON status_event_outbox(id) WHERE dead_lettered_at IS NOT NULL;
@@ -0,0 +1,106 @@
+package com.intranet.backend.service.impl;
+
+import com.intranet.backend.dto.WorkflowSummaryDto;
+import com.intranet.backend.model.User;
+import com.intranet.backend.model.Workflow;
+import com.intranet.backend.model.WorkflowTemplate;
+import com.intranet.backend.model.WorkflowTemplateStep;
+import com.intranet.backend.service.WorkflowService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Garante que a listagem paginada de fluxos não volte a fazer consultas por linha:
+ * com o cache de templates carregado, uma página custa apenas a consulta da página, a contagem
+ * e a consulta de resumo (WorkflowRepository.findSummaryProjectionByIds), independentemente do tamanho.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:workflow-summary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional
+class WorkflowSummaryQueryCountTest {
+
+    private static final int TOTAL_FLUXOS = 60;
+
+    @Autowired
+    private WorkflowService workflowService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void listagemPaginadaUsaQuantidadeFixaDeConsultas() {
+        criarFluxos();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        // Primeira chamada carrega o cache de estrutura dos templates
+        workflowService.getAllWorkflows(PageRequest.of(0, 10));
+        entityManager.clear();
+
+        statistics.clear();
+        Page<WorkflowSummaryDto> paginaPequena = workflowService.getAllWorkflows(PageRequest.of(0, 10));
+        long consultasPaginaPequena = statistics.getPrepareStatementCount();
+        entityManager.clear();
+
+        statistics.clear();
+        Page<WorkflowSummaryDto> paginaGrande = workflowService.getAllWorkflows(PageRequest.of(0, TOTAL_FLUXOS));
+        long consultasPaginaGrande = statistics.getPrepareStatementCount();
+
+        assertEquals(10, paginaPequena.getContent().size());
+        assertEquals(TOTAL_FLUXOS, paginaGrande.getContent().size());
+        assertEquals(TOTAL_FLUXOS, paginaPequena.getTotalElements());
+        assertEquals(3, paginaGrande.getContent().get(0).getTotalSteps());
+
+        // Página, contagem e resumo
+        assertEquals(3, consultasPaginaPequena);
+        assertEquals(3, consultasPaginaGrande);
+    }
+
+    private void criarFluxos() {
+        User usuario = new User();
+        usuario.setFullName("Usuário Teste");
+        usuario.setEmail("workflow-summary@teste.com");
+        usuario.setPasswordHash("hash");
+        entityManager.persist(usuario);
+
+        WorkflowTemplate template = new WorkflowTemplate();
+        template.setName("Template Teste");
+        template.setCreatedBy(usuario);
+        entityManager.persist(template);
+
+        for (int ordem = 1; ordem <= 3; ordem++) {
+            WorkflowTemplateStep etapa = new WorkflowTemplateStep();
+            etapa.setTemplate(template);
+            etapa.setName("Etapa " + ordem);
+            etapa.setStepOrder(ordem);
+            entityManager.persist(etapa);
+        }
+
+        for (int i = 0; i < TOTAL_FLUXOS; i++) {
+            Workflow workflow = new Workflow();
+            workflow.setTemplate(template);
+            workflow.setTitle(String.format("Fluxo %03d", i));
+            workflow.setCreatedBy(usuario);
+            entityManager.persist(workflow);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+}